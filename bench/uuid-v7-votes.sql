@@ -0,0 +1,73 @@
+-- Insert throughput and index size on a votes-shaped table: random v4 vs time-ordered v7 ids.
+--
+-- Usage (against a scratch database that has run the Flyway migrations):
+--   psql "$DB_URL" -v rows=2000000 -f bench/uuid-v7-votes.sql
+--
+-- Each variant inserts the same number of rows in 10k-row statements and reports
+-- elapsed time, rows/s, and the size of the primary key and of the round_id index.
+-- uuid_generate_v7() comes from V3__uuid_v7_defaults.sql.
+--
+-- Results: none recorded yet. The switch to v7 ids was made on the expected effect
+-- (appends to the right edge of the primary key instead of random page splits), not on
+-- a measured one. To record a run, use a dedicated Postgres with nothing else on it,
+-- run the script at 1M and 10M rows, and add both result sets below. Include the
+-- Postgres version, the machine, shared_buffers, and whether the data fit in memory.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 1000000
+\endif
+\timing off
+
+DROP TABLE IF EXISTS bench_votes_v4;
+DROP TABLE IF EXISTS bench_votes_v7;
+
+CREATE TABLE bench_votes_v4 (
+    id             UUID        PRIMARY KEY DEFAULT gen_random_uuid(),
+    round_id       UUID        NOT NULL,
+    participant_id UUID        NOT NULL,
+    value          VARCHAR(20) NOT NULL,
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+CREATE INDEX bench_votes_v4_round_id ON bench_votes_v4(round_id);
+
+CREATE TABLE bench_votes_v7 (LIKE bench_votes_v4 INCLUDING ALL);
+ALTER TABLE bench_votes_v7 ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+CREATE OR REPLACE FUNCTION pg_temp.bench_fill(target REGCLASS, total BIGINT) RETURNS TABLE (variant TEXT, seconds NUMERIC, rows_per_sec NUMERIC) AS $$
+DECLARE
+    started TIMESTAMPTZ := clock_timestamp();
+    done    BIGINT := 0;
+    elapsed NUMERIC;
+BEGIN
+    WHILE done < total LOOP
+        -- ~12 votes per round, mirroring a typical room
+        EXECUTE format(
+            'INSERT INTO %s (round_id, participant_id, value)
+             SELECT (md5(((g + %s) / 12)::text))::uuid, gen_random_uuid(), ''5''
+             FROM generate_series(1, 10000) g', target, done);
+        done := done + 10000;
+    END LOOP;
+    elapsed := extract(epoch FROM clock_timestamp() - started);
+    RETURN QUERY SELECT target::TEXT, round(elapsed, 2), round(total / elapsed);
+END
+$$ LANGUAGE plpgsql;
+
+SELECT * FROM pg_temp.bench_fill('bench_votes_v4', :rows)
+UNION ALL
+SELECT * FROM pg_temp.bench_fill('bench_votes_v7', :rows);
+
+VACUUM ANALYZE bench_votes_v4;
+VACUUM ANALYZE bench_votes_v7;
+
+SELECT c.relname                                  AS index_name,
+       pg_size_pretty(pg_relation_size(c.oid))    AS size,
+       pg_relation_size(c.oid)                    AS bytes
+FROM pg_class c
+WHERE c.relname IN ('bench_votes_v4_pkey', 'bench_votes_v7_pkey',
+                    'bench_votes_v4_round_id', 'bench_votes_v7_round_id')
+ORDER BY c.relname;
+
+DROP TABLE bench_votes_v4;
+DROP TABLE bench_votes_v7;
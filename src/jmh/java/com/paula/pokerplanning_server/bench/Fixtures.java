@@ -0,0 +1,85 @@
+package com.paula.pokerplanning_server.bench;
+
+import com.paula.pokerplanning_server.domain.model.Participant;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.domain.repository.InviteRepository;
+import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
+import com.paula.pokerplanning_server.domain.repository.RoomCodeRepository;
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import com.paula.pokerplanning_server.domain.repository.RoundRepository;
+import com.paula.pokerplanning_server.domain.repository.StoryRepository;
+import com.paula.pokerplanning_server.domain.repository.VoteRepository;
+import com.paula.pokerplanning_server.lookup.LookupFilters;
+import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.paula.pokerplanning_server.service.EventPublisher;
+import com.paula.pokerplanning_server.service.RoomCodePool;
+import com.paula.pokerplanning_server.service.RoomService;
+import com.paula.pokerplanning_server.store.JpaRoomStore;
+import com.paula.pokerplanning_server.store.RedisRoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A RoomService wired to stubs in which {@link #HOST} is the host of every room.
+ */
+public final class Fixtures {
+
+    public static final UUID HOST_USER_ID = UUID.randomUUID();
+    public static final ActorContext HOST = ActorContext.forUser(HOST_USER_ID);
+
+    private Fixtures() {
+    }
+
+    /**
+     * Stores over the given repositories. Fixture ids are version 4 UUIDs, so the
+     * unconnected ephemeral store is never used.
+     */
+    public static RoomStores roomStores(ParticipantRepository participants, StoryRepository stories,
+                                        VoteRepository votes) {
+        return new RoomStores(
+                new JpaRoomStore(Stubs.repository(RoomRepository.class), participants, stories,
+                        Stubs.repository(RoundRepository.class), votes),
+                new RedisRoomStore(new RedisTemplate<>(), Stubs.objectMapper(), 60));
+    }
+
+    public static RoomStores roomStores(ParticipantRepository participants) {
+        return roomStores(participants,
+                Stubs.repository(StoryRepository.class), Stubs.repository(VoteRepository.class));
+    }
+
+    public static RoomService roomService(RoomStores roomStores, EventPublisher eventPublisher) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RoomRepository rooms = Stubs.repository(RoomRepository.class);
+        return new RoomService(
+                roomStores,
+                new GuestTokenProvider("benchmark-guest-token-secret-32-chars!!", 86_400_000, 0),
+                eventPublisher,
+                new LookupFilters(Stubs.repository(InviteRepository.class), rooms, registry, false, 0.01, 30_000),
+                new RoomCodePool(Stubs.repository(RoomCodeRepository.class), registry,
+                        Stubs.repository(PlatformTransactionManager.class), 0, 0, 30, 500));
+    }
+
+    /**
+     * Participant repository that answers host lookups for any room.
+     */
+    public static ParticipantRepository hostParticipants(Map<String, Function<Object[], Object>> more) {
+        Map<String, Function<Object[], Object>> answers = new HashMap<>(more);
+        answers.put("findByRoomIdAndUserId", args -> Optional.of(Participant.builder()
+                .id(UUID.randomUUID())
+                .roomId((UUID) args[0])
+                .userId((UUID) args[1])
+                .role(ParticipantRole.HOST)
+                .displayName("host")
+                .build()));
+        return Stubs.repository(ParticipantRepository.class, answers);
+    }
+}
@@ -0,0 +1,83 @@
+package com.paula.pokerplanning_server.bench;
+
+import com.paula.pokerplanning_server.event.RoomEventMetrics;
+import com.paula.pokerplanning_server.event.transport.EventTransport;
+import com.paula.pokerplanning_server.service.EventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the Spring context, so benchmarks measure the service code
+ * and not Postgres or Redis.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * A repository whose methods answer from the given map by method name. save and
+     * saveAll echo their argument; anything else returns an empty value.
+     */
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "save", "saveAll" -> args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> emptyValue(method.getReturnType());
+            };
+        }));
+    }
+
+    public static <T> T repository(Class<T> type) {
+        return repository(type, Map.of());
+    }
+
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder().build();
+    }
+
+    public static RoomEventMetrics eventMetrics() {
+        return new RoomEventMetrics(new SimpleMeterRegistry(), "local");
+    }
+
+    public static EventPublisher eventPublisher(EventTransport transport) {
+        return new EventPublisher(transport, objectMapper(), eventMetrics());
+    }
+
+    public static EventPublisher eventPublisher() {
+        return eventPublisher((roomId, message) -> { });
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == List.class) {
+            return List.of();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.bench.Fixtures;
+import com.paula.pokerplanning_server.bench.Stubs;
+import com.paula.pokerplanning_server.diagnostics.RoomLoadTracker;
+import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
+import com.paula.pokerplanning_server.security.RoomMembershipIndex;
+import com.paula.pokerplanning_server.service.EventPublisher;
+import com.paula.pokerplanning_server.store.RoomStores;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * RoomEvent JSON encoding on the publish side (EventPublisher) and decoding plus the broker
+ * hand-off on the receive side (RoomEventDispatcher, which RedisEventListener calls).
+ * The broker channel discards messages, so fan-out itself is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomEventCodecBenchmark {
+
+    /** Number of story ids in a STORY_REORDERED payload. */
+    @Param({"1", "100", "1000"})
+    int payloadSize;
+
+    private UUID roomId;
+    private RoomEventPayload payload;
+    private String encoded;
+    private EventPublisher publisher;
+    private RoomEventDispatcher dispatcher;
+    private Blackhole sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        sink = blackhole;
+        roomId = UUID.randomUUID();
+        List<UUID> storyIds = IntStream.range(0, payloadSize)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+        payload = new RoomEventPayload.StoryReordered(storyIds);
+
+        String[] captured = new String[1];
+        new EventPublisher((room, message) -> captured[0] = message, Stubs.objectMapper(), Stubs.eventMetrics())
+                .publish(roomId, payload);
+        encoded = captured[0];
+
+        publisher = Stubs.eventPublisher((room, message) -> sink.consume(message));
+
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> {
+            sink.consume(message);
+            return true;
+        });
+        RoomStores roomStores = Fixtures.roomStores(Stubs.repository(ParticipantRepository.class));
+        RoomMembershipIndex membershipIndex = new RoomMembershipIndex(roomStores,
+                new StaticListableBeanFactory().getBeanProvider(SimpleBrokerMessageHandler.class), 10_000, 60_000);
+        dispatcher = new RoomEventDispatcher(
+                template,
+                Stubs.objectMapper(),
+                membershipIndex,
+                Stubs.eventMetrics(),
+                new RoomLoadTracker(true, 200),
+                new ObserverFanOut(
+                        new StaticListableBeanFactory(Map.of("template", template))
+                                .getBeanProvider(SimpMessagingTemplate.class),
+                        Stubs.objectMapper(),
+                        membershipIndex,
+                        roomStores,
+                        1000));
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publish(roomId, payload);
+    }
+
+    @Benchmark
+    public void dispatch() {
+        dispatcher.dispatch(encoded);
+    }
+}
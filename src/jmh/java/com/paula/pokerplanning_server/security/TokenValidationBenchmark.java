@@ -0,0 +1,46 @@
+package com.paula.pokerplanning_server.security;
+
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT and guest token validation, with the verified-token cache disabled (full HMAC
+ * check and claims parsing) and enabled (the steady state for a connected client).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET = "benchmark-token-secret-with-at-least-32-bytes";
+
+    @Param({"0", "10000"})
+    int cacheSize;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private GuestTokenProvider guestTokenProvider;
+    private String jwt;
+    private String guestToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000, cacheSize);
+        guestTokenProvider = new GuestTokenProvider(SECRET, 3_600_000, cacheSize);
+        jwt = jwtTokenProvider.generateToken(UUID.randomUUID(), "bench", "bench@example.com");
+        guestToken = guestTokenProvider.generateToken(UUID.randomUUID().toString(),
+                UUID.randomUUID(), UUID.randomUUID(), ParticipantRole.PARTICIPANT);
+    }
+
+    @Benchmark
+    public UserPrincipal jwt() {
+        return jwtTokenProvider.resolvePrincipal(jwt);
+    }
+
+    @Benchmark
+    public GuestTokenProvider.GuestClaims guestToken() {
+        return guestTokenProvider.validate(guestToken);
+    }
+}
@@ -0,0 +1,27 @@
+package com.paula.pokerplanning_server.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InviteService.sha256 on an invite token as generated by createInvite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InviteHashBenchmark {
+
+    private String rawToken;
+
+    @Setup
+    public void setUp() {
+        rawToken = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String sha256() {
+        return InviteService.sha256(rawToken);
+    }
+}
@@ -0,0 +1,73 @@
+package com.paula.pokerplanning_server.service;
+
+import com.paula.pokerplanning_server.bench.Fixtures;
+import com.paula.pokerplanning_server.bench.Stubs;
+import com.paula.pokerplanning_server.domain.model.*;
+import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
+import com.paula.pokerplanning_server.domain.repository.StoryRepository;
+import com.paula.pokerplanning_server.domain.repository.VoteRepository;
+import com.paula.pokerplanning_server.store.RoomStores;
+import com.paula.pokerplanning_server.web.dto.RoundResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoundService.toResponse for large rooms where half of the voters have voted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundResponseBenchmark {
+
+    @Param({"50", "500", "2000"})
+    int participants;
+
+    @Param({"VOTING", "REVEALED"})
+    RoundStatus status;
+
+    private RoundService roundService;
+    private Round round;
+
+    @Setup
+    public void setUp() {
+        UUID roomId = UUID.randomUUID();
+        round = Round.builder().id(UUID.randomUUID()).roomId(roomId).storyId(UUID.randomUUID()).status(status).build();
+
+        List<Participant> members = new ArrayList<>(participants);
+        List<Vote> votes = new ArrayList<>();
+        for (int i = 0; i < participants; i++) {
+            Participant p = Participant.builder()
+                    .id(UUID.randomUUID())
+                    .roomId(roomId)
+                    .guestId(UUID.randomUUID().toString())
+                    .role(i % 20 == 0 ? ParticipantRole.OBSERVER : ParticipantRole.PARTICIPANT)
+                    .displayName("participant-" + i)
+                    .build();
+            members.add(p);
+            if (i % 2 == 1) {
+                votes.add(Vote.builder().id(UUID.randomUUID()).roundId(round.getId())
+                        .participantId(p.getId()).value("5").build());
+            }
+        }
+
+        ParticipantRepository participantRepository = Fixtures.hostParticipants(
+                Map.of("findByRoomId", args -> members));
+        RoomStores roomStores = Fixtures.roomStores(participantRepository,
+                Stubs.repository(StoryRepository.class),
+                Stubs.repository(VoteRepository.class, Map.of("findByRoundIdAndRoundStartedAt", args -> votes)));
+        roundService = new RoundService(
+                roomStores,
+                Fixtures.roomService(roomStores, Stubs.eventPublisher()),
+                Stubs.eventPublisher());
+    }
+
+    @Benchmark
+    public RoundResponse toResponse() {
+        return roundService.toResponse(round);
+    }
+}
@@ -0,0 +1,60 @@
+package com.paula.pokerplanning_server.service;
+
+import com.paula.pokerplanning_server.bench.Fixtures;
+import com.paula.pokerplanning_server.bench.Stubs;
+import com.paula.pokerplanning_server.domain.model.Story;
+import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
+import com.paula.pokerplanning_server.domain.repository.StoryRepository;
+import com.paula.pokerplanning_server.domain.repository.VoteRepository;
+import com.paula.pokerplanning_server.store.RoomStores;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoryService.reorderStories reversing a whole backlog, including the STORY_REORDERED
+ * event serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StoryReorderBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    int backlog;
+
+    private StoryService storyService;
+    private UUID roomId;
+    private List<UUID> reversed;
+
+    @Setup
+    public void setUp() {
+        roomId = UUID.randomUUID();
+        List<Story> stories = new ArrayList<>(backlog);
+        for (int i = 0; i < backlog; i++) {
+            stories.add(Story.builder().id(UUID.randomUUID()).roomId(roomId)
+                    .title("Story " + i).orderIndex(i).build());
+        }
+        reversed = stories.stream().map(Story::getId).toList().reversed();
+
+        ParticipantRepository participantRepository = Fixtures.hostParticipants(Map.of());
+        RoomStores roomStores = Fixtures.roomStores(participantRepository,
+                Stubs.repository(StoryRepository.class,
+                        Map.of("findByRoomIdOrderByOrderIndexAsc", args -> stories)),
+                Stubs.repository(VoteRepository.class));
+        EventPublisher eventPublisher = Stubs.eventPublisher();
+        storyService = new StoryService(
+                roomStores,
+                Fixtures.roomService(roomStores, eventPublisher),
+                eventPublisher);
+    }
+
+    @Benchmark
+    public List<Story> reorder() {
+        return storyService.reorderStories(roomId, reversed, Fixtures.HOST);
+    }
+}
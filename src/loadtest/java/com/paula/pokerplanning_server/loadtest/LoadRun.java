@@ -0,0 +1,313 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * State shared by the steps of a scenario: the nodes, the clients, and what has been measured.
+ */
+public class LoadRun implements SimulatedClient.EventListener, AutoCloseable {
+
+    private final LoadTestOptions options;
+    private final List<ServerNode> nodes;
+    private final RoomApi api;
+    private final WebSocketStompClient stompClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+
+    private final Map<String, LatencyRecorder> recorders = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, String> results = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicLong failures = new AtomicLong();
+
+    // ─── Vote tracking ───
+    private final Map<UUID, Long> voteSentAt = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> votersByRoom = new ConcurrentHashMap<>();
+    private final Set<UUID> observersUpToDate = ConcurrentHashMap.newKeySet();
+    private volatile long burstStartedAt;
+    private volatile CountDownLatch pendingDeliveries = new CountDownLatch(0);
+
+    public LoadRun(LoadTestOptions options, List<ServerNode> nodes, RoomApi api, WebSocketStompClient stompClient) {
+        this.options = options;
+        this.nodes = nodes;
+        this.api = api;
+        this.stompClient = stompClient;
+        this.inFlight = new Semaphore(options.concurrency());
+    }
+
+    public LoadTestOptions options() {
+        return options;
+    }
+
+    public LatencyRecorder recorder(String name) {
+        return recorders.computeIfAbsent(name, LatencyRecorder::new);
+    }
+
+    public void result(String name, String value) {
+        results.put(name, value);
+    }
+
+    // ─── Steps ───
+
+    /**
+     * Creates one room per options.rooms(), spread over the nodes, and connects each host.
+     */
+    public List<SimulatedClient> createRooms(boolean allowObservers) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < options.rooms(); i++) {
+            indexes.add(i);
+        }
+        List<SimulatedClient> hosts = Collections.synchronizedList(new ArrayList<>());
+        forEach(indexes, i -> {
+            ServerNode node = nodes.get(i % nodes.size());
+            RoomApi.Member host = api.createRoom(node, "Load test room " + i, allowObservers);
+            SimulatedClient client = new SimulatedClient(host, node, true);
+            connect(client, null);
+            hosts.add(client);
+        });
+        return new ArrayList<>(hosts);
+    }
+
+    /**
+     * Joins options.clientsPerRoom() members to every room over REST and connects them.
+     * Members are spread over the nodes independently of their room's host.
+     *
+     * @param isVoter decides per member index within the room; the others join as observers
+     * @param measured whether join and connect latencies are recorded
+     */
+    public List<SimulatedClient> joinRooms(List<SimulatedClient> hosts, IntPredicate isVoter, boolean measured) {
+        record Seat(SimulatedClient host, int index, ServerNode node) {}
+        List<Seat> seats = new ArrayList<>();
+        int n = 0;
+        for (SimulatedClient host : hosts) {
+            for (int i = 0; i < options.clientsPerRoom(); i++) {
+                seats.add(new Seat(host, i, nodes.get(n++ % nodes.size())));
+            }
+        }
+        LatencyRecorder joinLatency = measured ? recorder("join (REST)") : null;
+        LatencyRecorder connectLatency = measured ? recorder("connect (" + options.endpointName() + "+STOMP)") : null;
+        List<SimulatedClient> joined = Collections.synchronizedList(new ArrayList<>());
+        forEach(seats, seat -> {
+            boolean voter = isVoter.test(seat.index());
+            long start = System.nanoTime();
+            RoomApi.Member member = api.join(seat.node(), seat.host().member().roomId(),
+                    voter ? "PARTICIPANT" : "OBSERVER", "client-" + seat.index());
+            if (joinLatency != null) {
+                joinLatency.record(System.nanoTime() - start);
+            }
+            SimulatedClient client = new SimulatedClient(member, seat.node(), voter);
+            connect(client, connectLatency);
+            joined.add(client);
+        });
+        return new ArrayList<>(joined);
+    }
+
+    public void connectAll(List<SimulatedClient> clients, LatencyRecorder latency) {
+        forEach(clients, client -> connect(client, latency));
+    }
+
+    public void disconnectAll(List<SimulatedClient> clients) {
+        forEach(clients, SimulatedClient::disconnect);
+    }
+
+    public void openRounds(List<SimulatedClient> hosts) {
+        forEach(hosts, host -> api.openRound(host.node(), host.member()));
+    }
+
+    /**
+     * Every voter votes at once; waits until each VOTE_CAST reached every voter of its room
+     * and every observer got a summary counting all of its room's votes, then resets the
+     * rounds for the next burst.
+     */
+    public void voteRound(List<SimulatedClient> hosts, List<SimulatedClient> clients) {
+        List<SimulatedClient> everyone = new ArrayList<>(hosts);
+        everyone.addAll(clients);
+        List<SimulatedClient> connected = everyone.stream().filter(SimulatedClient::isConnected).toList();
+        List<SimulatedClient> voters = connected.stream().filter(SimulatedClient::isVoter).toList();
+        Map<UUID, Long> voterCounts = voters.stream()
+                .collect(Collectors.groupingBy(c -> c.member().roomId(), Collectors.counting()));
+        // Observers get no VOTE_CAST, only the room's progress
+        long echoes = voters.stream().mapToLong(v -> voterCounts.get(v.member().roomId())).sum();
+        long summaries = connected.size() - voters.size();
+        long expected = echoes + summaries;
+
+        voteSentAt.clear();
+        votersByRoom.clear();
+        voterCounts.forEach((roomId, count) -> votersByRoom.put(roomId, count.intValue()));
+        observersUpToDate.clear();
+        CountDownLatch deliveries = new CountDownLatch((int) expected);
+        pendingDeliveries = deliveries;
+        long start = System.nanoTime();
+        burstStartedAt = start;
+        forEach(voters, voter -> {
+            voteSentAt.put(voter.member().participantId(), System.nanoTime());
+            voter.vote("5");
+        });
+        try {
+            if (!deliveries.await(options.timeoutSeconds(), TimeUnit.SECONDS)) {
+                failures.addAndGet(deliveries.getCount());
+                System.err.printf("%d of %d vote broadcasts not delivered within %ds%n",
+                        deliveries.getCount(), expected, options.timeoutSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        result("last burst", String.format("%d votes, %d deliveries, %d observer summaries in %.2fs",
+                voters.size(), echoes, summaries, seconds));
+        forEach(hosts, host -> api.resetRound(host.node(), host.member()));
+    }
+
+    @Override
+    public void onEvent(SimulatedClient client, SimulatedClient.EventFrame event, long receivedNanos) {
+        if (event.payload() == null) {
+            return;
+        }
+        switch (event.type()) {
+            case "VOTE_CAST" -> onVoteCast(client, event, receivedNanos);
+            case "ROOM_PROGRESS" -> onProgress(client, event, receivedNanos);
+            default -> { }
+        }
+    }
+
+    private void onVoteCast(SimulatedClient client, SimulatedClient.EventFrame event, long receivedNanos) {
+        Object participantId = event.payload().get("participantId");
+        Long sentAt = participantId != null ? voteSentAt.get(UUID.fromString(participantId.toString())) : null;
+        if (sentAt == null) {
+            return;
+        }
+        long latency = receivedNanos - sentAt;
+        recorder("vote -> broadcast (all)").record(latency);
+        if (client.member().participantId().toString().equals(participantId.toString())) {
+            recorder("vote -> own echo").record(latency);
+        }
+        pendingDeliveries.countDown();
+    }
+
+    // An observer is up to date with the burst once a summary counts every vote of its room
+    private void onProgress(SimulatedClient client, SimulatedClient.EventFrame event, long receivedNanos) {
+        Integer voters = votersByRoom.get(client.member().roomId());
+        if (voters == null || !(event.payload().get("votedCount") instanceof Number voted)
+                || voted.intValue() < voters) {
+            return;
+        }
+        if (observersUpToDate.add(client.member().participantId())) {
+            recorder("burst -> observer summary").record(receivedNanos - burstStartedAt);
+            pendingDeliveries.countDown();
+        }
+    }
+
+    /**
+     * Gives SUBSCRIBE frames time to reach the broker before events are expected.
+     */
+    public void settle() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ─── Report ───
+
+    public void report(Map<ServerNode, Long> heapAfter, Map<ServerNode, String> metricsAfter) {
+        System.out.println();
+        System.out.printf("Scenario %s: %d rooms x %d clients on %d node(s) over %s%n",
+                options.scenario().cliName(), options.rooms(), options.clientsPerRoom(), nodes.size(),
+                options.endpointName());
+        synchronized (recorders) {
+            recorders.values().forEach(r -> System.out.println("  " + r.summary()));
+        }
+        synchronized (results) {
+            results.forEach((name, value) -> System.out.printf("  %-28s %s%n", name, value));
+        }
+        for (ServerNode node : nodes) {
+            System.out.printf("  node %d heap                  %d MiB after, %d MiB peak%n", node.index(),
+                    heapAfter.getOrDefault(node, -1L) >> 20, node.peakHeapBytes() >> 20);
+        }
+        metricsAfter.forEach((node, metrics) -> {
+            String endpoint = "endpoint=\"" + options.endpointName() + "\"";
+            double frames = ServerNode.sum(metrics, "websocket_outbound_frames_total{", endpoint);
+            double bytes = ServerNode.sum(metrics, "websocket_outbound_bytes_total{", endpoint);
+            double cpuSeconds = ServerNode.sum(metrics, "websocket_outbound_send_cpu_seconds_sum{", endpoint);
+            if (frames > 0) {
+                // Payload bytes; compressed sizes are not observable above the container
+                System.out.printf("  node %d outbound frames      %.0f, %.0f bytes/frame uncompressed, %.1f us CPU/frame%n",
+                        node.index(), frames, bytes / frames, cpuSeconds * 1e6 / frames);
+            }
+        });
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("  load generator heap          %d MiB%n", (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        System.out.printf("  failures                     %d%n", failures.get());
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // ─── Helpers ───
+
+    private void connect(SimulatedClient client, LatencyRecorder latency) {
+        long start = System.nanoTime();
+        try {
+            client.connect(stompClient, options.nativeEndpoint(), this).get(options.timeoutSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("STOMP connect failed: " + e.getMessage(), e);
+        }
+        if (latency != null) {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Runs the action for every item on virtual threads, at most options.concurrency() at a time,
+     * and waits for all of them. Failures are counted and the first few printed.
+     */
+    private <T> void forEach(List<T> items, Consumer<T> action) {
+        CountDownLatch done = new CountDownLatch(items.size());
+        for (T item : items) {
+            executor.execute(() -> {
+                try {
+                    inFlight.acquire();
+                    try {
+                        action.accept(item);
+                    } finally {
+                        inFlight.release();
+                    }
+                } catch (Exception e) {
+                    if (failures.incrementAndGet() <= 10) {
+                        System.err.println("Step failed: " + e.getMessage());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts server nodes against an embedded Postgres (or --jdbc-url), runs one scenario with
+ * simulated SockJS/STOMP clients and prints latency percentiles, throughput and node memory.
+ *
+ * <pre>
+ * ./gradlew loadTest -Ploadtest="--scenario=vote-burst --rooms=50 --clients=100 --nodes=2"
+ * </pre>
+ *
+ * Scenarios: join-storm, vote-burst, reconnect-storm, large-observer-room. Other options:
+ * --voters (per room, large-observer-room), --rounds, --node-heap, --concurrency,
+ * --timeout-seconds, --rate-limits (default false), --endpoint=sockjs|native (default sockjs).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        File logDir = new File("build/loadtest");
+        EmbeddedPostgres postgres = options.jdbcUrl() == null ? EmbeddedPostgres.builder().start() : null;
+        String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : options.jdbcUrl();
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<ServerNode> nodes = new ArrayList<>();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        long failures;
+        try {
+            // One at a time, so only the first node runs the Flyway migrations
+            for (int i = 0; i < options.nodes(); i++) {
+                ServerNode node = ServerNode.start(i, options, jdbcUrl, logDir);
+                nodes.add(node);
+                node.awaitReady(http, Duration.ofMinutes(2));
+                System.out.printf("Node %d ready at %s%n", i, node.baseUrl());
+            }
+            sampler.scheduleAtFixedRate(() -> nodes.forEach(node -> {
+                try {
+                    node.heapUsedBytes(http);
+                } catch (Exception e) {
+                    // Sampling is best effort
+                }
+            }), 1, 1, TimeUnit.SECONDS);
+
+            WebSocketStompClient stompClient = options.nativeEndpoint()
+                    ? new WebSocketStompClient(new StandardWebSocketClient())
+                    : new WebSocketStompClient(
+                            new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+            stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+
+            try (LoadRun run = new LoadRun(options, nodes, new RoomApi(http, JsonMapper.builder().build()), stompClient)) {
+                options.scenario().run(run);
+                Map<ServerNode, Long> heapAfter = new HashMap<>();
+                Map<ServerNode, String> metricsAfter = new HashMap<>();
+                for (ServerNode node : nodes) {
+                    heapAfter.put(node, node.heapUsedBytes(http));
+                    String metrics = node.scrape(http);
+                    if (metrics != null) {
+                        metricsAfter.put(node, metrics);
+                    }
+                }
+                run.report(heapAfter, metricsAfter);
+                failures = run.failures();
+            }
+        } finally {
+            sampler.shutdownNow();
+            nodes.forEach(ServerNode::close);
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line options, given as --name=value.
+ */
+public record LoadTestOptions(
+        Scenario scenario,
+        int rooms,
+        int clientsPerRoom,
+        int votersPerRoom,
+        int rounds,
+        int nodes,
+        String nodeHeap,
+        String jdbcUrl,
+        int concurrency,
+        int timeoutSeconds,
+        boolean rateLimits,
+        boolean nativeEndpoint
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Scenario.fromName(values.getOrDefault("scenario", "vote-burst")),
+                Integer.parseInt(values.getOrDefault("rooms", "20")),
+                Integer.parseInt(values.getOrDefault("clients", "50")),
+                Integer.parseInt(values.getOrDefault("voters", "10")),
+                Integer.parseInt(values.getOrDefault("rounds", "5")),
+                Integer.parseInt(values.getOrDefault("nodes", "1")),
+                values.getOrDefault("node-heap", "1g"),
+                values.get("jdbc-url"),
+                Integer.parseInt(values.getOrDefault("concurrency", "200")),
+                Integer.parseInt(values.getOrDefault("timeout-seconds", "60")),
+                Boolean.parseBoolean(values.getOrDefault("rate-limits", "false")),
+                parseEndpoint(values.getOrDefault("endpoint", "sockjs")));
+        values.keySet().removeAll(Set.of("scenario", "rooms", "clients", "voters", "rounds", "nodes",
+                "node-heap", "jdbc-url", "concurrency", "timeout-seconds", "rate-limits", "endpoint"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static boolean parseEndpoint(String endpoint) {
+        return switch (endpoint) {
+            case "native" -> true;
+            case "sockjs" -> false;
+            default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint + "; expected sockjs or native");
+        };
+    }
+
+    public String endpointName() {
+        return nativeEndpoint ? "native" : "sockjs";
+    }
+
+    public int totalClients() {
+        return rooms * clientsPerRoom;
+    }
+}
@@ -0,0 +1,92 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The REST calls a simulated client makes, as a guest.
+ */
+public class RoomApi {
+
+    public record Member(UUID roomId, String guestId, UUID participantId, String guestToken) {}
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+
+    public RoomApi(HttpClient http, ObjectMapper objectMapper) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+    }
+
+    public Member createRoom(ServerNode node, String name, boolean allowObservers) {
+        String guestId = UUID.randomUUID().toString();
+        JsonNode body = post(node, "/rooms", guestId, null, Map.of(
+                "name", name, "displayName", "host", "allowObservers", allowObservers));
+        return member(body, guestId);
+    }
+
+    public Member join(ServerNode node, UUID roomId, String role, String displayName) {
+        String guestId = UUID.randomUUID().toString();
+        JsonNode body = post(node, "/rooms/" + roomId + "/join", guestId, null,
+                Map.of("displayName", displayName, "role", role));
+        return member(body, guestId);
+    }
+
+    /**
+     * Creates a story, selects it and starts a round on it.
+     */
+    public void openRound(ServerNode node, Member host) {
+        JsonNode story = post(node, "/rooms/" + host.roomId() + "/stories", null, host.guestToken(),
+                Map.of("title", "Load test story"));
+        post(node, "/rooms/" + host.roomId() + "/stories/" + story.get("id").asString() + "/select",
+                null, host.guestToken(), null);
+        post(node, "/rooms/" + host.roomId() + "/rounds/start", null, host.guestToken(), null);
+    }
+
+    public void resetRound(ServerNode node, Member host) {
+        post(node, "/rooms/" + host.roomId() + "/rounds/reset", null, host.guestToken(), null);
+    }
+
+    private Member member(JsonNode body, String guestId) {
+        return new Member(
+                UUID.fromString(body.get("room").get("id").asString()),
+                guestId,
+                UUID.fromString(body.get("me").get("id").asString()),
+                body.get("guestToken").asString());
+    }
+
+    private JsonNode post(ServerNode node, String path, String guestId, String guestToken, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node.baseUrl() + path))
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (guestId != null) {
+            request.header("X-Guest-Id", guestId);
+        }
+        if (guestToken != null) {
+            request.header("X-Guest-Token", guestToken);
+        }
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("POST " + path + " returned " + response.statusCode()
+                        + ": " + response.body());
+            }
+            return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("POST " + path + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+public enum Scenario {
+
+    /**
+     * Every client of every room joins over REST and connects at the same time.
+     */
+    JOIN_STORM("join-storm") {
+        @Override
+        void run(LoadRun run) {
+            List<SimulatedClient> hosts = run.createRooms(false);
+            long start = System.nanoTime();
+            List<SimulatedClient> clients = run.joinRooms(hosts, i -> true, true);
+            run.result("join throughput", perSecond(clients.size(), start));
+        }
+    },
+
+    /**
+     * Rooms fill up, then every participant votes at once, for options.rounds() rounds.
+     */
+    VOTE_BURST("vote-burst") {
+        @Override
+        void run(LoadRun run) {
+            List<SimulatedClient> hosts = run.createRooms(false);
+            List<SimulatedClient> clients = run.joinRooms(hosts, i -> true, false);
+            voteRounds(run, hosts, clients);
+        }
+    },
+
+    /**
+     * Every client drops its connection and reconnects at the same time, as after a deploy,
+     * then a vote burst checks that delivery recovered.
+     */
+    RECONNECT_STORM("reconnect-storm") {
+        @Override
+        void run(LoadRun run) {
+            List<SimulatedClient> hosts = run.createRooms(false);
+            List<SimulatedClient> clients = run.joinRooms(hosts, i -> true, false);
+            run.disconnectAll(clients);
+            run.settle();
+            long start = System.nanoTime();
+            run.connectAll(clients, run.recorder("reconnect (SockJS+STOMP)"));
+            run.result("reconnect throughput", perSecond(clients.size(), start));
+            run.settle();
+            run.openRounds(hosts);
+            run.voteRound(hosts, clients);
+        }
+    },
+
+    /**
+     * A few voters and many observers per room. Votes are broadcast to the voters only;
+     * observers follow the room through the throttled ROOM_PROGRESS summaries.
+     */
+    LARGE_OBSERVER_ROOM("large-observer-room") {
+        @Override
+        void run(LoadRun run) {
+            List<SimulatedClient> hosts = run.createRooms(true);
+            // The host votes too
+            int voters = Math.max(0, run.options().votersPerRoom() - 1);
+            List<SimulatedClient> clients = run.joinRooms(hosts, i -> i < voters, false);
+            voteRounds(run, hosts, clients);
+        }
+    };
+
+    private final String cliName;
+
+    Scenario(String cliName) {
+        this.cliName = cliName;
+    }
+
+    abstract void run(LoadRun run);
+
+    public String cliName() {
+        return cliName;
+    }
+
+    public static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(s -> s.cliName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario " + name + "; expected one of "
+                        + Arrays.stream(values()).map(Scenario::cliName).toList()));
+    }
+
+    private static void voteRounds(LoadRun run, List<SimulatedClient> hosts, List<SimulatedClient> clients) {
+        run.settle();
+        run.openRounds(hosts);
+        for (int round = 0; round < run.options().rounds(); round++) {
+            run.voteRound(hosts, clients);
+        }
+    }
+
+    private static String perSecond(int count, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format("%.1f/s (%d in %.2fs)", count / seconds, count, seconds);
+    }
+}
@@ -0,0 +1,144 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A server instance in its own JVM, so its memory can be reported on its own.
+ * Nodes share the database and, when there is more than one, fan events out over
+ * Postgres LISTEN/NOTIFY instead of Redis.
+ */
+public class ServerNode implements AutoCloseable {
+
+    private static final String MAIN_CLASS = "com.paula.pokerplanning_server.PokerplanningServerApplication";
+
+    private final int index;
+    private final int port;
+    private final Process process;
+    private volatile long peakHeapBytes;
+
+    private ServerNode(int index, int port, Process process) {
+        this.index = index;
+        this.port = port;
+        this.process = process;
+    }
+
+    public static ServerNode start(int index, LoadTestOptions options, String jdbcUrl, File logDir) throws IOException {
+        String classpath = System.getProperty("loadtest.serverClasspath");
+        if (classpath == null) {
+            throw new IllegalStateException("loadtest.serverClasspath is not set; run through ./gradlew loadTest");
+        }
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx" + options.nodeHeap(),
+                "-cp", classpath,
+                MAIN_CLASS,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--app.events.transport=" + (options.nodes() > 1 ? "postgres" : "local"),
+                "--app.rate-limit.enabled=" + options.rateLimits(),
+                "--management.health.redis.enabled=false",
+                "--logging.level.com.paula.pokerplanning_server=INFO"));
+        logDir.mkdirs();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(logDir, "node-" + index + ".log"))
+                .start();
+        return new ServerNode(index, port, process);
+    }
+
+    public void awaitReady(HttpClient http, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Node " + index + " exited with " + process.exitValue()
+                        + "; see its log under build/loadtest");
+            }
+            try {
+                if (heapUsedBytes(http) >= 0) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Node " + index + " not ready after " + timeout);
+    }
+
+    /**
+     * Sums jvm_memory_used_bytes for the heap pools from /actuator/prometheus.
+     */
+    public long heapUsedBytes(HttpClient http) throws IOException, InterruptedException {
+        String metrics = scrape(http);
+        if (metrics == null) {
+            return -1;
+        }
+        long total = (long) sum(metrics, "jvm_memory_used_bytes{", "area=\"heap\"");
+        peakHeapBytes = Math.max(peakHeapBytes, total);
+        return total;
+    }
+
+    /**
+     * The node's /actuator/prometheus text, or null if it did not answer 200.
+     */
+    public String scrape(HttpClient http) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/prometheus")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+
+    /**
+     * Sums the samples whose line starts with the metric prefix and contains the label.
+     */
+    public static double sum(String metrics, String prefix, String label) {
+        double total = 0;
+        for (String line : metrics.split("\n")) {
+            if (line.startsWith(prefix) && line.contains(label)) {
+                total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return total;
+    }
+
+    public long peakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    public String sockJsUrl() {
+        return baseUrl() + "/ws";
+    }
+
+    public String webSocketUrl() {
+        return "ws://localhost:" + port + "/stomp";
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
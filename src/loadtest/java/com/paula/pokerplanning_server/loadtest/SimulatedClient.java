@@ -0,0 +1,99 @@
+package com.paula.pokerplanning_server.loadtest;
+
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One browser tab: a room member with a STOMP session subscribed to its room's events,
+ * over SockJS (/ws) or native WebSocket (/stomp). Observers subscribe to the throttled
+ * observer topic, where votes arrive folded into ROOM_PROGRESS summaries.
+ */
+public class SimulatedClient {
+
+    /** The fields of a RoomEvent the load test reads. */
+    public record EventFrame(String type, UUID roomId, Map<String, Object> payload) {}
+
+    public interface EventListener {
+        void onEvent(SimulatedClient client, EventFrame event, long receivedNanos);
+    }
+
+    private final RoomApi.Member member;
+    private final ServerNode node;
+    private final boolean voter;
+    private volatile StompSession session;
+
+    public SimulatedClient(RoomApi.Member member, ServerNode node, boolean voter) {
+        this.member = member;
+        this.node = node;
+        this.voter = voter;
+    }
+
+    public CompletableFuture<Void> connect(WebSocketStompClient stompClient, boolean nativeEndpoint,
+                                           EventListener listener) {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("X-Guest-Token", member.guestToken());
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        if (nativeEndpoint) {
+            // As browsers do
+            handshakeHeaders.setSecWebSocketExtensions(List.of(new WebSocketExtension("permessage-deflate")));
+        }
+        String url = nativeEndpoint ? node.webSocketUrl() : node.sockJsUrl();
+        return stompClient.connectAsync(url, handshakeHeaders, connectHeaders,
+                        new StompSessionHandlerAdapter() {})
+                .thenAccept(connected -> {
+                    String topic = "/topic/rooms/" + member.roomId() + (voter ? "/events" : "/observers");
+                    connected.subscribe(topic, new StompFrameHandler() {
+                        @Override
+                        public Type getPayloadType(StompHeaders headers) {
+                            return EventFrame.class;
+                        }
+
+                        @Override
+                        public void handleFrame(StompHeaders headers, Object payload) {
+                            listener.onEvent(SimulatedClient.this, (EventFrame) payload, System.nanoTime());
+                        }
+                    });
+                    session = connected;
+                });
+    }
+
+    public void vote(String value) {
+        session.send("/app/rooms/" + member.roomId() + "/vote", Map.of("value", value));
+    }
+
+    public void disconnect() {
+        StompSession current = session;
+        session = null;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+    }
+
+    public boolean isConnected() {
+        StompSession current = session;
+        return current != null && current.isConnected();
+    }
+
+    public RoomApi.Member member() {
+        return member;
+    }
+
+    public ServerNode node() {
+        return node;
+    }
+
+    public boolean isVoter() {
+        return voter;
+    }
+}
@@ -0,0 +1,19 @@
+package com.paula.pokerplanning_server.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective property access with generated lambdas (LambdaMetafactory), so
+     * room events and REST responses serialize without per-field reflection.
+     * Registered on the application's JsonMapper through auto-configuration.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
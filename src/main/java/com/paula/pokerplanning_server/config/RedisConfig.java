@@ -2,6 +2,7 @@ package com.paula.pokerplanning_server.config;
 
 import com.paula.pokerplanning_server.event.RedisEventListener;
 import tools.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -33,6 +34,7 @@ public class RedisConfig {
      * Adapter that routes Redis messages to RedisEventListener#handleMessage(String).
      */
     @Bean
+    @ConditionalOnProperty(name = "app.events.transport", havingValue = "redis", matchIfMissing = true)
     public MessageListenerAdapter messageListenerAdapter(RedisEventListener listener) {
         return new MessageListenerAdapter(listener, "handleMessage");
     }
@@ -41,6 +43,7 @@ public class RedisConfig {
      * Container subscribing to the pattern rooms:* to receive all room events.
      */
     @Bean
+    @ConditionalOnProperty(name = "app.events.transport", havingValue = "redis", matchIfMissing = true)
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
             MessageListenerAdapter messageListenerAdapter) {
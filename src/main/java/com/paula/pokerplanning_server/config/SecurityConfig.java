@@ -1,8 +1,10 @@
 package com.paula.pokerplanning_server.config;
 
 import com.paula.pokerplanning_server.security.JwtAuthenticationFilter;
+import com.paula.pokerplanning_server.web.idempotency.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,10 +29,14 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOriginsConfig;
 
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -45,8 +51,12 @@ public class SecurityConfig {
                                 "/v3/api-docs",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        // Health checks and metrics scraping
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // Other actuator endpoints (hotrooms lists room ids) are for operators only
+                        .requestMatchers("/actuator/**").hasRole(JwtAuthenticationFilter.ADMIN_ROLE)
                         // WebSocket upgrade
-                        .requestMatchers("/ws/**").permitAll()
+                        .requestMatchers("/ws/**", "/stomp").permitAll()
                         // Auth endpoints (register/login)
                         .requestMatchers(HttpMethod.POST, "/auth/register", "/auth/login").permitAll()
                         // Room operations — authorization handled in service layer
@@ -62,11 +72,20 @@ public class SecurityConfig {
                         .requestMatchers("/me/**").authenticated()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // The idempotency filter needs the authenticated caller, so it only runs inside the security chain
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration() {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -74,6 +93,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(origins);
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("Retry-After", IdempotencyFilter.REPLAYED_HEADER));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -84,6 +104,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
@@ -0,0 +1,41 @@
+package com.paula.pokerplanning_server.config;
+
+import com.paula.pokerplanning_server.event.EventFormat;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Records on the session which STOMP endpoint it connected through, and whether its
+ * transport carries binary frames, which binary event formats require. SockJS
+ * transports are text only; on a SockJS endpoint only the raw WebSocket path
+ * ({endpoint}/websocket) qualifies.
+ */
+class TransportHandshakeInterceptor implements HandshakeInterceptor {
+
+    private final String endpoint;
+    private final String binaryFramesPath;
+
+    TransportHandshakeInterceptor(String endpoint, String binaryFramesPath) {
+        this.endpoint = endpoint;
+        this.binaryFramesPath = binaryFramesPath;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(WebSocketTrafficMetrics.ENDPOINT_ATTRIBUTE, endpoint);
+        if (request.getURI().getPath().endsWith(binaryFramesPath)) {
+            attributes.put(EventFormat.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -3,12 +3,15 @@ package com.paula.pokerplanning_server.config;
 import com.paula.pokerplanning_server.security.StompAuthChannelInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -16,14 +19,31 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final WebSocketTrafficMetrics webSocketTrafficMetrics;
 
     @Value("${app.websocket.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Native WebSocket for current browsers: no SockJS framing, binary frames allowed.
+        // Tomcat negotiates permessage-deflate whenever the client offers it.
+        registry.addEndpoint("/stomp")
+                .setAllowedOrigins(allowedOrigins.split(","))
+                .addInterceptors(new TransportHandshakeInterceptor(WebSocketTrafficMetrics.NATIVE, "/stomp"));
+        // SockJS for clients behind proxies that break WebSocket
         registry.addEndpoint("/ws")
                 .setAllowedOrigins(allowedOrigins.split(","))
+                .addInterceptors(new TransportHandshakeInterceptor(WebSocketTrafficMetrics.SOCKJS, "/ws/websocket"))
                 .withSockJS();
     }
 
@@ -31,12 +51,36 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // Client sends to /app/...
         registry.setApplicationDestinationPrefixes("/app");
-        // Server pushes to /topic/...
-        registry.enableSimpleBroker("/topic");
+        // Server pushes to /topic/..., and to one session through /user/queue/...
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setUserDestinationPrefix("/user");
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompAuthChannelInterceptor);
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                // Largest inbound STOMP message; client frames are small votes and commands
+                .setMessageSizeLimit(messageSizeLimit)
+                // A session whose unsent frames exceed either limit is closed as too slow
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .addDecoratorFactory(webSocketTrafficMetrics::decorate);
+    }
+
+    /**
+     * Container buffers for native WebSocket sessions, sized to the STOMP message limit.
+     */
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(messageSizeLimit);
+        container.setMaxBinaryMessageBufferSize(messageSizeLimit);
+        container.setAsyncSendTimeout((long) sendTimeLimitMs);
+        return container;
+    }
 }
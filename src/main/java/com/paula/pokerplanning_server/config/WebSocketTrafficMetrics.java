@@ -0,0 +1,171 @@
+package com.paula.pokerplanning_server.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound WebSocket traffic per STOMP endpoint, so the SockJS and native endpoints can
+ * be compared per frame (one frame per event and session):
+ * websocket.outbound.frames, websocket.outbound.bytes and websocket.outbound.send.cpu,
+ * plus open sessions and how many of them negotiated permessage-deflate.
+ *
+ * Bytes are counted before compression. For SockJS sessions they include an estimate of
+ * the SockJS framing (JSON array wrapping and string escaping). permessage-deflate runs
+ * inside the container below this decorator, so compressed sizes are not visible here:
+ * these metrics show the framing overhead SockJS adds, not what deflate saves on the
+ * wire. websocket.sessions.deflate only reports how many sessions negotiated it.
+ */
+@Component
+public class WebSocketTrafficMetrics {
+
+    public static final String ENDPOINT_ATTRIBUTE = "wsEndpoint";
+    public static final String SOCKJS = "sockjs";
+    public static final String NATIVE = "native";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private record Endpoint(Counter frames, Counter bytes, Timer sendCpu,
+                            AtomicInteger sessions, AtomicInteger deflateSessions) {}
+
+    private final Map<String, Endpoint> endpoints;
+
+    public WebSocketTrafficMetrics(MeterRegistry meterRegistry) {
+        this.endpoints = Map.of(
+                SOCKJS, register(meterRegistry, SOCKJS),
+                NATIVE, register(meterRegistry, NATIVE));
+    }
+
+    /**
+     * Wraps the STOMP handler so every session it sends through is counted.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                Endpoint endpoint = endpoint(session);
+                endpoint.sessions().incrementAndGet();
+                if (deflate(session)) {
+                    endpoint.deflateSessions().incrementAndGet();
+                }
+                // The STOMP handler keeps this session and sends every frame through it
+                super.afterConnectionEstablished(new CountingSession(session, endpoint));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                Endpoint endpoint = endpoint(session);
+                endpoint.sessions().decrementAndGet();
+                if (deflate(session)) {
+                    endpoint.deflateSessions().decrementAndGet();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private Endpoint endpoint(WebSocketSession session) {
+        Object name = session.getAttributes().get(ENDPOINT_ATTRIBUTE);
+        return endpoints.getOrDefault(name, endpoints.get(SOCKJS));
+    }
+
+    private static boolean deflate(WebSocketSession session) {
+        return !(session instanceof SockJsSession) && session.getExtensions().stream()
+                .anyMatch(e -> "permessage-deflate".equals(e.getName()));
+    }
+
+    private static Endpoint register(MeterRegistry meterRegistry, String endpoint) {
+        AtomicInteger sessions = new AtomicInteger();
+        AtomicInteger deflateSessions = new AtomicInteger();
+        Gauge.builder("websocket.sessions", sessions, AtomicInteger::get)
+                .tags("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.deflate", deflateSessions, AtomicInteger::get)
+                .description("Sessions that negotiated permessage-deflate")
+                .tags("endpoint", endpoint)
+                .register(meterRegistry);
+        return new Endpoint(
+                Counter.builder("websocket.outbound.frames")
+                        .tags("endpoint", endpoint)
+                        .register(meterRegistry),
+                Counter.builder("websocket.outbound.bytes")
+                        .description("Outbound payload bytes before compression; deflate savings are not included")
+                        .baseUnit("bytes")
+                        .tags("endpoint", endpoint)
+                        .register(meterRegistry),
+                Timer.builder("websocket.outbound.send.cpu")
+                        .description("CPU time of the sending thread per frame, including framing and compression")
+                        .tags("endpoint", endpoint)
+                        .register(meterRegistry),
+                sessions,
+                deflateSessions);
+    }
+
+    private static final class CountingSession extends WebSocketSessionDecorator {
+
+        private final Endpoint endpoint;
+        private final boolean sockJs;
+
+        CountingSession(WebSocketSession delegate, Endpoint endpoint) {
+            super(delegate);
+            this.endpoint = endpoint;
+            this.sockJs = delegate instanceof SockJsSession;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long cpuStart = THREADS.getCurrentThreadCpuTime();
+            super.sendMessage(message);
+            endpoint.sendCpu().record(THREADS.getCurrentThreadCpuTime() - cpuStart, TimeUnit.NANOSECONDS);
+            endpoint.frames().increment();
+            endpoint.bytes().increment(size(message));
+        }
+
+        private long size(WebSocketMessage<?> message) {
+            if (message instanceof BinaryMessage binary) {
+                return binary.getPayloadLength();
+            }
+            if (message instanceof TextMessage text) {
+                // Char count stands in for UTF-8 bytes; frames are almost entirely ASCII
+                String payload = text.getPayload();
+                return sockJs ? sockJsFrameLength(payload) : payload.length();
+            }
+            return message.getPayloadLength();
+        }
+
+        /**
+         * Length of a["..."] around the JSON-escaped payload. STOMP frames carry newlines,
+         * quotes in JSON bodies and a trailing NUL, which SockJS escapes.
+         */
+        private static long sockJsFrameLength(String payload) {
+            long length = payload.length() + 5;
+            for (int i = 0; i < payload.length(); i++) {
+                char c = payload.charAt(i);
+                if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t') {
+                    length += 1;
+                } else if (c < 0x20) {
+                    length += 5;
+                }
+            }
+            return length;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes guard for replica routing.
+ *
+ * Remembers when each client last wrote. Requests from that client arriving within
+ * {@code pinAfterWriteMs} read from the primary, so e.g. GET /state right after a
+ * join never observes a replica that has not replayed the join yet.
+ */
+public class ReplicaLagGuard {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long pinAfterWriteMs;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    public ReplicaLagGuard(long pinAfterWriteMs) {
+        this.pinAfterWriteMs = pinAfterWriteMs;
+    }
+
+    public void recordWrite(String clientKey) {
+        long now = System.currentTimeMillis();
+        lastWriteAt.put(clientKey, now);
+        if (lastWriteAt.size() > PURGE_THRESHOLD) {
+            lastWriteAt.values().removeIf(at -> now - at > pinAfterWriteMs);
+        }
+    }
+
+    public boolean wroteRecently(String clientKey) {
+        Long at = lastWriteAt.get(clientKey);
+        return at != null && System.currentTimeMillis() - at <= pinAfterWriteMs;
+    }
+
+    public void pin() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public void clear() {
+        pinned.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinned.get());
+    }
+}
@@ -0,0 +1,67 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import com.paula.pokerplanning_server.security.GuestPrincipal;
+import com.paula.pokerplanning_server.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+
+/**
+ * The STOMP counterpart of {@link ReplicaLagGuardInterceptor}: client SENDs such as
+ * votes are writes, so they are recorded under the same client key as HTTP writes,
+ * and the handling of a SEND is pinned to the primary after a recent write.
+ *
+ * Pins in beforeHandle, on the thread that runs the @MessageMapping method.
+ */
+@RequiredArgsConstructor
+class ReplicaLagGuardChannelInterceptor implements ExecutorChannelInterceptor {
+
+    private final ReplicaLagGuard lagGuard;
+
+    @Override
+    public Message<?> beforeHandle(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                   @NonNull MessageHandler handler) {
+        String clientKey = sendingClientKey(message);
+        if (clientKey != null && lagGuard.wroteRecently(clientKey)) {
+            lagGuard.pin();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                    @NonNull MessageHandler handler, Exception ex) {
+        lagGuard.clear();
+        String clientKey = sendingClientKey(message);
+        if (clientKey != null && ex == null) {
+            lagGuard.recordWrite(clientKey);
+        }
+    }
+
+    // Same keys as ReplicaLagGuardInterceptor, so a vote pins the client's next GET /state
+    private static String sendingClientKey(Message<?> message) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SEND) {
+            return null;
+        }
+        Principal user = accessor.getUser();
+        if (user instanceof UsernamePasswordAuthenticationToken auth) {
+            if (auth.getPrincipal() instanceof UserPrincipal up) {
+                return "user:" + up.getUserId();
+            }
+            if (auth.getPrincipal() instanceof GuestPrincipal gp) {
+                return "guest:" + gp.getGuestId();
+            }
+        }
+        return null;
+    }
+}
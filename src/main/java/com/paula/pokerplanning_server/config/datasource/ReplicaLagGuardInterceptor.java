@@ -0,0 +1,75 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.paula.pokerplanning_server.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Pins reads to the primary for clients that wrote recently, and records the
+ * writes of mutating requests once they complete. Guest tokens are keyed by their
+ * guest id, as STOMP sessions are in {@link ReplicaLagGuardChannelInterceptor}.
+ */
+@RequiredArgsConstructor
+class ReplicaLagGuardInterceptor implements HandlerInterceptor {
+
+    private final ReplicaLagGuard lagGuard;
+    private final GuestTokenProvider guestTokenProvider;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        String clientKey = clientKey(request);
+        if (clientKey != null && lagGuard.wroteRecently(clientKey)) {
+            lagGuard.pin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        lagGuard.clear();
+        if (isWrite(request) && response.getStatus() < 400) {
+            String clientKey = clientKey(request);
+            if (clientKey != null) {
+                lagGuard.recordWrite(clientKey);
+            }
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal user) {
+            return "user:" + user.getUserId();
+        }
+        String guestId = request.getHeader("X-Guest-Id");
+        if (StringUtils.hasText(guestId)) {
+            return "guest:" + guestId;
+        }
+        String guestToken = request.getHeader("X-Guest-Token");
+        if (StringUtils.hasText(guestToken)) {
+            try {
+                return "guest:" + guestTokenProvider.validate(guestToken).guestId();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Optional read-replica routing. Enabled only when app.datasource.replica.url is set.
+ *
+ * Connections are handed out lazily: Spring marks the connection read-only for
+ * {@code @Transactional(readOnly = true)} before the first statement runs, and the
+ * proxy then resolves it from the read-only target instead of the primary pool.
+ * The read-only target is itself routed so that a client that has just written is
+ * kept on the primary (see {@link ReplicaLagGuard}). Writes are recorded for HTTP
+ * requests and for STOMP SENDs such as votes.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class ReplicaRoutingConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaPool(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        ds.setReadOnly(true);
+        ds.setPoolName("replica");
+        return ds;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${app.datasource.replica.pin-after-write-ms:2000}") long pinAfterWriteMs) {
+        return new ReplicaLagGuard(pinAfterWriteMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") HikariDataSource primary,
+                                 @Qualifier("replicaPool") HikariDataSource replica,
+                                 ReplicaLagGuard replicaLagGuard) {
+        ReplicaRoutingDataSource readOnlyRouting = new ReplicaRoutingDataSource(replicaLagGuard, primary, replica);
+        readOnlyRouting.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(readOnlyRouting);
+        return proxy;
+    }
+
+    /**
+     * Records writes and pins reads per client. Kept separate so the MVC configurer
+     * can receive the guard by injection.
+     */
+    @Configuration
+    @RequiredArgsConstructor
+    static class LagGuardWebConfig implements WebMvcConfigurer {
+
+        private final ReplicaLagGuard replicaLagGuard;
+        private final GuestTokenProvider guestTokenProvider;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReplicaLagGuardInterceptor(replicaLagGuard, guestTokenProvider));
+        }
+    }
+
+    /**
+     * The same for STOMP: added to the client inbound channel next to the auth interceptor.
+     */
+    @Configuration
+    @RequiredArgsConstructor
+    static class LagGuardWebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+        private final ReplicaLagGuard replicaLagGuard;
+
+        @Override
+        public void configureClientInboundChannel(ChannelRegistration registration) {
+            registration.interceptors(new ReplicaLagGuardChannelInterceptor(replicaLagGuard));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica pool, unless the current request
+ * is pinned to the primary by {@link ReplicaLagGuard}.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard lagGuard;
+
+    ReplicaRoutingDataSource(ReplicaLagGuard lagGuard, DataSource primary, DataSource replica) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagGuard.isPinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
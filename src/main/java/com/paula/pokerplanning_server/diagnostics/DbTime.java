@@ -0,0 +1,28 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+/**
+ * Running per-thread total of JDBC execution time and statement count, fed by
+ * DbTimeSessionListener. Callers take the difference across a unit of work.
+ */
+public final class DbTime {
+
+    // {nanos, statements}
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private DbTime() {
+    }
+
+    static void add(long nanos) {
+        long[] totals = TOTALS.get();
+        totals[0] += nanos;
+        totals[1]++;
+    }
+
+    public static long nanos() {
+        return TOTALS.get()[0];
+    }
+
+    public static long statements() {
+        return TOTALS.get()[1];
+    }
+}
@@ -0,0 +1,32 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered through hibernate.session.events.auto, one instance per session.
+ */
+public class DbTimeSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        DbTime.add(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        DbTime.add(System.nanoTime() - batchStart);
+    }
+}
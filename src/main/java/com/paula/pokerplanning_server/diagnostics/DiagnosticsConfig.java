@@ -0,0 +1,45 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class DiagnosticsConfig implements WebMvcConfigurer {
+
+    private final RoomLoadTracker roomLoadTracker;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RoomLoadInterceptor()).addPathPatterns("/rooms/**");
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer diagnosticsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RoomStatementInspector(roomLoadTracker));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, DbTimeSessionListener.class.getName());
+        };
+    }
+
+    // Outermost, so the recorded duration includes the transaction around the call
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor roomOperationAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(RoomOperation.class, true), new RoomOperationInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(EventFanOutEvent.NAME)
+@Label("Room Event Fan-Out")
+@Description("Decode of a received room event and its broadcast to local subscribers")
+@Category({"Poker Planning", "Events"})
+@StackTrace(false)
+public class EventFanOutEvent extends Event {
+
+    public static final String NAME = "pokerplanning.EventFanOut";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Fan-Out")
+    @Description("Local subscriptions the event was broadcast to")
+    public int fanOut;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("End-to-End Lag")
+    @Timespan(Timespan.MILLISECONDS)
+    public long lag;
+}
@@ -0,0 +1,32 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(EventPublishEvent.NAME)
+@Label("Room Event Publish")
+@Description("Serialization and hand-off of a room event to the event transport")
+@Category({"Poker Planning", "Events"})
+@StackTrace(false)
+public class EventPublishEvent extends Event {
+
+    public static final String NAME = "pokerplanning.EventPublish";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Transport")
+    public String transport;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
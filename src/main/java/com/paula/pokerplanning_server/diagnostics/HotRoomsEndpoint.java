@@ -0,0 +1,44 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/hotrooms[?limit=N]: the heaviest rooms on this node by events,
+ * fan-out frames, fan-out bytes and DB statements, for the last full window and the
+ * one in progress. Counts may overestimate by at most maxOverestimate.
+ */
+@Component
+@Endpoint(id = "hotrooms")
+@RequiredArgsConstructor
+public class HotRoomsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final RoomLoadTracker tracker;
+
+    @ReadOperation
+    public Map<String, Object> hotRooms(@Nullable Integer limit) {
+        int n = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("current", tracker.currentWindow(n));
+        RoomLoadTracker.Window last = tracker.lastWindow();
+        if (last != null) {
+            body.put("previous", new RoomLoadTracker.Window(last.start(), last.end(), trim(last, n)));
+        }
+        return body;
+    }
+
+    private Map<RoomLoadTracker.Metric, List<RoomLoadTracker.RoomLoad>> trim(RoomLoadTracker.Window window, int n) {
+        Map<RoomLoadTracker.Metric, List<RoomLoadTracker.RoomLoad>> top = new LinkedHashMap<>();
+        window.top().forEach((metric, rooms) -> top.put(metric, rooms.subList(0, Math.min(n, rooms.size()))));
+        return top;
+    }
+}
@@ -0,0 +1,95 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints per-operation latency from a Flight Recording made with pokerplanning.jfc:
+ * count, p50/p95/p99/max duration and mean DB time for room operations, and
+ * duration and fan-out per event type.
+ *
+ * Usage: ./gradlew jfrSummary -Pjfr=rooms.jfr
+ */
+public final class JfrOperationSummary {
+
+    private static final class Stats {
+        final List<Long> durations = new ArrayList<>();
+        long dbNanos;
+        long fanOut;
+        long failures;
+    }
+
+    private JfrOperationSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrOperationSummary <recording.jfr>");
+            System.exit(1);
+        }
+
+        Map<String, Stats> operations = new TreeMap<>();
+        Map<String, Stats> publishes = new TreeMap<>();
+        Map<String, Stats> fanOuts = new TreeMap<>();
+
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent e = recording.readEvent();
+                long nanos = e.getDuration().toNanos();
+                switch (e.getEventType().getName()) {
+                    case RoomOperationEvent.NAME -> {
+                        Stats s = operations.computeIfAbsent(e.getString("operation"), k -> new Stats());
+                        s.durations.add(nanos);
+                        s.dbNanos += e.getLong("dbTime");
+                        if (e.getBoolean("failed")) {
+                            s.failures++;
+                        }
+                    }
+                    case EventPublishEvent.NAME ->
+                            publishes.computeIfAbsent(e.getString("eventType"), k -> new Stats()).durations.add(nanos);
+                    case EventFanOutEvent.NAME -> {
+                        Stats s = fanOuts.computeIfAbsent(e.getString("eventType"), k -> new Stats());
+                        s.durations.add(nanos);
+                        s.fanOut += e.getInt("fanOut");
+                    }
+                    default -> { }
+                }
+            }
+        }
+
+        System.out.printf("%-45s %8s %9s %9s %9s %9s %9s %6s%n",
+                "Room operation", "count", "p50 ms", "p95 ms", "p99 ms", "max ms", "db ms", "fail");
+        operations.forEach((name, s) -> System.out.printf("%-45s %8d %9.2f %9.2f %9.2f %9.2f %9.2f %6d%n",
+                name, s.durations.size(), pct(s, 50), pct(s, 95), pct(s, 99), pct(s, 100),
+                millis(s.dbNanos / s.durations.size()), s.failures));
+
+        System.out.printf("%n%-45s %8s %9s %9s %9s %9s%n", "Event publish", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        publishes.forEach((name, s) -> System.out.printf("%-45s %8d %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.durations.size(), pct(s, 50), pct(s, 95), pct(s, 99), pct(s, 100)));
+
+        System.out.printf("%n%-45s %8s %9s %9s %9s %9s %9s%n",
+                "Event fan-out", "count", "p50 ms", "p95 ms", "p99 ms", "max ms", "avg subs");
+        fanOuts.forEach((name, s) -> System.out.printf("%-45s %8d %9.2f %9.2f %9.2f %9.2f %9.1f%n",
+                name, s.durations.size(), pct(s, 50), pct(s, 95), pct(s, 99), pct(s, 100),
+                (double) s.fanOut / s.durations.size()));
+    }
+
+    private static double pct(Stats s, int percentile) {
+        List<Long> sorted = s.durations;
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return millis(sorted.get(Math.max(0, index)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
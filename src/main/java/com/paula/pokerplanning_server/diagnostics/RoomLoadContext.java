@@ -0,0 +1,27 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import java.util.UUID;
+
+/**
+ * The room the current thread is working for, so that DB statements can be
+ * attributed to it. Set per request by RoomLoadInterceptor and around STOMP handlers.
+ */
+public final class RoomLoadContext {
+
+    private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+
+    private RoomLoadContext() {
+    }
+
+    public static void set(UUID roomId) {
+        CURRENT.set(roomId);
+    }
+
+    public static UUID current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,93 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-room load accounting for finding hot rooms, in bounded memory.
+ *
+ * Each metric feeds a Space-Saving sketch of app.hot-rooms.capacity counters, so
+ * memory does not grow with the number of rooms. Sketches cover a fixed window and
+ * are swapped out when it ends; the last full window is kept for reporting.
+ */
+@Component
+public class RoomLoadTracker {
+
+    public enum Metric {
+        EVENTS,
+        FAN_OUT_FRAMES,
+        FAN_OUT_BYTES,
+        DB_STATEMENTS
+    }
+
+    public record RoomLoad(UUID roomId, long count, long maxOverestimate) {}
+
+    public record Window(Instant start, Instant end, Map<Metric, List<RoomLoad>> top) {}
+
+    private final boolean enabled;
+    private final int capacity;
+
+    private volatile Map<Metric, SpaceSaving<UUID>> current;
+    private volatile Instant currentStart;
+    private volatile Window lastWindow;
+
+    public RoomLoadTracker(
+            @Value("${app.hot-rooms.enabled:true}") boolean enabled,
+            @Value("${app.hot-rooms.capacity:200}") int capacity) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.current = newSketches();
+        this.currentStart = Instant.now();
+    }
+
+    public void record(UUID roomId, Metric metric, long weight) {
+        if (enabled && roomId != null) {
+            // A sketch closed by a concurrent rotate() refuses the add; retry on the new one
+            while (!current.get(metric).add(roomId, weight)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public Window currentWindow(int limit) {
+        return snapshot(current, currentStart, Instant.now(), limit, false);
+    }
+
+    public Window lastWindow() {
+        return lastWindow;
+    }
+
+    @Scheduled(fixedRateString = "${app.hot-rooms.window-ms:60000}")
+    public void rotate() {
+        Map<Metric, SpaceSaving<UUID>> finished = current;
+        Instant start = currentStart;
+        Instant now = Instant.now();
+        current = newSketches();
+        currentStart = now;
+        lastWindow = snapshot(finished, start, now, capacity, true);
+    }
+
+    private Window snapshot(Map<Metric, SpaceSaving<UUID>> sketches, Instant start, Instant end, int limit,
+                            boolean close) {
+        Map<Metric, List<RoomLoad>> top = new EnumMap<>(Metric.class);
+        sketches.forEach((metric, sketch) -> top.put(metric, (close ? sketch.close(limit) : sketch.top(limit)).stream()
+                .map(e -> new RoomLoad(e.key(), e.count(), e.error()))
+                .toList()));
+        return new Window(start, end, top);
+    }
+
+    private Map<Metric, SpaceSaving<UUID>> newSketches() {
+        Map<Metric, SpaceSaving<UUID>> sketches = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            sketches.put(metric, new SpaceSaving<>(capacity));
+        }
+        return sketches;
+    }
+}
@@ -0,0 +1,17 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service whose public methods are recorded as RoomOperationEvent in
+ * Flight Recordings. The room is taken from a UUID parameter named roomId.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RoomOperation {
+}
@@ -0,0 +1,35 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name(RoomOperationEvent.NAME)
+@Label("Room Operation")
+@Description("A service call acting on a room, with the JDBC time spent inside it")
+@Category({"Poker Planning", "Rooms"})
+@StackTrace(false)
+public class RoomOperationEvent extends Event {
+
+    public static final String NAME = "pokerplanning.RoomOperation";
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("DB Statements")
+    public int dbStatements;
+
+    @Label("Failed")
+    public boolean failed;
+}
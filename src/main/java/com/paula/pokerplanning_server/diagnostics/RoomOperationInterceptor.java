@@ -0,0 +1,62 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps @RoomOperation services in a RoomOperationEvent. With the event disabled
+ * this is one isEnabled() check per call.
+ */
+class RoomOperationInterceptor implements MethodInterceptor {
+
+    private static final int NO_ROOM_ID = -1;
+
+    private final Map<Method, Integer> roomIdIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RoomOperationEvent event = new RoomOperationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        long dbNanos = DbTime.nanos();
+        long dbStatements = DbTime.statements();
+        boolean failed = true;
+        event.begin();
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Method method = invocation.getMethod();
+                event.operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                int index = roomIdIndex.computeIfAbsent(method, RoomOperationInterceptor::findRoomId);
+                if (index != NO_ROOM_ID && invocation.getArguments()[index] instanceof UUID roomId) {
+                    event.roomId = roomId.toString();
+                }
+                event.dbTime = DbTime.nanos() - dbNanos;
+                event.dbStatements = (int) (DbTime.statements() - dbStatements);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static int findRoomId(Method method) {
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getType() == UUID.class && "roomId".equals(parameters[i].getName())) {
+                return i;
+            }
+        }
+        return NO_ROOM_ID;
+    }
+}
@@ -0,0 +1,24 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.UUID;
+
+/**
+ * Counts SQL statements prepared by Hibernate against the room in RoomLoadContext.
+ */
+@RequiredArgsConstructor
+class RoomStatementInspector implements StatementInspector {
+
+    private final RoomLoadTracker tracker;
+
+    @Override
+    public String inspect(String sql) {
+        UUID roomId = RoomLoadContext.current();
+        if (roomId != null) {
+            tracker.record(roomId, RoomLoadTracker.Metric.DB_STATEMENTS, 1);
+        }
+        return sql;
+    }
+}
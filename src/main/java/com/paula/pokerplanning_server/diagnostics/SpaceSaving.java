@@ -0,0 +1,107 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitters sketch: tracks at most {@code capacity} keys. A new key
+ * evicts the smallest counter and inherits its count, recorded as the possible
+ * overestimate.
+ *
+ * Keys are hashed to lock-striped sub-sketches of capacity / STRIPES counters each,
+ * so concurrent adds rarely contend and an eviction scans one small stripe rather than
+ * every counter. Any key whose true weight exceeds its stripe's total divided by the
+ * stripe's capacity is guaranteed to be tracked; with keys spread evenly by hash that
+ * is about total/capacity, as for a single sketch.
+ *
+ * A sketch is closed when its window ends; later adds are refused, so the caller can
+ * move them to the next window instead of losing them in a finished one.
+ */
+final class SpaceSaving<K> {
+
+    private static final int STRIPES = 8;
+
+    record Entry<K>(K key, long count, long error) {}
+
+    private final List<Stripe<K>> stripes;
+
+    SpaceSaving(int capacity) {
+        int stripeCount = Math.max(1, Math.min(STRIPES, capacity));
+        int perStripe = Math.ceilDiv(capacity, stripeCount);
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new Stripe<>(perStripe));
+        }
+    }
+
+    /**
+     * @return false, without counting, if the sketch is closed
+     */
+    boolean add(K key, long weight) {
+        return stripes.get(Math.floorMod(key.hashCode(), stripes.size())).add(key, weight);
+    }
+
+    /**
+     * Closes the sketch and returns its final top entries.
+     */
+    List<Entry<K>> close(int limit) {
+        stripes.forEach(Stripe::close);
+        return top(limit);
+    }
+
+    List<Entry<K>> top(int limit) {
+        List<Entry<K>> entries = new ArrayList<>();
+        stripes.forEach(stripe -> stripe.collect(entries));
+        entries.sort(Comparator.comparingLong((Entry<K> e) -> e.count()).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    private static final class Stripe<K> {
+        private final int capacity;
+        // key -> {count, error}
+        private final Map<K, long[]> counters;
+        private boolean closed;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        synchronized boolean add(K key, long weight) {
+            if (closed) {
+                return false;
+            }
+            long[] counter = counters.get(key);
+            if (counter != null) {
+                counter[0] += weight;
+                return true;
+            }
+            if (counters.size() < capacity) {
+                counters.put(key, new long[]{weight, 0});
+                return true;
+            }
+            K minKey = null;
+            long[] min = null;
+            for (Map.Entry<K, long[]> e : counters.entrySet()) {
+                if (min == null || e.getValue()[0] < min[0]) {
+                    min = e.getValue();
+                    minKey = e.getKey();
+                }
+            }
+            counters.remove(minKey);
+            counters.put(key, new long[]{min[0] + weight, min[0]});
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+
+        synchronized void collect(List<Entry<K>> entries) {
+            counters.forEach((k, c) -> entries.add(new Entry<>(k, c[0], c[1])));
+        }
+    }
+}
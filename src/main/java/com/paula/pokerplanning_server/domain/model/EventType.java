@@ -16,5 +16,7 @@ public enum EventType {
     ROUND_FINALIZED,
     HOST_TRANSFERRED,
     ROOM_CLOSED,
+    ROOM_PROMOTED,
+    ROOM_PROGRESS,
     STATE_SNAPSHOT
 }
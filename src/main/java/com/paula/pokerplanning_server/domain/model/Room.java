@@ -22,7 +22,8 @@ public class Room {
     @Column(nullable = false, length = 100)
     private String name;
 
-    @Column(nullable = false, unique = true, length = 10)
+    // Null once a closed room's code was returned to the pool
+    @Column(unique = true, length = 10)
     private String code;
 
     @Column(name = "creator_user_id")
@@ -46,6 +47,13 @@ public class Room {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Column(name = "closed_at")
+    private Instant closedAt;
+
+    // Start of the room's latest round, the only one that can be active
+    @Column(name = "latest_round_started_at")
+    private Instant latestRoundStartedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -0,0 +1,30 @@
+package com.paula.pokerplanning_server.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Registry of every room code handed out. Codes not in use form the pool new rooms
+ * claim from; codes of closed rooms return to it after a quarantine.
+ */
+@Entity
+@Table(name = "room_codes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomCode {
+
+    @Id
+    @Column(length = 10)
+    private String code;
+
+    @Column(name = "in_use", nullable = false)
+    private boolean inUse;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+}
@@ -22,4 +22,8 @@ public class RoomSettings {
     @Column(name = "allow_observers", nullable = false)
     @Builder.Default
     private boolean allowObservers = true;
+
+    // Minimum ms between observer progress updates; null = app default, 0 = full event stream
+    @Column(name = "observer_update_interval_ms")
+    private Integer observerUpdateIntervalMs;
 }
@@ -2,8 +2,11 @@ package com.paula.pokerplanning_server.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
@@ -16,7 +19,8 @@ import java.util.UUID;
 public class Round {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @Column(name = "room_id", nullable = false)
@@ -30,6 +34,8 @@ public class Round {
     @Builder.Default
     private RoundStatus status = RoundStatus.VOTING;
 
+    // Monthly partition key, also copied to the round's votes
+    @PartitionKey
     @Column(name = "started_at", nullable = false, updatable = false)
     private Instant startedAt;
 
@@ -41,6 +47,7 @@ public class Round {
 
     @PrePersist
     protected void onCreate() {
-        startedAt = Instant.now();
+        // Stored precision, so the votes' copy matches the column exactly
+        startedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
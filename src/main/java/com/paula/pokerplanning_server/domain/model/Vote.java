@@ -2,6 +2,8 @@ package com.paula.pokerplanning_server.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -16,12 +18,18 @@ import java.util.UUID;
 public class Vote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @Column(name = "round_id", nullable = false)
     private UUID roundId;
 
+    // The round's started_at: votes are partitioned with their round
+    @PartitionKey
+    @Column(name = "round_started_at", nullable = false, updatable = false)
+    private Instant roundStartedAt;
+
     @Column(name = "participant_id", nullable = false)
     private UUID participantId;
 
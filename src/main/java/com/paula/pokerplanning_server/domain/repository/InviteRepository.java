@@ -2,7 +2,10 @@ package com.paula.pokerplanning_server.domain.repository;
 
 import com.paula.pokerplanning_server.domain.model.Invite;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,4 +13,24 @@ import java.util.UUID;
 public interface InviteRepository extends JpaRepository<Invite, UUID> {
     Optional<Invite> findByTokenHash(String tokenHash);
     List<Invite> findByRoomIdOrderByCreatedAtDesc(UUID roomId);
+
+    /**
+     * Consumes one use of a still-valid invite in a single statement, so concurrent
+     * redemptions cannot go past max_uses. Empty when the invite is unknown or no longer valid.
+     */
+    @Query(value = """
+            UPDATE invites SET uses = uses + 1
+            WHERE token_hash = :tokenHash
+              AND revoked_at IS NULL
+              AND (expires_at IS NULL OR expires_at > now())
+              AND (max_uses IS NULL OR uses < max_uses)
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Invite> redeemByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("SELECT i.tokenHash FROM Invite i")
+    List<String> findAllTokenHashes();
+
+    @Query("SELECT i.tokenHash FROM Invite i WHERE i.createdAt >= :since")
+    List<String> findTokenHashesCreatedSince(@Param("since") Instant since);
 }
@@ -0,0 +1,69 @@
+package com.paula.pokerplanning_server.domain.repository;
+
+import com.paula.pokerplanning_server.domain.model.RoomCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RoomCodeRepository extends JpaRepository<RoomCode, String> {
+
+    long countByInUseFalse();
+
+    /**
+     * Takes the oldest available code from the pool. Concurrent claims skip each
+     * other's locked rows instead of waiting.
+     */
+    @Query(value = """
+            UPDATE room_codes SET in_use = TRUE
+            WHERE code = (
+                SELECT code FROM room_codes
+                WHERE NOT in_use AND available_at <= now()
+                ORDER BY available_at
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<RoomCode> claimAvailable();
+
+    /**
+     * Registers a code as in use unless it was ever handed out before.
+     */
+    @Query(value = """
+            INSERT INTO room_codes (code, in_use, available_at) VALUES (:code, TRUE, now())
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<RoomCode> reserve(@Param("code") String code);
+
+    /**
+     * Adds comma-separated codes to the pool; codes already registered are skipped.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO room_codes (code, in_use, available_at)
+            SELECT c, FALSE, now() FROM unnest(string_to_array(:codes, ',')) AS c
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int addAvailable(@Param("codes") String codes);
+
+    /**
+     * Detaches the codes of rooms closed before closedBefore and returns them to the pool.
+     */
+    @Modifying
+    @Query(value = """
+            WITH released AS (
+                UPDATE rooms SET code = NULL
+                WHERE id IN (
+                    SELECT id FROM rooms
+                    WHERE status = 'CLOSED' AND code IS NOT NULL AND closed_at < :closedBefore
+                    LIMIT :batchSize)
+                RETURNING code)
+            UPDATE room_codes SET in_use = FALSE, available_at = now()
+            WHERE code IN (SELECT code FROM released)
+            """, nativeQuery = true)
+    int recycleClosedBefore(@Param("closedBefore") Instant closedBefore, @Param("batchSize") int batchSize);
+}
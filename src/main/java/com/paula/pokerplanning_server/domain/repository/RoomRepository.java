@@ -3,14 +3,99 @@ package com.paula.pokerplanning_server.domain.repository;
 import com.paula.pokerplanning_server.domain.model.Room;
 import com.paula.pokerplanning_server.domain.model.RoomStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RoomRepository extends JpaRepository<Room, UUID> {
     Optional<Room> findByCode(String code);
-    boolean existsByCode(String code);
     List<Room> findByCreatorUserIdAndStatus(UUID userId, RoomStatus status);
     List<Room> findByCreatorGuestId(String guestId);
+
+    @Modifying
+    @Query("UPDATE Room r SET r.creatorUserId = :userId, r.creatorGuestId = NULL WHERE r.creatorGuestId = :guestId")
+    int reassignCreatorGuest(@Param("guestId") String guestId, @Param("userId") UUID userId);
+
+    @Query("SELECT r.code FROM Room r WHERE r.status <> :status AND r.code IS NOT NULL")
+    List<String> findCodesByStatusNot(@Param("status") RoomStatus status);
+
+    @Query("SELECT r.code FROM Room r WHERE r.createdAt >= :since AND r.code IS NOT NULL")
+    List<String> findCodesCreatedSince(@Param("since") Instant since);
+
+    /**
+     * Closes up to batchSize active rooms that have seen no join, story, round or vote
+     * since idleSince, oldest first. Rooms locked by a concurrent run are skipped.
+     *
+     * @return ids of the rooms closed
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE rooms SET status = 'CLOSED', closed_at = now()
+            WHERE id IN (
+                SELECT r.id FROM rooms r
+                WHERE r.status = 'ACTIVE' AND r.created_at < :idleSince
+                  AND NOT EXISTS (SELECT 1 FROM participants p
+                                  WHERE p.room_id = r.id AND p.joined_at >= :idleSince)
+                  AND NOT EXISTS (SELECT 1 FROM stories s
+                                  WHERE s.room_id = r.id AND s.created_at >= :idleSince)
+                  AND NOT EXISTS (SELECT 1 FROM rounds ro
+                                  WHERE ro.room_id = r.id
+                                    AND GREATEST(ro.started_at, ro.revealed_at, ro.finalized_at) >= :idleSince)
+                  AND NOT EXISTS (SELECT 1 FROM rounds ro
+                                  JOIN votes v ON v.round_id = ro.id AND v.round_started_at = ro.started_at
+                                  WHERE ro.room_id = r.id AND v.created_at >= :idleSince)
+                ORDER BY r.created_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> closeIdleSince(@Param("idleSince") Instant idleSince, @Param("batchSize") int batchSize);
+
+    /**
+     * Moves up to batchSize rooms closed before closedBefore into room_archives, one JSON
+     * document per room, and deletes them with everything in them. Codes still attached
+     * are returned to the pool, available once the quarantine since closing is over.
+     *
+     * @return number of rooms archived
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH batch AS (
+                SELECT id FROM rooms
+                WHERE status = 'CLOSED' AND closed_at < :closedBefore
+                ORDER BY closed_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED),
+            archived AS (
+                INSERT INTO room_archives (room_id, name, created_at, closed_at, data)
+                SELECT r.id, r.name, r.created_at, r.closed_at, jsonb_build_object(
+                    'room', to_jsonb(r),
+                    'participants', (SELECT COALESCE(jsonb_agg(to_jsonb(p) ORDER BY p.joined_at), jsonb_build_array())
+                                     FROM participants p WHERE p.room_id = r.id),
+                    'stories', (SELECT COALESCE(jsonb_agg(to_jsonb(s) ORDER BY s.order_index), jsonb_build_array())
+                                FROM stories s WHERE s.room_id = r.id),
+                    'rounds', (SELECT COALESCE(jsonb_agg(to_jsonb(ro) ORDER BY ro.started_at), jsonb_build_array())
+                               FROM rounds ro WHERE ro.room_id = r.id),
+                    'votes', (SELECT COALESCE(jsonb_agg(to_jsonb(v)), jsonb_build_array())
+                              FROM votes v JOIN rounds ro ON ro.id = v.round_id AND ro.started_at = v.round_started_at
+                              WHERE ro.room_id = r.id))
+                FROM rooms r JOIN batch b ON b.id = r.id
+                RETURNING room_id),
+            released AS (
+                UPDATE room_codes c
+                SET in_use = FALSE,
+                    available_at = GREATEST(now(), r.closed_at + :quarantineDays * INTERVAL '1 day')
+                FROM rooms r JOIN archived a ON a.room_id = r.id
+                WHERE c.code = r.code)
+            DELETE FROM rooms WHERE id IN (SELECT room_id FROM archived)
+            """, nativeQuery = true)
+    int archiveClosedBefore(@Param("closedBefore") Instant closedBefore, @Param("batchSize") int batchSize,
+                            @Param("quarantineDays") long quarantineDays);
 }
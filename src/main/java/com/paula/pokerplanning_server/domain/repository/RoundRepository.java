@@ -1,14 +1,30 @@
 package com.paula.pokerplanning_server.domain.repository;
 
 import com.paula.pokerplanning_server.domain.model.Round;
-import com.paula.pokerplanning_server.domain.model.RoundStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RoundRepository extends JpaRepository<Round, UUID> {
-    Optional<Round> findByRoomIdAndStatusIn(UUID roomId, List<RoundStatus> statuses);
+
+    /**
+     * A room's active round is always its latest one, whose start is kept on the room
+     * (rooms.latest_round_started_at). Matching it exactly lets Postgres prune the scan to
+     * that round's partition once the subquery has run, in the same round trip.
+     */
+    String ACTIVE_ROUND_SQL = """
+            SELECT * FROM rounds
+            WHERE room_id = :roomId
+              AND started_at = (SELECT latest_round_started_at FROM rooms WHERE id = :roomId)
+              AND status IN ('VOTING', 'REVEALED')
+            """;
+
+    @Query(value = ACTIVE_ROUND_SQL, nativeQuery = true)
+    Optional<Round> findActiveByRoomId(@Param("roomId") UUID roomId);
+
     List<Round> findByStoryIdOrderByStartedAtAsc(UUID storyId);
 }
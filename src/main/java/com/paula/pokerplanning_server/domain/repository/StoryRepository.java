@@ -1,7 +1,11 @@
 package com.paula.pokerplanning_server.domain.repository;
 
 import com.paula.pokerplanning_server.domain.model.Story;
+import com.paula.pokerplanning_server.domain.model.StoryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
@@ -9,4 +13,11 @@ import java.util.UUID;
 public interface StoryRepository extends JpaRepository<Story, UUID> {
     List<Story> findByRoomIdOrderByOrderIndexAsc(UUID roomId);
     int countByRoomId(UUID roomId);
+
+    @Modifying
+    @Query("UPDATE Story s SET s.status = :to WHERE s.roomId = :roomId AND s.status = :from AND s.id <> :exceptId")
+    int updateStatusInRoom(@Param("roomId") UUID roomId,
+                           @Param("from") StoryStatus from,
+                           @Param("to") StoryStatus to,
+                           @Param("exceptId") UUID exceptId);
 }
@@ -6,16 +6,21 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Votes are partitioned by their round's start time; every lookup passes it so only the
+ * round's partition is scanned.
+ */
 public interface VoteRepository extends JpaRepository<Vote, UUID> {
-    List<Vote> findByRoundId(UUID roundId);
-    Optional<Vote> findByRoundIdAndParticipantId(UUID roundId, UUID participantId);
-    boolean existsByRoundIdAndParticipantId(UUID roundId, UUID participantId);
+    List<Vote> findByRoundIdAndRoundStartedAt(UUID roundId, Instant roundStartedAt);
+    Optional<Vote> findByRoundIdAndRoundStartedAtAndParticipantId(UUID roundId, Instant roundStartedAt,
+                                                                  UUID participantId);
 
     @Modifying
-    @Query("DELETE FROM Vote v WHERE v.roundId = :roundId")
-    void deleteByRoundId(@Param("roundId") UUID roundId);
+    @Query("DELETE FROM Vote v WHERE v.roundId = :roundId AND v.roundStartedAt = :roundStartedAt")
+    void deleteByRound(@Param("roundId") UUID roundId, @Param("roundStartedAt") Instant roundStartedAt);
 }
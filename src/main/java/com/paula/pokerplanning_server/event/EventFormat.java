@@ -0,0 +1,59 @@
+package com.paula.pokerplanning_server.event;
+
+/**
+ * Wire encodings of room events. A client picks one with the event-format header on
+ * STOMP CONNECT; its subscriptions to /topic/rooms/{roomId}/events are then served from
+ * the format's destination, so each event is encoded once per format and room rather
+ * than once per session.
+ */
+public enum EventFormat {
+
+    JSON("json", ""),
+    /** CBOR with UUIDs as 16-byte binary. Needs binary WebSocket frames, so not over SockJS. */
+    CBOR("cbor", ".cbor");
+
+    public static final String CONNECT_HEADER = "event-format";
+    public static final String SESSION_ATTRIBUTE = "eventFormat";
+    /** Handshake attribute set when the transport carries binary frames. */
+    public static final String BINARY_FRAMES_ATTRIBUTE = "binaryFrames";
+
+    private final String headerValue;
+    private final String destinationSuffix;
+
+    EventFormat(String headerValue, String destinationSuffix) {
+        this.headerValue = headerValue;
+        this.destinationSuffix = destinationSuffix;
+    }
+
+    public String destinationSuffix() {
+        return destinationSuffix;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * Unknown or missing values fall back to JSON.
+     */
+    public static EventFormat fromHeader(String value) {
+        for (EventFormat format : values()) {
+            if (format.headerValue.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The format served on a destination, from its suffix.
+     */
+    public static EventFormat fromDestination(String destination) {
+        for (EventFormat format : values()) {
+            if (format.isBinary() && destination.endsWith(format.destinationSuffix)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
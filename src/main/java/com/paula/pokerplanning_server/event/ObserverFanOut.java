@@ -0,0 +1,285 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.domain.model.Room;
+import com.paula.pokerplanning_server.domain.model.RoundStatus;
+import com.paula.pokerplanning_server.domain.model.Vote;
+import com.paula.pokerplanning_server.event.RoomEventPayload.*;
+import com.paula.pokerplanning_server.security.RoomMembershipIndex;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttled event stream for observers at /topic/rooms/{roomId}/observers, with the
+ * same format suffixes as /events (e.g. observers.cbor for CBOR sessions).
+ *
+ * VOTE_CAST and membership events are folded into a ROOM_PROGRESS summary sent at most
+ * once per the room's observer interval; round, story, host and close events are
+ * forwarded as they arrive, after any pending summary. Rooms whose interval is 0 keep
+ * sending observers the full /events stream.
+ *
+ * State is per node and only kept for rooms with local subscribers.
+ */
+@Slf4j
+@Component
+public class ObserverFanOut {
+
+    public static final String OBSERVERS_SUFFIX = "/observers";
+
+    // Provider: the STOMP interceptor depends on this component, and the template on the interceptor
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final RoomMembershipIndex membershipIndex;
+    private final RoomStores roomStores;
+    private final ObjectWriter eventWriter;
+    private final ObjectWriter cborWriter;
+    private final int defaultIntervalMs;
+
+    // A stream is kept this long after a SUBSCRIBE asked for it, before the subscription is counted
+    private static final long SUBSCRIBE_GRACE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<UUID, RoomStream> streams = new ConcurrentHashMap<>();
+
+    private static final class RoomStream {
+        final int configuredMs;
+        final long intervalNanos;
+        final Set<UUID> voted = new LinkedHashSet<>();
+        int membershipChanges;
+        boolean pending;
+        long lastSentNanos;
+        // Refreshed under the map's lock for the room, see stream() and flushDue()
+        volatile long requestedNanos;
+
+        RoomStream(int configuredMs, int intervalMs) {
+            this.configuredMs = configuredMs;
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        }
+    }
+
+    public ObserverFanOut(ObjectProvider<SimpMessagingTemplate> messagingTemplate, ObjectMapper objectMapper,
+                          RoomMembershipIndex membershipIndex, RoomStores roomStores,
+                          @Value("${app.observers.default-update-interval-ms:1000}") int defaultIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.membershipIndex = membershipIndex;
+        this.roomStores = roomStores;
+        this.eventWriter = objectMapper.writerFor(RoomEvent.class);
+        this.cborWriter = CBORMapper.builder().addModule(new BlackbirdModule()).build().writerFor(RoomEvent.class);
+        this.defaultIntervalMs = defaultIntervalMs;
+    }
+
+    public static String topic(UUID roomId) {
+        return "/topic/rooms/" + roomId + OBSERVERS_SUFFIX;
+    }
+
+    public static String topic(UUID roomId, EventFormat format) {
+        return topic(roomId) + format.destinationSuffix();
+    }
+
+    /**
+     * Subscriptions on this node to the room's observer topics, in any format.
+     */
+    public int localSubscriptionCount(UUID roomId) {
+        int count = 0;
+        for (EventFormat format : EventFormat.values()) {
+            count += membershipIndex.localSubscriptionCount(topic(roomId, format));
+        }
+        return count;
+    }
+
+    /**
+     * Whether observers of the room should be moved from /events to the observer topic.
+     */
+    public boolean routesObservers(UUID roomId) {
+        return stream(roomId).configuredMs > 0;
+    }
+
+    /**
+     * Starts keeping the room's progress for a direct subscription to the observer topic.
+     */
+    public void track(UUID roomId) {
+        stream(roomId);
+    }
+
+    /**
+     * Folds or forwards an event delivered to this node. {@code json} is the event as
+     * broadcast on /events.
+     */
+    public void onEvent(RoomEvent event, byte[] json) {
+        UUID roomId = event.roomId();
+        RoomStream stream = streams.get(roomId);
+        if (stream == null) {
+            return;
+        }
+        if (event.payload() instanceof RoomClosed || event.payload() instanceof RoomPromoted) {
+            streams.remove(roomId);
+        }
+        boolean observers = localSubscriptionCount(roomId) > 0;
+        synchronized (stream) {
+            if (fold(stream, event.payload())) {
+                return;
+            }
+            if (observers) {
+                flush(roomId, stream);
+                send(event, json);
+            }
+            // After the flush, so the last summary of a round still reports its votes
+            if (event.payload() instanceof RoundStarted || event.payload() instanceof RoundReset) {
+                stream.voted.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends pending summaries whose room interval has elapsed, and drops the state of
+     * rooms without local subscribers. A SUBSCRIBE asks for the stream before its
+     * subscription is registered, so a stream asked for within the grace period is kept.
+     */
+    @Scheduled(fixedDelayString = "${app.observers.tick-ms:100}")
+    public void flushDue() {
+        long now = System.nanoTime();
+        streams.forEach((roomId, stream) -> {
+            if (membershipIndex.localSubscriptionCount(roomId) == 0) {
+                // Under the same per-room lock as stream(), so a concurrent SUBSCRIBE either
+                // refreshes the stream first or creates a new one after it was dropped
+                streams.computeIfPresent(roomId, (id, current) ->
+                        current == stream && now - current.requestedNanos > SUBSCRIBE_GRACE_NANOS ? null : current);
+                return;
+            }
+            if (localSubscriptionCount(roomId) == 0) {
+                return;
+            }
+            synchronized (stream) {
+                if (stream.pending && now - stream.lastSentNanos >= stream.intervalNanos) {
+                    flush(roomId, stream);
+                }
+            }
+        });
+    }
+
+    // ─── Internals ────────────────────────────────────────────────────────────
+
+    /**
+     * Applies a summarized event to the room's progress. Caller holds the stream's lock.
+     *
+     * @return true if the event is only reported through the summary
+     */
+    private boolean fold(RoomStream stream, RoomEventPayload payload) {
+        switch (payload) {
+            case VoteCast v -> {
+                if (v.hasVoted() ? stream.voted.add(v.participantId()) : stream.voted.remove(v.participantId())) {
+                    stream.pending = true;
+                }
+                return true;
+            }
+            case ParticipantJoined p -> {
+                stream.membershipChanges++;
+                stream.pending = true;
+                return true;
+            }
+            case ParticipantLeft p -> {
+                stream.membershipChanges++;
+                stream.pending = true;
+                return true;
+            }
+            case ParticipantKicked p -> {
+                stream.voted.remove(p.participantId());
+                stream.membershipChanges++;
+                stream.pending = true;
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private void flush(UUID roomId, RoomStream stream) {
+        if (!stream.pending) {
+            return;
+        }
+        RoomProgress progress = new RoomProgress(
+                stream.voted.size(), List.copyOf(stream.voted), stream.membershipChanges);
+        send(RoomEvent.of(roomId, progress), null);
+        stream.pending = false;
+        stream.membershipChanges = 0;
+        stream.lastSentNanos = System.nanoTime();
+    }
+
+    /**
+     * Encodes the event once per format that has observers on this node.
+     *
+     * @param json the event as already encoded for /events, or null to encode it here
+     */
+    private void send(RoomEvent event, byte[] json) {
+        for (EventFormat format : EventFormat.values()) {
+            String destination = topic(event.roomId(), format);
+            if (membershipIndex.localSubscriptionCount(destination) == 0) {
+                continue;
+            }
+            Message<byte[]> message = format.isBinary()
+                    ? RoomEventDispatcher.encoded(cborWriter.writeValueAsBytes(event), MimeTypeUtils.APPLICATION_OCTET_STREAM)
+                    : RoomEventDispatcher.encoded(json != null ? json : eventWriter.writeValueAsBytes(event),
+                            MimeTypeUtils.APPLICATION_JSON);
+            messagingTemplate.getObject().send(destination, message);
+        }
+    }
+
+    /**
+     * The room's stream, created if needed. The room is loaded outside the map, so its
+     * DB or Redis reads never hold the map's lock; of two concurrent loads the first one
+     * installed wins.
+     */
+    private RoomStream stream(UUID roomId) {
+        while (true) {
+            RoomStream stream = streams.computeIfPresent(roomId, (id, current) -> {
+                current.requestedNanos = System.nanoTime();
+                return current;
+            });
+            if (stream != null) {
+                return stream;
+            }
+            RoomStream loaded = load(roomId);
+            loaded.requestedNanos = System.nanoTime();
+            if (streams.putIfAbsent(roomId, loaded) == null) {
+                return loaded;
+            }
+            // Another thread installed one first; refresh that one on the next pass
+        }
+    }
+
+    // Reads the room's interval and seeds the votes of a round already in progress
+    private RoomStream load(UUID roomId) {
+        RoomStore store = roomStores.of(roomId);
+        Optional<Room> room = store.findRoom(roomId);
+        int configured = room
+                .map(r -> r.getSettings().getObserverUpdateIntervalMs())
+                .orElse(defaultIntervalMs);
+        RoomStream stream = new RoomStream(configured, configured > 0 ? configured : defaultIntervalMs);
+        store.findActiveRound(roomId)
+                .filter(round -> round.getStatus() == RoundStatus.VOTING)
+                .ifPresent(round -> store.findVotes(round).stream()
+                        .map(Vote::getParticipantId)
+                        .forEach(stream.voted::add));
+        log.debug("Observer stream for room {} at {} ms", roomId, configured);
+        return stream;
+    }
+}
@@ -1,25 +1,29 @@
 package com.paula.pokerplanning_server.event;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.paula.pokerplanning_server.domain.model.EventType;
 
 import java.time.Instant;
-import java.util.Map;
 import java.util.UUID;
 
 public record RoomEvent(
         String eventId,
-        EventType type,
         UUID roomId,
         Instant timestamp,
-        Map<String, Object> payload
+        // Written as the event's "type" property, e.g. {"type":"VOTE_CAST","payload":{...}}
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY, property = "type")
+        RoomEventPayload payload
 ) {
-    public static RoomEvent of(EventType type, UUID roomId, Map<String, Object> payload) {
+    public static RoomEvent of(UUID roomId, RoomEventPayload payload) {
         return new RoomEvent(
                 UUID.randomUUID().toString(),
-                type,
                 roomId,
                 Instant.now(),
                 payload
         );
     }
+
+    public EventType type() {
+        return payload.type();
+    }
 }
@@ -0,0 +1,130 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.diagnostics.EventFanOutEvent;
+import com.paula.pokerplanning_server.diagnostics.RoomLoadTracker;
+import com.paula.pokerplanning_server.security.RoomMembershipIndex;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Delivers room events received from the event transport to the STOMP clients
+ * connected to this node.
+ */
+@Slf4j
+@Component
+public class RoomEventDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomMembershipIndex membershipIndex;
+    private final RoomEventMetrics metrics;
+    private final RoomLoadTracker roomLoadTracker;
+    private final ObserverFanOut observerFanOut;
+    private final ObjectReader eventReader;
+    private final ObjectWriter cborWriter;
+
+    public RoomEventDispatcher(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                               RoomMembershipIndex membershipIndex, RoomEventMetrics metrics,
+                               RoomLoadTracker roomLoadTracker, ObserverFanOut observerFanOut) {
+        this.messagingTemplate = messagingTemplate;
+        this.membershipIndex = membershipIndex;
+        this.metrics = metrics;
+        this.roomLoadTracker = roomLoadTracker;
+        this.observerFanOut = observerFanOut;
+        this.eventReader = objectMapper.readerFor(RoomEvent.class);
+        this.cborWriter = CBORMapper.builder().addModule(new BlackbirdModule()).build().writerFor(RoomEvent.class);
+    }
+
+    /**
+     * Broadcasts a JSON-serialized RoomEvent to /topic/rooms/{roomId}/events, and in CBOR
+     * to /topic/rooms/{roomId}/events.cbor when sessions on this node negotiated it.
+     * Observers moved to the throttled stream get it through {@link ObserverFanOut}.
+     */
+    public void dispatch(String message) {
+        EventFanOutEvent jfrEvent = new EventFanOutEvent();
+        jfrEvent.begin();
+        try {
+            long start = System.nanoTime();
+            RoomEvent event = eventReader.readValue(message);
+            long decoded = System.nanoTime();
+            String topic = "/topic/rooms/" + event.roomId() + "/events";
+            byte[] json = message.getBytes(StandardCharsets.UTF_8);
+            messagingTemplate.send(topic, encoded(json, MimeTypeUtils.APPLICATION_JSON));
+            metrics.encoded(EventFormat.JSON, json.length);
+            int cborBytes = sendCbor(event, topic);
+            observerFanOut.onEvent(event, json);
+            metrics.dispatched(event, decoded - start, System.nanoTime() - decoded);
+            int fanOut = recordLoad(event, topic, json.length, cborBytes);
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.roomId = event.roomId().toString();
+                jfrEvent.eventType = event.type().name();
+                jfrEvent.fanOut = fanOut;
+                jfrEvent.bytes = json.length;
+                jfrEvent.lag = event.timestamp() != null
+                        ? Math.max(0, System.currentTimeMillis() - event.timestamp().toEpochMilli()) : 0;
+                jfrEvent.commit();
+            }
+            log.debug("Broadcast event {} to {}", event.type(), topic);
+            // After the broadcast, so a kicked participant still sees PARTICIPANT_KICKED
+            membershipIndex.onEvent(event);
+        } catch (Exception e) {
+            metrics.dispatchFailed();
+            log.error("Failed to process room event: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encodes the event once for all CBOR subscribers of the room on this node, if any.
+     *
+     * @return the encoded size, 0 when nothing was sent
+     */
+    private int sendCbor(RoomEvent event, String topic) {
+        if (membershipIndex.localSubscriptionCount(topic + EventFormat.CBOR.destinationSuffix()) == 0) {
+            return 0;
+        }
+        byte[] cbor = cborWriter.writeValueAsBytes(event);
+        // STOMP sends octet-stream bodies as binary WebSocket frames; the client knows the
+        // encoding from its CONNECT
+        messagingTemplate.send(topic + EventFormat.CBOR.destinationSuffix(),
+                encoded(cbor, MimeTypeUtils.APPLICATION_OCTET_STREAM));
+        metrics.encoded(EventFormat.CBOR, cbor.length);
+        return cbor.length;
+    }
+
+    /**
+     * Already-encoded bytes go to the broker as is, so the event is not serialized again.
+     */
+    static Message<byte[]> encoded(byte[] body, MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    // Observers on the throttled stream are left out; their summaries are not per event
+    private int recordLoad(RoomEvent event, String topic, int jsonBytes, int cborBytes) {
+        int subscribers = membershipIndex.localSubscriptionCount(event.roomId())
+                - observerFanOut.localSubscriptionCount(event.roomId());
+        int cborSubscribers = cborBytes > 0
+                ? membershipIndex.localSubscriptionCount(topic + EventFormat.CBOR.destinationSuffix()) : 0;
+        roomLoadTracker.record(event.roomId(), RoomLoadTracker.Metric.EVENTS, 1);
+        roomLoadTracker.record(event.roomId(), RoomLoadTracker.Metric.FAN_OUT_FRAMES, subscribers);
+        roomLoadTracker.record(event.roomId(), RoomLoadTracker.Metric.FAN_OUT_BYTES,
+                (long) jsonBytes * (subscribers - cborSubscribers) + (long) cborBytes * cborSubscribers);
+        return subscribers;
+    }
+}
@@ -0,0 +1,129 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.domain.model.EventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the room event pipeline, from EventPublisher on the writing node to
+ * the STOMP broker on each receiving node.
+ *
+ * Tags are limited to event type, transport and outcome; room ids are never used
+ * as tags. Meters are created up front per EventType so the hot path does no
+ * registry lookups.
+ */
+@Component
+public class RoomEventMetrics {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Map<EventType, Timer> serialize = new EnumMap<>(EventType.class);
+    private final Map<EventType, Timer> send = new EnumMap<>(EventType.class);
+    private final Map<EventType, Counter> published = new EnumMap<>(EventType.class);
+    private final Map<EventType, Counter> publishFailed = new EnumMap<>(EventType.class);
+    private final Map<EventType, Timer> decode = new EnumMap<>(EventType.class);
+    private final Map<EventType, Timer> brokerSend = new EnumMap<>(EventType.class);
+    private final Map<EventType, Counter> delivered = new EnumMap<>(EventType.class);
+    private final Map<EventType, Timer> lag = new EnumMap<>(EventType.class);
+    private final Map<EventFormat, DistributionSummary> encodedBytes = new EnumMap<>(EventFormat.class);
+    private final Counter dispatchFailed;
+    private final String transport;
+
+    public RoomEventMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${app.events.transport:redis}") String transport) {
+        this.transport = transport;
+        for (EventType type : EventType.values()) {
+            String t = type.name();
+            serialize.put(type, Timer.builder("room.events.publish.serialize")
+                    .description("Time to serialize a room event")
+                    .tags("type", t)
+                    .register(meterRegistry));
+            send.put(type, Timer.builder("room.events.publish.send")
+                    .description("Time to hand a serialized event to the transport")
+                    .tags("type", t, "transport", transport)
+                    .register(meterRegistry));
+            published.put(type, Counter.builder("room.events.published")
+                    .tags("type", t, "transport", transport, "outcome", "success")
+                    .register(meterRegistry));
+            publishFailed.put(type, Counter.builder("room.events.published")
+                    .tags("type", t, "transport", transport, "outcome", "failure")
+                    .register(meterRegistry));
+            decode.put(type, Timer.builder("room.events.dispatch.decode")
+                    .description("Time to decode an event received from the transport")
+                    .tags("type", t)
+                    .register(meterRegistry));
+            brokerSend.put(type, Timer.builder("room.events.dispatch.broker.send")
+                    .description("Time to hand an event to the STOMP broker")
+                    .tags("type", t)
+                    .register(meterRegistry));
+            delivered.put(type, Counter.builder("room.events.dispatched")
+                    .tags("type", t, "transport", transport, "outcome", "success")
+                    .register(meterRegistry));
+            lag.put(type, Timer.builder("room.events.lag")
+                    .description("From event creation on the publishing node to broker send on this node")
+                    .tags("type", t, "transport", transport)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+        for (EventFormat format : EventFormat.values()) {
+            encodedBytes.put(format, DistributionSummary.builder("room.events.encoded.bytes")
+                    .description("Size of an event as sent to the broker, once per format and room")
+                    .baseUnit("bytes")
+                    .tags("format", format.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.dispatchFailed = Counter.builder("room.events.dispatched")
+                .tags("type", UNKNOWN, "transport", transport, "outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    public String transport() {
+        return transport;
+    }
+
+    public void published(EventType type, long serializeNanos, long sendNanos) {
+        serialize.get(type).record(serializeNanos, TimeUnit.NANOSECONDS);
+        send.get(type).record(sendNanos, TimeUnit.NANOSECONDS);
+        published.get(type).increment();
+    }
+
+    public void publishFailed(EventType type) {
+        publishFailed.get(type).increment();
+    }
+
+    /**
+     * Records a delivered event. Lag uses the publisher's clock, so skew between
+     * nodes shows up in it; negative values are clamped to zero.
+     */
+    public void dispatched(RoomEvent event, long decodeNanos, long brokerSendNanos) {
+        EventType type = event.type();
+        decode.get(type).record(decodeNanos, TimeUnit.NANOSECONDS);
+        brokerSend.get(type).record(brokerSendNanos, TimeUnit.NANOSECONDS);
+        delivered.get(type).increment();
+        if (event.timestamp() != null) {
+            long lagMs = Math.max(0, Duration.between(event.timestamp(), Instant.now()).toMillis());
+            lag.get(type).record(lagMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void encoded(EventFormat format, int bytes) {
+        encodedBytes.get(format).record(bytes);
+    }
+
+    public void dispatchFailed() {
+        dispatchFailed.increment();
+    }
+}
@@ -0,0 +1,126 @@
+package com.paula.pokerplanning_server.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.paula.pokerplanning_server.domain.model.EventType;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.domain.model.RoundStatus;
+import com.paula.pokerplanning_server.web.dto.StoryResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payload of a {@link RoomEvent}, one record per {@link EventType}. The type name is
+ * written next to the payload as the event's "type" property, so the JSON clients
+ * receive is the same as with the former untyped map.
+ */
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = RoomEventPayload.ParticipantJoined.class, name = "PARTICIPANT_JOINED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.ParticipantLeft.class, name = "PARTICIPANT_LEFT"),
+        @JsonSubTypes.Type(value = RoomEventPayload.ParticipantKicked.class, name = "PARTICIPANT_KICKED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.StoryCreated.class, name = "STORY_CREATED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.StoryUpdated.class, name = "STORY_UPDATED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.StoryDeleted.class, name = "STORY_DELETED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.StoryReordered.class, name = "STORY_REORDERED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.StorySelected.class, name = "STORY_SELECTED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoundStarted.class, name = "ROUND_STARTED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.VoteCast.class, name = "VOTE_CAST"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoundRevealed.class, name = "ROUND_REVEALED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoundReset.class, name = "ROUND_RESET"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoundFinalized.class, name = "ROUND_FINALIZED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.HostTransferred.class, name = "HOST_TRANSFERRED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoomClosed.class, name = "ROOM_CLOSED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoomPromoted.class, name = "ROOM_PROMOTED"),
+        @JsonSubTypes.Type(value = RoomEventPayload.RoomProgress.class, name = "ROOM_PROGRESS")
+})
+public sealed interface RoomEventPayload {
+
+    EventType type();
+
+    // ─── Participants ───
+
+    record ParticipantJoined(UUID participantId, String displayName, ParticipantRole role) implements RoomEventPayload {
+        public EventType type() { return EventType.PARTICIPANT_JOINED; }
+    }
+
+    record ParticipantLeft(UUID participantId) implements RoomEventPayload {
+        public EventType type() { return EventType.PARTICIPANT_LEFT; }
+    }
+
+    record ParticipantKicked(UUID participantId) implements RoomEventPayload {
+        public EventType type() { return EventType.PARTICIPANT_KICKED; }
+    }
+
+    record HostTransferred(UUID newHostParticipantId, UUID previousHostParticipantId) implements RoomEventPayload {
+        public EventType type() { return EventType.HOST_TRANSFERRED; }
+    }
+
+    // Serialized as {}; the annotation lets Jackson write a bean without properties
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RoomClosed() implements RoomEventPayload {
+        public EventType type() { return EventType.ROOM_CLOSED; }
+    }
+
+    // Sent on an ephemeral room copied to Postgres; members rejoin the new room
+    record RoomPromoted(UUID roomId, String code) implements RoomEventPayload {
+        public EventType type() { return EventType.ROOM_PROMOTED; }
+    }
+
+    // ─── Stories ───
+
+    record StoryCreated(StoryResponse story) implements RoomEventPayload {
+        public EventType type() { return EventType.STORY_CREATED; }
+    }
+
+    record StoryUpdated(StoryResponse story) implements RoomEventPayload {
+        public EventType type() { return EventType.STORY_UPDATED; }
+    }
+
+    record StoryDeleted(UUID storyId) implements RoomEventPayload {
+        public EventType type() { return EventType.STORY_DELETED; }
+    }
+
+    record StoryReordered(List<UUID> storyIds) implements RoomEventPayload {
+        public EventType type() { return EventType.STORY_REORDERED; }
+    }
+
+    record StorySelected(UUID storyId) implements RoomEventPayload {
+        public EventType type() { return EventType.STORY_SELECTED; }
+    }
+
+    // ─── Rounds ───
+
+    record RoundStarted(UUID roundId, UUID storyId, RoundStatus status) implements RoomEventPayload {
+        public EventType type() { return EventType.ROUND_STARTED; }
+    }
+
+    record VoteCast(UUID participantId, boolean hasVoted) implements RoomEventPayload {
+        public EventType type() { return EventType.VOTE_CAST; }
+    }
+
+    record RoundRevealed(UUID roundId, List<RevealedVote> votes) implements RoomEventPayload {
+        public EventType type() { return EventType.ROUND_REVEALED; }
+    }
+
+    record RevealedVote(UUID participantId, String value) {}
+
+    record RoundReset(UUID roundId) implements RoomEventPayload {
+        public EventType type() { return EventType.ROUND_RESET; }
+    }
+
+    record RoundFinalized(UUID roundId, UUID storyId, String finalEstimate) implements RoomEventPayload {
+        public EventType type() { return EventType.ROUND_FINALIZED; }
+    }
+
+    // ─── Observers ───
+
+    /**
+     * Coalesced summary sent on the observer topic in place of individual VOTE_CAST and
+     * membership events. Never published through the event transport.
+     */
+    record RoomProgress(int votedCount, List<UUID> votedParticipantIds, int membershipChanges)
+            implements RoomEventPayload {
+        public EventType type() { return EventType.ROOM_PROGRESS; }
+    }
+}
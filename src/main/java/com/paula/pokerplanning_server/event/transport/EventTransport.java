@@ -0,0 +1,17 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import java.util.UUID;
+
+/**
+ * Fans room events out to every node. Each node hands received messages to
+ * {@link com.paula.pokerplanning_server.event.RoomEventDispatcher}.
+ *
+ * Selected with app.events.transport: redis (default), redis-streams, postgres or local.
+ */
+public interface EventTransport {
+
+    /**
+     * Sends a JSON-serialized RoomEvent for the given room.
+     */
+    void send(UUID roomId, String message);
+}
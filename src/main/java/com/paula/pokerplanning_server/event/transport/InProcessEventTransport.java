@@ -0,0 +1,24 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Single-node mode: events go straight to the local dispatcher, no broker needed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "local")
+public class InProcessEventTransport implements EventTransport {
+
+    private final RoomEventDispatcher dispatcher;
+
+    @Override
+    public void send(UUID roomId, String message) {
+        dispatcher.dispatch(message);
+    }
+}
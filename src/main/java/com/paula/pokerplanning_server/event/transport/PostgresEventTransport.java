@@ -0,0 +1,241 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Postgres LISTEN/NOTIFY transport for deployments without Redis.
+ *
+ * Both directions use dedicated connections outside the Hikari pool: LISTEN needs a
+ * session that stays open, and the sender keeps one so that notifications are not
+ * queued behind request traffic. Outgoing messages are batched into a single
+ * {@code pg_notify} statement. Payloads above the 8000-byte NOTIFY limit are stored
+ * in room_event_payloads and sent by reference. Both loops reconnect with backoff.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "postgres")
+public class PostgresEventTransport implements EventTransport, SmartLifecycle {
+
+    static final String CHANNEL = "room_events";
+    static final String REF_PREFIX = "ref:";
+    // NOTIFY rejects payloads of 8000 bytes or more
+    static final int MAX_INLINE_BYTES = 7900;
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long PAYLOAD_RETENTION_MS = 5 * 60_000;
+
+    private final RoomEventDispatcher dispatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int batchSize;
+    private final BlockingQueue<String> outbox;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private Thread senderThread;
+
+    public PostgresEventTransport(
+            RoomEventDispatcher dispatcher,
+            JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.events.postgres.batch-size:100}") int batchSize,
+            @Value("${app.events.postgres.queue-capacity:10000}") int queueCapacity) {
+        this.dispatcher = dispatcher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.batchSize = batchSize;
+        this.outbox = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void send(UUID roomId, String message) {
+        if (!outbox.offer(message)) {
+            log.error("Postgres event outbox full, dropping event for room {}", roomId);
+        }
+    }
+
+    // ─── Lifecycle ────────────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform().name("pg-events-listener").daemon().start(this::listenLoop);
+        senderThread = Thread.ofPlatform().name("pg-events-sender").daemon().start(this::sendLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+        senderThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ─── Receiving ────────────────────────────────────────────────────────────
+
+    private void listenLoop() {
+        long backoff = 500;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for room events on Postgres channel {}", CHANNEL);
+                backoff = 500;
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notifications) {
+                        // One bad event must not take the listener thread down with it
+                        try {
+                            deliver(n.getParameter());
+                        } catch (RuntimeException e) {
+                            log.error("Failed to deliver room event from Postgres: {}", e.getMessage(), e);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Postgres event listener connection lost, reconnecting in {} ms: {}", backoff, e.getMessage());
+                backoff = sleepBackoff(backoff);
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        if (payload.startsWith(REF_PREFIX)) {
+            UUID id = UUID.fromString(payload.substring(REF_PREFIX.length()));
+            List<String> stored = jdbcTemplate.queryForList(
+                    "SELECT payload FROM room_event_payloads WHERE id = ?", String.class, id);
+            if (stored.isEmpty()) {
+                log.warn("Referenced room event payload {} no longer exists", id);
+                return;
+            }
+            payload = stored.get(0);
+        }
+        dispatcher.dispatch(payload);
+    }
+
+    // ─── Sending ──────────────────────────────────────────────────────────────
+
+    private void sendLoop() {
+        long backoff = 500;
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                backoff = 500;
+                long lastCleanup = System.currentTimeMillis();
+                while (running) {
+                    if (batch.isEmpty()) {
+                        String first = outbox.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                        if (first != null) {
+                            batch.add(first);
+                            outbox.drainTo(batch, batchSize - 1);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        notifyBatch(conn, batch);
+                        batch.clear();
+                    }
+                    if (System.currentTimeMillis() - lastCleanup > PAYLOAD_RETENTION_MS) {
+                        purgeStoredPayloads(conn);
+                        lastCleanup = System.currentTimeMillis();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                // The failed batch is kept and retried on the new connection
+                log.warn("Postgres event sender connection lost, reconnecting in {} ms: {}", backoff, e.getMessage());
+                backoff = sleepBackoff(backoff);
+            }
+        }
+    }
+
+    private void notifyBatch(Connection conn, List<String> batch) throws SQLException {
+        String[] payloads = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            String message = batch.get(i);
+            payloads[i] = message.getBytes(StandardCharsets.UTF_8).length > MAX_INLINE_BYTES
+                    ? REF_PREFIX + storePayload(conn, message)
+                    : message;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT pg_notify('" + CHANNEL + "', p) FROM unnest(?::text[]) AS p")) {
+            Array array = conn.createArrayOf("text", payloads);
+            ps.setArray(1, array);
+            ps.execute();
+            array.free();
+        }
+    }
+
+    private UUID storePayload(Connection conn, String message) throws SQLException {
+        UUID id = UUID.randomUUID();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO room_event_payloads (id, payload) VALUES (?, ?)")) {
+            ps.setObject(1, id);
+            ps.setString(2, message);
+            ps.executeUpdate();
+        }
+        return id;
+    }
+
+    private void purgeStoredPayloads(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM room_event_payloads WHERE created_at < NOW() - make_interval(secs => ?)")) {
+            ps.setLong(1, PAYLOAD_RETENTION_MS / 1000);
+            ps.executeUpdate();
+        }
+    }
+
+    private long sleepBackoff(long backoff) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MS);
+    }
+}
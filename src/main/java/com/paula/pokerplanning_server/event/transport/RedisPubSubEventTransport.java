@@ -0,0 +1,27 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Redis pub/sub on rooms:{roomId}. Received by RedisEventListener through the
+ * pattern subscription in RedisConfig.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "redis", matchIfMissing = true)
+public class RedisPubSubEventTransport implements EventTransport {
+
+    static final String CHANNEL_PREFIX = "rooms:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public void send(UUID roomId, String message) {
+        redisTemplate.convertAndSend(CHANNEL_PREFIX + roomId, message);
+    }
+}
@@ -0,0 +1,279 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Streams transport: an event log instead of fire-and-forget pub/sub.
+ *
+ * Events are appended with XADD to one of {@code shards} streams (rooms:stream:{n},
+ * chosen by room id) capped with MAXLEN ~. Appends are pipelined in batches; a batch
+ * that still fails after {@code max-append-attempts} is dropped and counted, so an
+ * outage does not hold back the events queued behind it forever. Each node reads all
+ * shards with XREAD from the last id it consumed, so a node whose Redis connection
+ * drops resumes where it stopped instead of losing events.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "redis-streams")
+public class RedisStreamEventTransport implements EventTransport, SmartLifecycle {
+
+    static final String STREAM_PREFIX = "rooms:stream:";
+    private static final byte[] FIELD_ROOM = "r".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIELD_EVENT = "e".getBytes(StandardCharsets.UTF_8);
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private record Pending(UUID roomId, String message) {}
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final RoomEventDispatcher dispatcher;
+    private final int shards;
+    private final long maxLen;
+    private final int batchSize;
+    private final int maxAppendAttempts;
+    private final Duration block;
+    private final BlockingQueue<Pending> outbox;
+    private final Map<String, String> lastIds = new ConcurrentHashMap<>();
+
+    private final Counter appended;
+    private final Counter consumed;
+    private final Counter dropped;
+    private final Timer consumerLag;
+
+    private volatile boolean running;
+    private volatile long lastConsumedLagMs;
+    private Thread readerThread;
+    private Thread writerThread;
+
+    public RedisStreamEventTransport(
+            RedisTemplate<String, String> redisTemplate,
+            RedisConnectionFactory connectionFactory,
+            RoomEventDispatcher dispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.streams.shards:16}") int shards,
+            @Value("${app.events.streams.max-len:10000}") long maxLen,
+            @Value("${app.events.streams.batch-size:100}") int batchSize,
+            @Value("${app.events.streams.max-append-attempts:5}") int maxAppendAttempts,
+            @Value("${app.events.streams.block-ms:2000}") long blockMs,
+            @Value("${app.events.streams.queue-capacity:10000}") int queueCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.dispatcher = dispatcher;
+        this.shards = shards;
+        this.maxLen = maxLen;
+        this.batchSize = batchSize;
+        this.maxAppendAttempts = maxAppendAttempts;
+        this.block = Duration.ofMillis(blockMs);
+        this.outbox = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.appended = Counter.builder("room.events.stream.appended").register(meterRegistry);
+        this.consumed = Counter.builder("room.events.stream.consumed").register(meterRegistry);
+        this.dropped = Counter.builder("room.events.stream.dropped")
+                .description("Events dropped because the outbox was full or their batch could not be appended")
+                .register(meterRegistry);
+        this.consumerLag = Timer.builder("room.events.stream.consumer.lag")
+                .description("Time between XADD on any node and XREAD on this node")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("room.events.stream.consumer.lag.last", this, t -> t.lastConsumedLagMs);
+        meterRegistry.gauge("room.events.stream.outbox.size", outbox, BlockingQueue::size);
+    }
+
+    @Override
+    public void send(UUID roomId, String message) {
+        if (!outbox.offer(new Pending(roomId, message))) {
+            log.error("Redis stream outbox full, dropping event for room {}", roomId);
+            dropped.increment();
+        }
+    }
+
+    String streamKey(UUID roomId) {
+        return STREAM_PREFIX + Math.floorMod(roomId.hashCode(), shards);
+    }
+
+    // ─── Lifecycle ────────────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("redis-stream-writer").daemon().start(this::writeLoop);
+        readerThread = Thread.ofPlatform().name("redis-stream-reader").daemon().start(this::readLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        writerThread.interrupt();
+        readerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ─── Writing ──────────────────────────────────────────────────────────────
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long backoff = 500;
+        int attempts = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Pending first = outbox.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    outbox.drainTo(batch, batchSize - 1);
+                }
+                appendPipelined(batch);
+                appended.increment(batch.size());
+                batch.clear();
+                backoff = 500;
+                attempts = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (++attempts >= maxAppendAttempts) {
+                    log.error("Redis stream append failed {} times, dropping {} events: {}",
+                            attempts, batch.size(), e.getMessage());
+                    dropped.increment(batch.size());
+                    batch.clear();
+                    attempts = 0;
+                } else {
+                    log.warn("Redis stream append failed, retrying in {} ms: {}", backoff, e.getMessage());
+                }
+                // Backoff only resets on success, so the next batch waits while Redis stays down
+                backoff = sleepBackoff(backoff);
+            }
+        }
+    }
+
+    private void appendPipelined(List<Pending> batch) {
+        XAddOptions options = XAddOptions.maxlen(maxLen).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Pending p : batch) {
+                Map<byte[], byte[]> fields = Map.of(
+                        FIELD_ROOM, p.roomId().toString().getBytes(StandardCharsets.UTF_8),
+                        FIELD_EVENT, p.message().getBytes(StandardCharsets.UTF_8));
+                connection.streamCommands().xAdd(
+                        MapRecord.create(streamKey(p.roomId()).getBytes(StandardCharsets.UTF_8), fields), options);
+            }
+            return null;
+        });
+    }
+
+    // ─── Reading ──────────────────────────────────────────────────────────────
+
+    private void readLoop() {
+        long backoff = 500;
+        while (running) {
+            // Blocking XREAD holds its connection, so the reader keeps one of its own
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                initPositions(connection);
+                backoff = 500;
+                while (running) {
+                    List<ByteRecord> records = connection.streamCommands().xRead(
+                            StreamReadOptions.empty().block(block).count(batchSize), offsets());
+                    if (records != null) {
+                        records.forEach(this::consume);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Redis stream reader failed, resuming from last ids in {} ms: {}", backoff, e.getMessage());
+                backoff = sleepBackoff(backoff);
+            }
+        }
+    }
+
+    /**
+     * On first start each shard is read from its current tail. After a reconnect the
+     * ids consumed so far are kept, so the reader catches up on what it missed.
+     */
+    private void initPositions(RedisConnection connection) {
+        for (int shard = 0; shard < shards; shard++) {
+            String key = STREAM_PREFIX + shard;
+            if (lastIds.containsKey(key)) {
+                continue;
+            }
+            List<ByteRecord> tail = connection.streamCommands().xRevRange(
+                    key.getBytes(StandardCharsets.UTF_8), Range.unbounded(), Limit.limit().count(1));
+            lastIds.put(key, tail == null || tail.isEmpty() ? "0-0" : tail.get(0).getId().getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamOffset<byte[]>[] offsets() {
+        return lastIds.entrySet().stream()
+                .map(e -> StreamOffset.create(e.getKey().getBytes(StandardCharsets.UTF_8),
+                        ReadOffset.from(e.getValue())))
+                .toArray(StreamOffset[]::new);
+    }
+
+    private void consume(ByteRecord record) {
+        RecordId id = record.getId();
+        lastIds.put(new String(record.getStream(), StandardCharsets.UTF_8), id.getValue());
+
+        Long appendedAt = id.getTimestamp();
+        if (appendedAt != null) {
+            lastConsumedLagMs = Math.max(0, System.currentTimeMillis() - appendedAt);
+            consumerLag.record(lastConsumedLagMs, TimeUnit.MILLISECONDS);
+        }
+        consumed.increment();
+
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (Arrays.equals(field.getKey(), FIELD_EVENT)) {
+                dispatcher.dispatch(new String(field.getValue(), StandardCharsets.UTF_8));
+                return;
+            }
+        }
+    }
+
+    private long sleepBackoff(long backoff) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MS);
+    }
+}
@@ -4,13 +4,24 @@ import org.springframework.http.HttpStatus;
 
 public class AppException extends RuntimeException {
     private final HttpStatus status;
+    // Sent as the Retry-After header when set
+    private final Long retryAfterSeconds;
 
     public AppException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    protected AppException(HttpStatus status, String message, Long retryAfterSeconds) {
         super(message);
         this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 
     public HttpStatus getStatus() {
         return status;
     }
+
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
 }
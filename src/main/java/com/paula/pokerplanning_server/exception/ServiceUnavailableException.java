@@ -0,0 +1,9 @@
+package com.paula.pokerplanning_server.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends AppException {
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,9 @@
+package com.paula.pokerplanning_server.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends AppException {
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message, retryAfterSeconds);
+    }
+}
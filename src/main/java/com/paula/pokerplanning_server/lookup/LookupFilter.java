@@ -0,0 +1,155 @@
+package com.paula.pokerplanning_server.lookup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "could this key exist?" for one kind of public lookup key, so a lookup
+ * that certainly misses is rejected without a DB query.
+ *
+ * Bloom filters cannot delete, so removals (closed rooms) only count towards an early
+ * rebuild; until then those keys still reach the DB. Until the first build, or if the
+ * filter has not been synced recently, everything passes.
+ */
+public class LookupFilter {
+
+    private static final int MIN_CAPACITY = 10_000;
+
+    private final double fpp;
+    private final long maxStalenessNanos;
+
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    private volatile long lastSyncNanos;
+    private volatile boolean rebuilding;
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    // Keys added while a rebuild is loading; replayed into the new filter
+    private final Set<String> addedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final Counter rejected;
+    private final Counter passed;
+    private final Counter falsePositives;
+
+    LookupFilter(String name, double fpp, long maxStalenessMs, MeterRegistry meterRegistry) {
+        this.fpp = fpp;
+        this.maxStalenessNanos = maxStalenessMs * 1_000_000;
+
+        this.rejected = Counter.builder("lookup.filter.checks")
+                .description("Lookups checked against the filter")
+                .tag("filter", name).tag("result", "rejected")
+                .register(meterRegistry);
+        this.passed = Counter.builder("lookup.filter.checks")
+                .description("Lookups checked against the filter")
+                .tag("filter", name).tag("result", "passed")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("lookup.filter.false.positives")
+                .description("Lookups the filter passed that then missed in the DB")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("lookup.filter.memory", this, f -> f.filter != null ? f.filter.sizeInBytes() : 0)
+                .description("Size of the filter's bit array")
+                .baseUnit("bytes")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("lookup.filter.entries", entries, AtomicLong::get)
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("lookup.filter.fpp.expected", this, f -> f.filter != null ? f.filter.expectedFpp() : 0)
+                .description("False-positive probability implied by the filter's fill")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("lookup.filter.fpp.observed", this, LookupFilter::observedFpp)
+                .description("False positives over all lookups for keys that did not exist")
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String key) {
+        BloomFilter f = filter;
+        if (f == null || System.nanoTime() - lastSyncNanos > maxStalenessNanos) {
+            return true;
+        }
+        if (f.mightContain(key)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void add(String key) {
+        if (rebuilding) {
+            addedDuringRebuild.add(key);
+        }
+        BloomFilter f = filter;
+        if (f != null) {
+            f.put(key);
+            entries.incrementAndGet();
+        }
+    }
+
+    /**
+     * A key stopped being valid. Counted towards the next rebuild.
+     */
+    public void removed() {
+        removals.incrementAndGet();
+    }
+
+    /**
+     * The filter passed a key that then was not found in the DB.
+     */
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    void addAll(Collection<String> keys) {
+        keys.forEach(this::add);
+    }
+
+    void synced() {
+        lastSyncNanos = System.nanoTime();
+    }
+
+    boolean needsRebuild() {
+        return filter == null
+                || entries.get() > capacity
+                || removals.get() > Math.max(1_000, entries.get() / 10);
+    }
+
+    void beginRebuild() {
+        addedDuringRebuild.clear();
+        rebuilding = true;
+    }
+
+    void finishRebuild(Collection<String> keys) {
+        long newCapacity = Math.max(MIN_CAPACITY, keys.size() * 2L);
+        BloomFilter f = BloomFilter.create(newCapacity, fpp);
+        keys.forEach(f::put);
+        capacity = newCapacity;
+        entries.set(keys.size());
+        removals.set(0);
+        filter = f;
+        addedDuringRebuild.forEach(this::add);
+        rebuilding = false;
+        addedDuringRebuild.clear();
+        synced();
+    }
+
+    void abortRebuild() {
+        rebuilding = false;
+        addedDuringRebuild.clear();
+    }
+
+    private double observedFpp() {
+        double fp = falsePositives.count();
+        double total = fp + rejected.count();
+        return total == 0 ? 0 : fp / total;
+    }
+}
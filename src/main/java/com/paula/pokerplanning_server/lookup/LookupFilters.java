@@ -0,0 +1,122 @@
+package com.paula.pokerplanning_server.lookup;
+
+import com.paula.pokerplanning_server.domain.model.RoomStatus;
+import com.paula.pokerplanning_server.domain.repository.InviteRepository;
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Negative-lookup filters for the public lookup keys: invite token hashes and
+ * active room codes.
+ *
+ * Built from the DB at startup and rebuilt periodically (or early, once enough keys
+ * were removed). Keys created on this node are added right away. Keys created on other
+ * nodes are picked up by a short-interval refresh that reads rows by created_at; a miss
+ * is answered from the filter as it stands and never queries the DB itself.
+ *
+ * Every stored invite is kept, whatever its state, so an expired or revoked one is
+ * still found and answered as such rather than as unknown.
+ */
+@Slf4j
+@Component
+public class LookupFilters {
+
+    // created_at is set before commit; look back far enough to see slow transactions
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(10);
+
+    private final InviteRepository inviteRepository;
+    private final RoomRepository roomRepository;
+    private final boolean enabled;
+
+    private final LookupFilter invites;
+    private final LookupFilter roomCodes;
+    private volatile Instant syncedUntil;
+
+    public LookupFilters(
+            InviteRepository inviteRepository,
+            RoomRepository roomRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.lookup-filter.enabled:true}") boolean enabled,
+            @Value("${app.lookup-filter.fpp:0.01}") double fpp,
+            @Value("${app.lookup-filter.max-staleness-ms:30000}") long maxStalenessMs) {
+        this.inviteRepository = inviteRepository;
+        this.roomRepository = roomRepository;
+        this.enabled = enabled;
+        this.invites = new LookupFilter("invite-tokens", fpp, maxStalenessMs, meterRegistry);
+        this.roomCodes = new LookupFilter("room-codes", fpp, maxStalenessMs, meterRegistry);
+    }
+
+    public LookupFilter invites() {
+        return invites;
+    }
+
+    public LookupFilter roomCodes() {
+        return roomCodes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Adds keys created since the last sync, on any node.
+     */
+    @Scheduled(fixedDelayString = "${app.lookup-filter.refresh-ms:1000}")
+    public void refresh() {
+        Instant since = syncedUntil;
+        if (!enabled || since == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            Instant from = since.minus(REFRESH_OVERLAP);
+            invites.addAll(inviteRepository.findTokenHashesCreatedSince(from));
+            roomCodes.addAll(roomRepository.findCodesCreatedSince(from));
+            invites.synced();
+            roomCodes.synced();
+            syncedUntil = now;
+        } catch (Exception e) {
+            // Filters fail open once max-staleness passes without a sync
+            log.warn("Lookup filter refresh failed: {}", e.getMessage());
+            return;
+        }
+        if (invites.needsRebuild() || roomCodes.needsRebuild()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lookup-filter.rebuild-ms:600000}",
+            initialDelayString = "${app.lookup-filter.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        invites.beginRebuild();
+        roomCodes.beginRebuild();
+        try {
+            List<String> tokenHashes = inviteRepository.findAllTokenHashes();
+            List<String> codes = roomRepository.findCodesByStatusNot(RoomStatus.CLOSED);
+            invites.finishRebuild(tokenHashes);
+            roomCodes.finishRebuild(codes);
+            syncedUntil = startedAt;
+            log.info("Rebuilt lookup filters: {} invite tokens, {} room codes in {} ms",
+                    tokenHashes.size(), codes.size(), Duration.between(startedAt, Instant.now()).toMillis());
+        } catch (Exception e) {
+            invites.abortRebuild();
+            roomCodes.abortRebuild();
+            log.warn("Lookup filter rebuild failed: {}", e.getMessage());
+        }
+    }
+}
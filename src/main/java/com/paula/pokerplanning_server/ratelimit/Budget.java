@@ -0,0 +1,15 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+/**
+ * Token bucket parameters: up to {@code capacity} requests in a burst,
+ * refilled at {@code refillPerSecond}.
+ */
+public record Budget(int capacity, double refillPerSecond) {
+
+    /**
+     * Time for an empty bucket to fill up again.
+     */
+    public long fullRefillMillis() {
+        return (long) Math.ceil(capacity * 1000 / refillPerSecond);
+    }
+}
@@ -0,0 +1,116 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets held in memory. Limits are per node, so with N instances behind a
+ * load balancer a client can get up to N times the budget.
+ *
+ * Buckets live in lock-striped LRU maps capped at {@code max-entries} in total. Each
+ * insert drops the least recently used bucket of its stripe if the stripe is over its
+ * share, or if that bucket has refilled completely and so carries no state; both are
+ * O(1) and need no sweep. An evicted actor starts again with a full bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LocalRateLimiter(@Value("${app.rate-limit.local.max-entries:100000}") int maxEntries) {
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, Budget budget) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        synchronized (stripe) {
+            long now = System.nanoTime();
+            stripe.now = now;
+            Bucket bucket = stripe.get(key);
+            if (bucket != null) {
+                return bucket.tryAcquire(budget, now);
+            }
+            // Inserted after taking its token, so the eviction check never sees it full
+            bucket = new Bucket(budget.capacity(), now);
+            long wait = bucket.tryAcquire(budget, now);
+            stripe.put(key, bucket);
+            return wait;
+        }
+    }
+
+    /**
+     * Number of buckets currently held.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // Access order: the eldest entry is the least recently used bucket. Guarded by its own monitor
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+        private long now;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries || eldest.getValue().isFull(now);
+        }
+    }
+
+    // Only accessed under the lock of its stripe
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+        private int capacity;
+        private double refillPerNano;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.capacity = capacity;
+            this.updatedAt = now;
+        }
+
+        long tryAcquire(Budget budget, long now) {
+            capacity = budget.capacity();
+            refillPerNano = budget.refillPerSecond() / 1_000_000_000d;
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000d);
+        }
+
+        // A full bucket carries no state worth keeping
+        boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerNano);
+            updatedAt = now;
+        }
+    }
+}
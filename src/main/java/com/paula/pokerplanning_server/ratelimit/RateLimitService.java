@@ -0,0 +1,62 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+import com.paula.pokerplanning_server.exception.TooManyRequestsException;
+import com.paula.pokerplanning_server.security.ActorContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-actor request budgets for the write paths that fan out to a whole room.
+ *
+ * Buckets are keyed by action, actor (userId or guestId) and, when given, room.
+ * Budgets come from app.rate-limit.{action}.capacity and .refill-per-second.
+ */
+@Slf4j
+@Service
+public class RateLimitService {
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final Map<RateLimitedAction, Budget> budgets = new EnumMap<>(RateLimitedAction.class);
+
+    public RateLimitService(
+            RateLimiter rateLimiter,
+            Environment environment,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        for (RateLimitedAction action : RateLimitedAction.values()) {
+            String prefix = "app.rate-limit." + action.key();
+            budgets.put(action, new Budget(
+                    environment.getRequiredProperty(prefix + ".capacity", Integer.class),
+                    environment.getRequiredProperty(prefix + ".refill-per-second", Double.class)));
+        }
+    }
+
+    /**
+     * Consumes one request from the actor's budget.
+     *
+     * @param roomId scopes the budget to one room; null for actions not tied to a room yet
+     * @throws TooManyRequestsException when the budget is exhausted
+     */
+    public void check(RateLimitedAction action, ActorContext actor, UUID roomId) {
+        if (!enabled) {
+            return;
+        }
+        String actorKey = actor.isUser() ? "user:" + actor.getUserId() : "guest:" + actor.getGuestId();
+        String key = action.key() + ":" + actorKey + (roomId != null ? ":" + roomId : "");
+
+        long waitMillis = rateLimiter.tryAcquire(key, budgets.get(action));
+        if (waitMillis > 0) {
+            log.debug("Rate limited {} for {} (retry in {} ms)", action, actorKey, waitMillis);
+            throw new TooManyRequestsException("Too many requests, slow down",
+                    Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+/**
+ * Operations with their own request budget. The property key is the segment used
+ * under app.rate-limit.{key}.* in application.properties.
+ */
+public enum RateLimitedAction {
+    VOTE("vote"),
+    JOIN("join"),
+    STORY_WRITE("story-write");
+
+    private final String key;
+
+    RateLimitedAction(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,11 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by key.
+     *
+     * @return 0 if the request is allowed, otherwise the milliseconds until a token is available
+     */
+    long tryAcquire(String key, Budget budget);
+}
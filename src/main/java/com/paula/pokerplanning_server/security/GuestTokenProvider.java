@@ -3,6 +3,7 @@ package com.paula.pokerplanning_server.security;
 import com.paula.pokerplanning_server.domain.model.ParticipantRole;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -21,12 +22,17 @@ public class GuestTokenProvider {
 
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final VerifiedTokenCache<GuestClaims> verifiedTokens;
 
     public GuestTokenProvider(
             @Value("${app.guest-token.secret}") String secret,
-            @Value("${app.guest-token.expiration-ms}") long expirationMs) {
+            @Value("${app.guest-token.expiration-ms}") long expirationMs,
+            @Value("${app.guest-token.verified-cache-size:10000}") int verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = new VerifiedTokenCache<>(verifiedCacheSize);
     }
 
     public String generateToken(String guestId, UUID participantId, UUID roomId, ParticipantRole role) {
@@ -45,19 +51,21 @@ public class GuestTokenProvider {
     public record GuestClaims(String guestId, UUID participantId, UUID roomId, ParticipantRole role) {}
 
     public GuestClaims validate(String token) {
+        GuestClaims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
 
-            return new GuestClaims(
+            GuestClaims guestClaims = new GuestClaims(
                     claims.getSubject(),
                     UUID.fromString(claims.get("participantId", String.class)),
                     UUID.fromString(claims.get("roomId", String.class)),
                     ParticipantRole.valueOf(claims.get("role", String.class))
             );
+            verifiedTokens.put(token, guestClaims, claims.getExpiration());
+            return guestClaims;
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid guest token: {}", e.getMessage());
             throw new com.paula.pokerplanning_server.exception.ForbiddenException("Invalid or expired guest token");
@@ -1,29 +1,51 @@
 package com.paula.pokerplanning_server.security;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String ADMIN_ROLE = "ADMIN";
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+
     private final JwtTokenProvider jwtTokenProvider;
+    // Accounts allowed on operator endpoints such as /actuator/hotrooms. Keyed by id,
+    // which unlike a username cannot be taken over by registering or renaming an account
+    private final Set<UUID> adminUserIds;
+
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${app.security.admin-user-ids:}") String adminUserIds) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.adminUserIds = Arrays.stream(adminUserIds.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(UUID::fromString)
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
     protected void doFilterInternal(
@@ -35,9 +57,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(token)) {
             try {
-                Claims claims = jwtTokenProvider.validateAndParseClaims(token);
-                UserPrincipal principal = jwtTokenProvider.toPrincipal(claims);
-                var auth = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                UserPrincipal principal = jwtTokenProvider.resolvePrincipal(token);
+                var auth = new UsernamePasswordAuthenticationToken(principal, null,
+                        adminUserIds.contains(principal.getUserId()) ? ADMIN_AUTHORITIES : List.of());
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (JwtException | IllegalArgumentException e) {
                 log.debug("JWT validation failed: {}", e.getMessage());
@@ -2,6 +2,7 @@ package com.paula.pokerplanning_server.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -20,12 +21,18 @@ public class JwtTokenProvider {
 
     private final SecretKey key;
     private final long expirationMs;
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+    private final VerifiedTokenCache<UserPrincipal> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = new VerifiedTokenCache<>(verifiedCacheSize);
     }
 
     public String generateToken(UUID userId, String username, String email) {
@@ -41,11 +48,22 @@ public class JwtTokenProvider {
     }
 
     public Claims validateAndParseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Validates the token and returns its principal. Tokens seen before are served
+     * from the verified-token cache without re-running HMAC and JSON parsing.
+     */
+    public UserPrincipal resolvePrincipal(String token) {
+        UserPrincipal cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = validateAndParseClaims(token);
+        UserPrincipal principal = toPrincipal(claims);
+        verifiedTokens.put(token, principal, claims.getExpiration());
+        return principal;
     }
 
     public UserPrincipal toPrincipal(Claims claims) {
@@ -57,7 +75,7 @@ public class JwtTokenProvider {
 
     public boolean isValid(String token) {
         try {
-            validateAndParseClaims(token);
+            resolvePrincipal(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT token: {}", e.getMessage());
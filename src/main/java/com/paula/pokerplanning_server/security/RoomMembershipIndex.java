@@ -0,0 +1,239 @@
+package com.paula.pokerplanning_server.security;
+
+import com.paula.pokerplanning_server.domain.model.Participant;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.event.RoomEvent;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
+import com.paula.pokerplanning_server.store.RoomStores;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of who belongs to which room, used to authorize STOMP SUBSCRIBE
+ * without a DB lookup per subscription.
+ *
+ * A room's members are loaded from its RoomStore the first time one of its
+ * topics is subscribed, and dropped again when membership changes (join, kick, host
+ * transfer) or when the last local subscription to the room goes away. A miss is
+ * re-checked against the DB once, since the cached view may predate a join that
+ * has just committed.
+ *
+ * Room ids come from clients, so only rooms the caller turned out to belong to are
+ * cached; entries expire after a TTL and the number of rooms is capped.
+ */
+@Slf4j
+@Component
+public class RoomMembershipIndex {
+
+    public record Member(UUID participantId, ParticipantRole role) {}
+
+    private record CachedRoom(Map<String, Member> members, long loadedAtNanos) {}
+
+    private record Subscription(String sessionId, String subscriptionId, UUID roomId, UUID participantId,
+                                String destination) {}
+
+    private final RoomStores roomStores;
+    private final ObjectProvider<SimpleBrokerMessageHandler> brokerHandler;
+    private final int maxRooms;
+    private final long ttlNanos;
+
+    // roomId -> members by actorKey
+    private final Map<UUID, CachedRoom> membersByRoom = new ConcurrentHashMap<>();
+    // sessionId -> subscriptionId -> subscription
+    private final Map<String, Map<String, Subscription>> subscriptionsBySession = new ConcurrentHashMap<>();
+    // roomId -> number of local subscriptions
+    private final Map<UUID, AtomicInteger> subscriptionCounts = new ConcurrentHashMap<>();
+    // broker destination -> number of local subscriptions
+    private final Map<String, AtomicInteger> destinationCounts = new ConcurrentHashMap<>();
+
+    public RoomMembershipIndex(
+            RoomStores roomStores,
+            ObjectProvider<SimpleBrokerMessageHandler> brokerHandler,
+            @Value("${app.ws.membership-cache.max-rooms:10000}") int maxRooms,
+            @Value("${app.ws.membership-cache.ttl-ms:60000}") long ttlMs) {
+        this.roomStores = roomStores;
+        this.brokerHandler = brokerHandler;
+        this.maxRooms = maxRooms;
+        this.ttlNanos = ttlMs * 1_000_000;
+    }
+
+    public static String actorKey(Participant p) {
+        return p.isUser() ? "user:" + p.getUserId() : "guest:" + p.getGuestId();
+    }
+
+    /**
+     * Returns the actor's membership in the room, or null if not a member.
+     */
+    public Member findMember(UUID roomId, String actorKey) {
+        CachedRoom cached = membersByRoom.get(roomId);
+        if (cached != null && !isExpired(cached, System.nanoTime())) {
+            Member member = cached.members().get(actorKey);
+            if (member != null) {
+                return member;
+            }
+        }
+        CachedRoom fresh = new CachedRoom(load(roomId), System.nanoTime());
+        Member member = fresh.members().get(actorKey);
+        if (member != null) {
+            cache(roomId, fresh);
+        } else {
+            // A non-member's lookup may refresh a cached room but never adds one
+            membersByRoom.computeIfPresent(roomId, (k, v) -> fresh);
+        }
+        return member;
+    }
+
+    public void registerSubscription(String sessionId, String subscriptionId, UUID roomId, UUID participantId,
+                                     String destination) {
+        Subscription previous = subscriptionsBySession.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                .put(subscriptionId, new Subscription(sessionId, subscriptionId, roomId, participantId, destination));
+        destinationCounts.computeIfAbsent(destination, k -> new AtomicInteger()).incrementAndGet();
+        subscriptionCounts.computeIfAbsent(roomId, k -> new AtomicInteger()).incrementAndGet();
+        // A reused subscription id replaces the earlier subscription
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    public void unregisterSubscription(String sessionId, String subscriptionId) {
+        Map<String, Subscription> subs = subscriptionsBySession.get(sessionId);
+        if (subs != null) {
+            Subscription removed = subs.remove(subscriptionId);
+            if (subs.isEmpty()) {
+                subscriptionsBySession.remove(sessionId);
+            }
+            if (removed != null) {
+                release(removed);
+            }
+        }
+    }
+
+    public void unregisterSession(String sessionId) {
+        Map<String, Subscription> subs = subscriptionsBySession.remove(sessionId);
+        if (subs != null) {
+            subs.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * Number of local subscriptions to a room's topics.
+     */
+    public int localSubscriptionCount(UUID roomId) {
+        AtomicInteger count = subscriptionCounts.get(roomId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Number of local subscriptions to one broker destination, e.g. a room's CBOR or
+     * observer stream.
+     */
+    public int localSubscriptionCount(String destination) {
+        AtomicInteger count = destinationCounts.get(destination);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Keeps the index in line with membership changes. Called for every event
+     * delivered to this node, after it was broadcast.
+     */
+    public void onEvent(RoomEvent event) {
+        switch (event.type()) {
+            case PARTICIPANT_JOINED, HOST_TRANSFERRED, ROOM_CLOSED, ROOM_PROMOTED ->
+                    membersByRoom.remove(event.roomId());
+            case PARTICIPANT_KICKED -> {
+                membersByRoom.remove(event.roomId());
+                if (event.payload() instanceof RoomEventPayload.ParticipantKicked kicked) {
+                    evictParticipant(event.roomId(), kicked.participantId());
+                }
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Removes a kicked participant's subscriptions from the broker so the session
+     * stops receiving (and costing fan-out for) the room's events.
+     */
+    private void evictParticipant(UUID roomId, UUID participantId) {
+        SimpleBrokerMessageHandler broker = brokerHandler.getIfAvailable();
+        subscriptionsBySession.values().forEach(subs -> subs.values().stream()
+                .filter(s -> s.roomId().equals(roomId) && participantId.equals(s.participantId()))
+                .toList()
+                .forEach(s -> {
+                    if (broker != null) {
+                        broker.getSubscriptionRegistry().unregisterSubscription(unsubscribeMessage(s));
+                    }
+                    unregisterSubscription(s.sessionId(), s.subscriptionId());
+                    log.debug("Removed subscription {} of kicked participant {} in room {}",
+                            s.subscriptionId(), participantId, roomId);
+                }));
+    }
+
+    private Message<byte[]> unsubscribeMessage(Subscription s) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(s.sessionId());
+        accessor.setSubscriptionId(s.subscriptionId());
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // Drops the room's cached members with its last local subscription
+    private void release(Subscription s) {
+        UUID roomId = s.roomId();
+        destinationCounts.computeIfPresent(s.destination(), (k, count) -> count.decrementAndGet() > 0 ? count : null);
+        subscriptionCounts.computeIfPresent(roomId, (k, count) -> {
+            if (count.decrementAndGet() > 0) {
+                return count;
+            }
+            membersByRoom.remove(roomId);
+            return null;
+        });
+    }
+
+    private void cache(UUID roomId, CachedRoom room) {
+        if (maxRooms <= 0) {
+            return;
+        }
+        if (membersByRoom.size() >= maxRooms && !membersByRoom.containsKey(roomId)) {
+            evict();
+        }
+        membersByRoom.put(roomId, room);
+    }
+
+    /**
+     * Drops expired rooms first; if the cache is still full, drops arbitrary rooms down
+     * to three quarters of the capacity. Dropped rooms are reloaded on their next lookup.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        membersByRoom.values().removeIf(room -> isExpired(room, now));
+        Iterator<UUID> it = membersByRoom.keySet().iterator();
+        while (membersByRoom.size() > maxRooms * 3 / 4 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private boolean isExpired(CachedRoom room, long now) {
+        return now - room.loadedAtNanos() > ttlNanos;
+    }
+
+    private Map<String, Member> load(UUID roomId) {
+        return roomStores.of(roomId).findParticipants(roomId).stream()
+                .collect(Collectors.toConcurrentMap(RoomMembershipIndex::actorKey,
+                        p -> new Member(p.getId(), p.getRole())));
+    }
+}
@@ -1,12 +1,13 @@
 package com.paula.pokerplanning_server.security;
 
 import com.paula.pokerplanning_server.domain.model.ParticipantRole;
-import io.jsonwebtoken.Claims;
+import com.paula.pokerplanning_server.event.EventFormat;
+import com.paula.pokerplanning_server.event.ObserverFanOut;
+import com.paula.pokerplanning_server.exception.ForbiddenException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
-import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -24,31 +26,185 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final GuestTokenProvider guestTokenProvider;
+    private final RoomMembershipIndex membershipIndex;
+    private final ObserverFanOut observerFanOut;
+
+    private static final String TOPIC_PREFIX = "/topic/";
+    // Per-session queues are only reached through /user, which resolves them to the caller's session
+    private static final String QUEUE_PREFIX = "/queue/";
+    private static final String USER_PREFIX = "/user/";
+    private static final String ROOM_TOPIC_PREFIX = "/topic/rooms/";
+    private static final String EVENTS_SUFFIX = "/events";
+    // The simple broker matches subscriptions as Ant patterns, so a wildcard would reach every room
+    private static final String PATTERN_CHARS = "*?{";
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
-
-        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+        if (accessor == null || accessor.getCommand() == null) {
             return message;
         }
 
-        Principal principal = resolveFromHeaders(accessor);
-        if (principal != null) {
-            accessor.setUser(principal);
+        switch (accessor.getCommand()) {
+            case CONNECT -> {
+                Principal principal = resolveFromHeaders(accessor);
+                if (principal != null) {
+                    accessor.setUser(principal);
+                }
+                negotiateEventFormat(accessor);
+            }
+            case SUBSCRIBE -> authorizeSubscribe(accessor);
+            case SEND -> rejectBrokerSend(accessor);
+            case UNSUBSCRIBE -> membershipIndex.unregisterSubscription(
+                    accessor.getSessionId(), accessor.getSubscriptionId());
+            case DISCONNECT -> membershipIndex.unregisterSession(accessor.getSessionId());
+            default -> { }
         }
 
         return message;
     }
 
+    // ─── Subscribe ────────────────────────────────────────────────────────────
+
+    /**
+     * Only members of a room may subscribe to its topics, and only to the concrete
+     * destinations below; any other /topic destination is rejected. Membership is
+     * checked against the in-memory index rather than the DB, since clients resubscribe
+     * on every reconnect.
+     */
+    private void authorizeSubscribe(StompHeaderAccessor accessor) {
+        if (accessor.getDestination() != null && accessor.getDestination().startsWith(QUEUE_PREFIX)) {
+            throw new ForbiddenException("Subscribe to /user/queue destinations instead");
+        }
+        UUID roomId = roomIdFromDestination(accessor.getDestination());
+        if (roomId == null) {
+            return;
+        }
+
+        String actorKey = actorKey(accessor.getUser());
+        if (actorKey == null) {
+            throw new ForbiddenException("Authentication required to subscribe to room topics");
+        }
+
+        RoomMembershipIndex.Member member = membershipIndex.findMember(roomId, actorKey);
+        if (member == null) {
+            log.debug("Rejected SUBSCRIBE to {} by {}", accessor.getDestination(), actorKey);
+            throw new ForbiddenException("Not a participant of this room");
+        }
+
+        // Clients subscribe to .../events; the session's format decides the broker destination,
+        // and observers of rooms with a throttled observer stream are moved to it, in that format
+        String destination = accessor.getDestination();
+        EventFormat named = EventFormat.fromDestination(destination);
+        destination = destination.substring(0, destination.length() - named.destinationSuffix().length());
+        if (!destination.endsWith(EVENTS_SUFFIX)) {
+            observerFanOut.track(roomId);
+        } else if (member.role() == ParticipantRole.OBSERVER && observerFanOut.routesObservers(roomId)) {
+            destination = ObserverFanOut.topic(roomId);
+        }
+        destination = destination + sessionEventFormat(accessor).destinationSuffix();
+        accessor.setDestination(destination);
+        membershipIndex.registerSubscription(
+                accessor.getSessionId(), accessor.getSubscriptionId(), roomId, member.participantId(), destination);
+    }
+
+    private EventFormat sessionEventFormat(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes != null && attributes.get(EventFormat.SESSION_ATTRIBUTE) instanceof EventFormat format
+                ? format
+                : EventFormat.JSON;
+    }
+
+    /**
+     * Room of a subscription destination, or null for destinations outside /topic.
+     * Within /topic only /topic/rooms/{roomId}/events[.format] and
+     * /topic/rooms/{roomId}/observers[.format] are accepted, with the id in canonical form.
+     */
+    static UUID roomIdFromDestination(String destination) {
+        if (destination == null || destination.chars().anyMatch(c -> PATTERN_CHARS.indexOf(c) >= 0)) {
+            throw new ForbiddenException("Invalid destination");
+        }
+        if (!destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        if (!destination.startsWith(ROOM_TOPIC_PREFIX)) {
+            throw new ForbiddenException("Invalid room topic");
+        }
+        String rest = destination.substring(ROOM_TOPIC_PREFIX.length());
+        int slash = rest.indexOf('/');
+        if (slash < 0) {
+            throw new ForbiddenException("Invalid room topic");
+        }
+        String id = rest.substring(0, slash);
+        String suffix = rest.substring(slash);
+        UUID roomId;
+        try {
+            roomId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ForbiddenException("Invalid room topic");
+        }
+        boolean known = false;
+        for (EventFormat format : EventFormat.values()) {
+            known |= suffix.equals(EVENTS_SUFFIX + format.destinationSuffix())
+                    || suffix.equals(ObserverFanOut.OBSERVERS_SUFFIX + format.destinationSuffix());
+        }
+        if (!known || !roomId.toString().equals(id)) {
+            throw new ForbiddenException("Invalid room topic");
+        }
+        return roomId;
+    }
+
+    /**
+     * Clients send to /app; a SEND straight to the broker would broadcast to a room's
+     * subscribers without going through the services.
+     */
+    private void rejectBrokerSend(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination != null && (destination.startsWith(TOPIC_PREFIX)
+                || destination.startsWith(QUEUE_PREFIX) || destination.startsWith(USER_PREFIX))) {
+            throw new ForbiddenException("Clients cannot send to broker destinations");
+        }
+    }
+
+    private String actorKey(Principal user) {
+        if (user instanceof UsernamePasswordAuthenticationToken auth) {
+            if (auth.getPrincipal() instanceof UserPrincipal up) {
+                return "user:" + up.getUserId();
+            }
+            if (auth.getPrincipal() instanceof GuestPrincipal gp) {
+                return "guest:" + gp.getGuestId();
+            }
+        }
+        return null;
+    }
+
+    // ─── Connect ──────────────────────────────────────────────────────────────
+
+    /**
+     * Reads the event-format CONNECT header. Binary formats are only granted when the
+     * transport carries binary frames; SockJS sessions stay on JSON.
+     */
+    private void negotiateEventFormat(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null) {
+            return;
+        }
+        EventFormat format = EventFormat.fromHeader(accessor.getFirstNativeHeader(EventFormat.CONNECT_HEADER));
+        if (format.isBinary() && !Boolean.TRUE.equals(attributes.get(EventFormat.BINARY_FRAMES_ATTRIBUTE))) {
+            log.debug("Session {} asked for {} over a text-only transport; using JSON",
+                    accessor.getSessionId(), format);
+            format = EventFormat.JSON;
+        }
+        attributes.put(EventFormat.SESSION_ATTRIBUTE, format);
+    }
+
     private Principal resolveFromHeaders(StompHeaderAccessor accessor) {
         // Try JWT first (user accounts)
         String authHeader = accessor.getFirstNativeHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                Claims claims = jwtTokenProvider.validateAndParseClaims(token);
-                UserPrincipal userPrincipal = jwtTokenProvider.toPrincipal(claims);
+                UserPrincipal userPrincipal = jwtTokenProvider.resolvePrincipal(token);
                 return new UsernamePasswordAuthenticationToken(userPrincipal, null, List.of());
             } catch (Exception e) {
                 log.debug("STOMP JWT validation failed: {}", e.getMessage());
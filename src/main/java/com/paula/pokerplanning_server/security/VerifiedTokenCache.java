@@ -0,0 +1,80 @@
+package com.paula.pokerplanning_server.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by the
+ * SHA-256 digest of the token. Entries expire with the token's own {@code exp}, so a
+ * hit never outlives what a fresh verification would have accepted.
+ */
+class VerifiedTokenCache<T> {
+
+    private record Entry<T>(T value, long expiresAtMs) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    T get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAtMs()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    void put(String token, T value, Date expiration) {
+        if (maxEntries <= 0 || expiration == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(digest(token), new Entry<>(value, expiration.getTime()));
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, drops arbitrary
+     * entries down to three quarters of the capacity.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> now >= e.expiresAtMs());
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries * 3 / 4 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+}
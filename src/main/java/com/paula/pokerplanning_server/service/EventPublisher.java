@@ -1,33 +1,56 @@
 package com.paula.pokerplanning_server.service;
 
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import com.paula.pokerplanning_server.diagnostics.EventPublishEvent;
 import com.paula.pokerplanning_server.domain.model.EventType;
 import com.paula.pokerplanning_server.event.RoomEvent;
-import lombok.RequiredArgsConstructor;
+import com.paula.pokerplanning_server.event.RoomEventMetrics;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
+import com.paula.pokerplanning_server.event.transport.EventTransport;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventPublisher {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final EventTransport eventTransport;
+    private final RoomEventMetrics metrics;
+    // Serializer for RoomEvent resolved once instead of per publish
+    private final ObjectWriter eventWriter;
 
-    private static final String CHANNEL_PREFIX = "rooms:";
+    public EventPublisher(EventTransport eventTransport, ObjectMapper objectMapper, RoomEventMetrics metrics) {
+        this.eventTransport = eventTransport;
+        this.metrics = metrics;
+        this.eventWriter = objectMapper.writerFor(RoomEvent.class);
+    }
 
-    public void publish(EventType type, UUID roomId, Map<String, Object> payload) {
-        RoomEvent event = RoomEvent.of(type, roomId, payload);
+    public void publish(UUID roomId, RoomEventPayload payload) {
+        EventType type = payload.type();
+        RoomEvent event = RoomEvent.of(roomId, payload);
+        EventPublishEvent jfrEvent = new EventPublishEvent();
+        jfrEvent.begin();
         try {
-            String json = objectMapper.writeValueAsString(event);
-            redisTemplate.convertAndSend(CHANNEL_PREFIX + roomId, json);
+            long start = System.nanoTime();
+            String json = eventWriter.writeValueAsString(event);
+            long serialized = System.nanoTime();
+            eventTransport.send(roomId, json);
+            metrics.published(type, serialized - start, System.nanoTime() - serialized);
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.roomId = roomId.toString();
+                jfrEvent.eventType = type.name();
+                jfrEvent.transport = metrics.transport();
+                jfrEvent.bytes = json.getBytes(StandardCharsets.UTF_8).length;
+                jfrEvent.commit();
+            }
             log.debug("Published event {} for room {}", type, roomId);
         } catch (Exception e) {
+            metrics.publishFailed(type);
             log.error("Failed to publish event {} for room {}: {}", type, roomId, e.getMessage(), e);
         }
     }
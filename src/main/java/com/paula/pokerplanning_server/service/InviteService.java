@@ -6,7 +6,9 @@ import com.paula.pokerplanning_server.domain.model.ParticipantRole;
 import com.paula.pokerplanning_server.domain.repository.InviteRepository;
 import com.paula.pokerplanning_server.exception.BadRequestException;
 import com.paula.pokerplanning_server.exception.NotFoundException;
+import com.paula.pokerplanning_server.lookup.LookupFilters;
 import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.store.EphemeralIds;
 import com.paula.pokerplanning_server.web.dto.JoinRoomResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,11 +30,15 @@ public class InviteService {
 
     private final InviteRepository inviteRepository;
     private final RoomService roomService;
+    private final LookupFilters lookupFilters;
 
     @Transactional
     public String createInvite(UUID roomId, ActorContext hostActor,
                                 ParticipantRole role, Instant expiresAt, Integer maxUses) {
         Participant host = roomService.requireHost(roomId, hostActor);
+        if (EphemeralIds.isEphemeral(roomId)) {
+            throw new BadRequestException("Invites are not available in ephemeral rooms");
+        }
 
         String rawToken = UUID.randomUUID().toString();
         String tokenHash = sha256(rawToken);
@@ -46,6 +52,7 @@ public class InviteService {
                 .creatorParticipantId(host.getId())
                 .build();
         inviteRepository.save(invite);
+        lookupFilters.invites().add(tokenHash);
 
         return rawToken;
     }
@@ -67,28 +74,48 @@ public class InviteService {
 
     @Transactional(readOnly = true)
     public Invite getInviteByToken(String rawToken) {
-        String hash = sha256(rawToken);
+        String hash = requireKnownHash(rawToken);
         return inviteRepository.findByTokenHash(hash)
-                .orElseThrow(() -> new NotFoundException("Invite not found or invalid"));
+                .orElseThrow(() -> unknownInvite());
     }
 
     @Transactional
     public JoinRoomResponse joinByInvite(String rawToken, ActorContext actor, String displayName) {
-        String hash = sha256(rawToken);
+        String hash = requireKnownHash(rawToken);
         Invite invite = inviteRepository.findByTokenHash(hash)
-                .orElseThrow(() -> new NotFoundException("Invite not found or invalid"));
-
+                .orElseThrow(() -> unknownInvite());
         if (!invite.isValid()) {
-            throw new BadRequestException("Invite is expired, revoked, or has reached its use limit");
+            throw invalidInvite();
         }
 
-        invite.setUses(invite.getUses() + 1);
-        inviteRepository.save(invite);
+        // The use is consumed last so the invite row stays locked only until commit; a redemption
+        // lost to a concurrent join rolls this join back before it is announced
+        return roomService.joinRoom(invite.getRoomId(), actor, displayName, invite.getRole(), () -> {
+            if (inviteRepository.redeemByTokenHash(hash).isEmpty()) {
+                throw invalidInvite();
+            }
+        });
+    }
+
+    // Unknown tokens are rejected by the lookup filter before reaching the DB
+    private String requireKnownHash(String rawToken) {
+        String hash = sha256(rawToken);
+        if (!lookupFilters.invites().mightContain(hash)) {
+            throw new NotFoundException("Invite not found or invalid");
+        }
+        return hash;
+    }
+
+    private BadRequestException invalidInvite() {
+        return new BadRequestException("Invite is expired, revoked, or has reached its use limit");
+    }
 
-        return roomService.joinRoom(invite.getRoomId(), actor, displayName, invite.getRole());
+    private NotFoundException unknownInvite() {
+        lookupFilters.invites().falsePositive();
+        return new NotFoundException("Invite not found or invalid");
     }
 
-    private String sha256(String input) {
+    static String sha256(String input) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
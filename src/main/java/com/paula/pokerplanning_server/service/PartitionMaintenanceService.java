@@ -0,0 +1,97 @@
+package com.paula.pokerplanning_server.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of rounds and votes (see V9__partition_rounds_votes.sql)
+ * ahead of time and within retention.
+ *
+ * Partitions for the current month and the next months-ahead months are created before
+ * rows need them. Months older than the retention are detached from both tables once
+ * they are empty, i.e. once every room with rounds in that month has been archived (see
+ * V10__partition_retention_guard.sql), and dropped unless app.partitions.drop-expired is
+ * false, in which case they are left as plain tables for export. A retention of 0 keeps
+ * every month. Each call is its own short statement, so this runs outside any
+ * transaction.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    // Referenced table first, so a new month's votes always have their round's partition
+    private static final List<String> TABLES = List.of("rounds", "votes");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public PartitionMaintenanceService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.partitions.enabled:true}") boolean enabled,
+            @Value("${app.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.partitions.retention-months:24}") int retentionMonths,
+            @Value("${app.partitions.drop-expired:true}") boolean dropExpired) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropExpired = dropExpired;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // The scheduled run retries; a failure here must not take the node down
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("Partition maintenance on startup failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.partitions.interval-ms:21600000}",
+            initialDelayString = "${app.partitions.interval-ms:21600000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        createAhead(thisMonth);
+        if (retentionMonths > 0) {
+            detachExpired(thisMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    void createAhead(LocalDate thisMonth) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = thisMonth.plusMonths(i);
+            for (String table : TABLES) {
+                Boolean created = jdbcTemplate.queryForObject(
+                        "SELECT create_monthly_partition(?, ?)", Boolean.class, table, month);
+                if (Boolean.TRUE.equals(created)) {
+                    log.info("Created partition of {} for {}", table, month);
+                }
+            }
+        }
+    }
+
+    void detachExpired(LocalDate before) {
+        Integer detached = jdbcTemplate.queryForObject(
+                "SELECT detach_expired_round_partitions(?, ?)", Integer.class, before, dropExpired);
+        if (detached != null && detached > 0) {
+            log.info("{} {} months of rounds and votes before {}",
+                    dropExpired ? "Dropped" : "Detached", detached, before);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.paula.pokerplanning_server.service;
+
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
+import com.paula.pokerplanning_server.lookup.LookupFilters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the hot tables down to rooms in use. Active rooms idle for longer than the idle
+ * threshold are closed, and rooms closed for longer than the retention are moved into
+ * room_archives as one JSON document each, their rows deleted and their code returned
+ * to the pool.
+ *
+ * Work is done in small batches, each its own short transaction, with a pause between
+ * batches and a cap per run, so the primary never sees long locks or a burst of deletes.
+ * Concurrent runs on other nodes skip each other's rows. Runs happen on the archiver's own
+ * thread, since the pauses would otherwise hold up the shared scheduler thread and every
+ * other @Scheduled job with it.
+ */
+@Slf4j
+@Service
+public class RoomArchiver {
+
+    private final RoomRepository roomRepository;
+    private final EventPublisher eventPublisher;
+    private final LookupFilters lookupFilters;
+    private final boolean enabled;
+    private final Duration idleAfter;
+    private final Duration archiveAfter;
+    private final long quarantineDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long batchPauseMs;
+
+    private final Counter closedCounter;
+    private final Counter archivedCounter;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            r -> Thread.ofPlatform().name("room-archiver").daemon().unstarted(r));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RoomArchiver(
+            RoomRepository roomRepository,
+            EventPublisher eventPublisher,
+            LookupFilters lookupFilters,
+            MeterRegistry meterRegistry,
+            @Value("${app.archive.enabled:true}") boolean enabled,
+            @Value("${app.archive.idle-days:30}") long idleDays,
+            @Value("${app.archive.closed-days:7}") long closedDays,
+            @Value("${app.room-codes.quarantine-days:30}") long quarantineDays,
+            @Value("${app.archive.batch-size:50}") int batchSize,
+            @Value("${app.archive.max-batches:20}") int maxBatches,
+            @Value("${app.archive.batch-pause-ms:500}") long batchPauseMs) {
+        this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
+        this.lookupFilters = lookupFilters;
+        this.enabled = enabled;
+        this.idleAfter = Duration.ofDays(idleDays);
+        this.archiveAfter = Duration.ofDays(closedDays);
+        this.quarantineDays = quarantineDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchPauseMs = batchPauseMs;
+
+        this.closedCounter = Counter.builder("room.archive.closed")
+                .description("Active rooms closed for being idle")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("room.archive.archived")
+                .description("Closed rooms moved into room_archives")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:600000}",
+            initialDelayString = "${app.archive.interval-ms:600000}")
+    public void run() {
+        // A run still in progress is not queued up behind
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                closeIdleRooms();
+                archiveClosedRooms();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Room archiving run failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Closes idle rooms and tells anyone still subscribed, as closeRoom does.
+     */
+    void closeIdleRooms() throws InterruptedException {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (batch > 0) {
+                Thread.sleep(batchPauseMs);
+            }
+            List<UUID> closed = roomRepository.closeIdleSince(Instant.now().minus(idleAfter), batchSize);
+            for (UUID roomId : closed) {
+                lookupFilters.roomCodes().removed();
+                eventPublisher.publish(roomId, new RoomEventPayload.RoomClosed());
+            }
+            total += closed.size();
+            if (closed.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            closedCounter.increment(total);
+            log.info("Closed {} idle rooms", total);
+        }
+    }
+
+    void archiveClosedRooms() throws InterruptedException {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            if (batch > 0) {
+                Thread.sleep(batchPauseMs);
+            }
+            int archived = roomRepository.archiveClosedBefore(
+                    Instant.now().minus(archiveAfter), batchSize, quarantineDays);
+            total += archived;
+            if (archived < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            archivedCounter.increment(total);
+            log.info("Archived {} closed rooms", total);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.paula.pokerplanning_server.service;
+
+import com.paula.pokerplanning_server.domain.model.RoomCode;
+import com.paula.pokerplanning_server.domain.repository.RoomCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out room codes from a pre-generated pool in the room_codes table, so room
+ * creation claims a code with one statement instead of probing rooms for collisions.
+ *
+ * The pool is topped up in the background. Codes of rooms closed longer than the
+ * quarantine are detached from their room and returned to the pool, so the code
+ * space is reused rather than exhausted.
+ */
+@Slf4j
+@Service
+public class RoomCodePool {
+
+    private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int CODE_LENGTH = 6;
+    private static final int MAX_RESERVE_ATTEMPTS = 20;
+
+    private final RoomCodeRepository roomCodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SecureRandom random = new SecureRandom();
+    private final int lowWater;
+    private final int target;
+    private final Duration quarantine;
+    private final int recycleBatchSize;
+
+    private final AtomicLong available = new AtomicLong();
+    private final Counter poolMisses;
+
+    public RoomCodePool(
+            RoomCodeRepository roomCodeRepository,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.room-codes.pool.low-water:1000}") int lowWater,
+            @Value("${app.room-codes.pool.target:5000}") int target,
+            @Value("${app.room-codes.quarantine-days:30}") long quarantineDays,
+            @Value("${app.room-codes.recycle-batch-size:500}") int recycleBatchSize) {
+        this.roomCodeRepository = roomCodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lowWater = lowWater;
+        this.target = target;
+        this.quarantine = Duration.ofDays(quarantineDays);
+        this.recycleBatchSize = recycleBatchSize;
+
+        meterRegistry.gauge("room.codes.pool.available", available);
+        this.poolMisses = Counter.builder("room.codes.pool.misses")
+                .description("Room creations that found the pool empty and reserved a random code")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims a code for a room being created. Runs in the caller's transaction, so a
+     * rolled back creation leaves the code in the pool.
+     */
+    @Transactional
+    public String claim() {
+        Optional<RoomCode> pooled = roomCodeRepository.claimAvailable();
+        if (pooled.isPresent()) {
+            // Claims on other nodes and rolled back creations are picked up by the next refill
+            available.updateAndGet(n -> Math.max(0, n - 1));
+            return pooled.get().getCode();
+        }
+        poolMisses.increment();
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            Optional<RoomCode> reserved = roomCodeRepository.reserve(generateCode());
+            if (reserved.isPresent()) {
+                return reserved.get().getCode();
+            }
+        }
+        throw new RuntimeException("Failed to generate unique room code");
+    }
+
+    /**
+     * Fills the pool on boot. Called on this instance rather than the proxy, so the
+     * transaction is opened here; a failure is logged and left to the scheduled refill,
+     * since claim() falls back to reserving random codes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> refill());
+        } catch (RuntimeException e) {
+            log.warn("Initial room code pool refill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.room-codes.pool.refill-interval-ms:30000}")
+    @Transactional
+    public void refill() {
+        long count = roomCodeRepository.countByInUseFalse();
+        available.set(count);
+        if (count >= lowWater) {
+            return;
+        }
+        Set<String> codes = new HashSet<>();
+        while (codes.size() < target - count) {
+            codes.add(generateCode());
+        }
+        // Codes that were ever handed out are skipped by ON CONFLICT
+        int added = roomCodeRepository.addAvailable(String.join(",", codes));
+        available.addAndGet(added);
+        log.info("Refilled room code pool with {} codes ({} available)", added, count + added);
+    }
+
+    @Scheduled(fixedDelayString = "${app.room-codes.recycle-interval-ms:600000}")
+    @Transactional
+    public void recycle() {
+        int recycled = roomCodeRepository.recycleClosedBefore(Instant.now().minus(quarantine), recycleBatchSize);
+        if (recycled > 0) {
+            available.addAndGet(recycled);
+            log.info("Returned {} codes of closed rooms to the pool", recycled);
+        }
+    }
+
+    private String generateCode() {
+        StringBuilder sb = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            sb.append(CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length())));
+        }
+        return sb.toString();
+    }
+}
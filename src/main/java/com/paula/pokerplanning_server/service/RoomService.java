@@ -1,14 +1,20 @@
 package com.paula.pokerplanning_server.service;
 
+import com.paula.pokerplanning_server.diagnostics.RoomOperation;
 import com.paula.pokerplanning_server.domain.model.*;
-import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
-import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
 import com.paula.pokerplanning_server.exception.BadRequestException;
 import com.paula.pokerplanning_server.exception.ConflictException;
 import com.paula.pokerplanning_server.exception.ForbiddenException;
 import com.paula.pokerplanning_server.exception.NotFoundException;
+import com.paula.pokerplanning_server.lookup.LookupFilters;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.paula.pokerplanning_server.store.EphemeralIds;
+import com.paula.pokerplanning_server.store.JpaRoomStore;
+import com.paula.pokerplanning_server.store.RedisRoomStore;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
 import com.paula.pokerplanning_server.web.dto.JoinRoomResponse;
 import com.paula.pokerplanning_server.web.dto.ParticipantResponse;
 import com.paula.pokerplanning_server.web.dto.RoomResponse;
@@ -16,44 +22,52 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
 @Service
+@RoomOperation
 @RequiredArgsConstructor
 public class RoomService {
 
-    private final RoomRepository roomRepository;
-    private final ParticipantRepository participantRepository;
+    private final RoomStores roomStores;
     private final GuestTokenProvider guestTokenProvider;
     private final EventPublisher eventPublisher;
-
-    private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-    private static final int CODE_LENGTH = 6;
-    private final SecureRandom random = new SecureRandom();
+    private final LookupFilters lookupFilters;
+    private final RoomCodePool roomCodePool;
 
     // ─── Create ──────────────────────────────────────────────────────────────
 
     @Transactional
     public JoinRoomResponse createRoom(ActorContext actor, String displayName,
-                                       DeckType deckType, boolean allowObservers, String roomName) {
-        String code = generateUniqueCode();
+                                       DeckType deckType, boolean allowObservers,
+                                       Integer observerUpdateIntervalMs, String roomName, boolean ephemeral) {
+        RoomStore store = ephemeral ? roomStores.ephemeral() : roomStores.persistent();
 
         Room room = Room.builder()
                 .name(roomName)
-                .code(code)
+                // Ephemeral rooms get their code with their id from the store
+                .code(ephemeral ? null : roomCodePool.claim())
                 .creatorUserId(actor.isUser() ? actor.getUserId() : null)
                 .creatorGuestId(actor.isGuest() ? actor.getGuestId() : null)
                 .settings(RoomSettings.builder()
                         .deckType(deckType != null ? deckType : DeckType.FIBONACCI)
                         .allowObservers(allowObservers)
+                        .observerUpdateIntervalMs(observerUpdateIntervalMs)
                         .build())
                 .build();
-        room = roomRepository.save(room);
+        room = store.saveRoom(room);
+        if (!ephemeral) {
+            lookupFilters.roomCodes().add(room.getCode());
+        }
 
         Participant host = Participant.builder()
                 .roomId(room.getId())
@@ -63,7 +77,7 @@ public class RoomService {
                 .displayName(displayName)
                 .online(true)
                 .build();
-        host = participantRepository.save(host);
+        host = store.saveParticipant(host);
 
         String guestToken = null;
         if (actor.isGuest()) {
@@ -71,13 +85,11 @@ public class RoomService {
                     actor.getGuestId(), host.getId(), room.getId(), ParticipantRole.HOST);
         }
 
-        eventPublisher.publish(EventType.PARTICIPANT_JOINED, room.getId(), Map.of(
-                "participantId", host.getId().toString(),
-                "displayName", host.getDisplayName(),
-                "role", host.getRole().name()
-        ));
+        eventPublisher.publish(room.getId(), new RoomEventPayload.ParticipantJoined(
+                host.getId(), host.getDisplayName(), host.getRole()));
 
-        log.info("Room {} created by actor {}", room.getId(), actor.isUser() ? actor.getUserId() : actor.getGuestId());
+        log.info("{} room {} created by actor {}", ephemeral ? "Ephemeral" : "Persistent",
+                room.getId(), actor.isUser() ? actor.getUserId() : actor.getGuestId());
 
         return new JoinRoomResponse(RoomResponse.from(room), ParticipantResponse.from(host), guestToken);
     }
@@ -87,7 +99,18 @@ public class RoomService {
     @Transactional
     public JoinRoomResponse joinRoom(UUID roomId, ActorContext actor,
                                      String displayName, ParticipantRole requestedRole) {
+        return joinRoom(roomId, actor, displayName, requestedRole, () -> { });
+    }
+
+    /**
+     * Joins the room, running {@code beforeAnnounce} once the participant is saved and before
+     * ParticipantJoined is published; if it throws, the join rolls back without being announced.
+     */
+    @Transactional
+    public JoinRoomResponse joinRoom(UUID roomId, ActorContext actor, String displayName,
+                                     ParticipantRole requestedRole, Runnable beforeAnnounce) {
         Room room = getActiveRoom(roomId);
+        RoomStore store = roomStores.of(roomId);
 
         ParticipantRole role = resolveRole(room, requestedRole);
 
@@ -96,7 +119,7 @@ public class RoomService {
         if (participant != null) {
             participant.setDisplayName(displayName);
             participant.setOnline(true);
-            participant = participantRepository.save(participant);
+            participant = store.saveParticipant(participant);
         } else {
             participant = Participant.builder()
                     .roomId(roomId)
@@ -106,7 +129,7 @@ public class RoomService {
                     .displayName(displayName)
                     .online(true)
                     .build();
-            participant = participantRepository.save(participant);
+            participant = store.saveParticipant(participant);
         }
 
         String guestToken = null;
@@ -115,24 +138,35 @@ public class RoomService {
                     actor.getGuestId(), participant.getId(), roomId, participant.getRole());
         }
 
+        beforeAnnounce.run();
+
         final UUID participantId = participant.getId();
         final String finalDisplayName = participant.getDisplayName();
         final ParticipantRole finalRole = participant.getRole();
-        eventPublisher.publish(EventType.PARTICIPANT_JOINED, roomId, Map.of(
-                "participantId", participantId.toString(),
-                "displayName", finalDisplayName,
-                "role", finalRole.name()
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.ParticipantJoined(
+                participantId, finalDisplayName, finalRole));
 
         return new JoinRoomResponse(RoomResponse.from(room), ParticipantResponse.from(participant), guestToken);
     }
 
-    @Transactional
-    public JoinRoomResponse joinByCode(String code, ActorContext actor,
-                                       String displayName, ParticipantRole requestedRole) {
-        Room room = roomRepository.findByCode(code)
-                .orElseThrow(() -> new NotFoundException("Room not found with code: " + code));
-        return joinRoom(room.getId(), actor, displayName, requestedRole);
+    /**
+     * Resolves a join code to its room, so the join can be rate limited per room before it runs.
+     */
+    @Transactional(readOnly = true)
+    public UUID getRoomIdByCode(String code) {
+        // Ephemeral codes map to their room id without a lookup, so only pooled codes go through the filter
+        boolean ephemeral = EphemeralIds.isCode(code);
+        if (!ephemeral && !lookupFilters.roomCodes().mightContain(code)) {
+            throw new NotFoundException("Room not found with code: " + code);
+        }
+        Room room = roomStores.forCode(code).findRoomByCode(code)
+                .orElseThrow(() -> {
+                    if (!ephemeral) {
+                        lookupFilters.roomCodes().falsePositive();
+                    }
+                    return new NotFoundException("Room not found with code: " + code);
+                });
+        return room.getId();
     }
 
     // ─── Leave ────────────────────────────────────────────────────────────────
@@ -141,10 +175,9 @@ public class RoomService {
     public void leaveRoom(UUID roomId, ActorContext actor) {
         Participant participant = getParticipant(roomId, actor);
         participant.setOnline(false);
-        participantRepository.save(participant);
+        roomStores.of(roomId).saveParticipant(participant);
 
-        eventPublisher.publish(EventType.PARTICIPANT_LEFT, roomId,
-                Map.of("participantId", participant.getId().toString()));
+        eventPublisher.publish(roomId, new RoomEventPayload.ParticipantLeft(participant.getId()));
     }
 
     // ─── Host actions ─────────────────────────────────────────────────────────
@@ -152,21 +185,22 @@ public class RoomService {
     @Transactional
     public void kickParticipant(UUID roomId, UUID targetParticipantId, ActorContext hostActor) {
         requireHost(roomId, hostActor);
-        Participant target = participantRepository.findById(targetParticipantId)
+        RoomStore store = roomStores.of(roomId);
+        Participant target = store.findParticipant(targetParticipantId)
                 .orElseThrow(() -> new NotFoundException("Participant not found"));
         if (!target.getRoomId().equals(roomId)) {
             throw new BadRequestException("Participant not in this room");
         }
-        participantRepository.delete(target);
+        store.deleteParticipant(target);
 
-        eventPublisher.publish(EventType.PARTICIPANT_KICKED, roomId,
-                Map.of("participantId", targetParticipantId.toString()));
+        eventPublisher.publish(roomId, new RoomEventPayload.ParticipantKicked(targetParticipantId));
     }
 
     @Transactional
     public void transferHost(UUID roomId, UUID newHostParticipantId, ActorContext hostActor) {
         Participant currentHost = requireHost(roomId, hostActor);
-        Participant newHost = participantRepository.findById(newHostParticipantId)
+        RoomStore store = roomStores.of(roomId);
+        Participant newHost = store.findParticipant(newHostParticipantId)
                 .orElseThrow(() -> new NotFoundException("Participant not found"));
         if (!newHost.getRoomId().equals(roomId)) {
             throw new BadRequestException("Participant not in this room");
@@ -174,13 +208,11 @@ public class RoomService {
 
         currentHost.setRole(ParticipantRole.PARTICIPANT);
         newHost.setRole(ParticipantRole.HOST);
-        participantRepository.save(currentHost);
-        participantRepository.save(newHost);
+        store.saveParticipant(currentHost);
+        store.saveParticipant(newHost);
 
-        eventPublisher.publish(EventType.HOST_TRANSFERRED, roomId, Map.of(
-                "newHostParticipantId", newHostParticipantId.toString(),
-                "previousHostParticipantId", currentHost.getId().toString()
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.HostTransferred(
+                newHostParticipantId, currentHost.getId()));
     }
 
     @Transactional
@@ -188,16 +220,176 @@ public class RoomService {
         requireHost(roomId, hostActor);
         Room room = getActiveRoom(roomId);
         room.setStatus(RoomStatus.CLOSED);
-        roomRepository.save(room);
+        room.setClosedAt(Instant.now());
+        roomStores.of(roomId).saveRoom(room);
+        if (!EphemeralIds.isEphemeral(roomId)) {
+            lookupFilters.roomCodes().removed();
+        }
 
-        eventPublisher.publish(EventType.ROOM_CLOSED, roomId, Map.of());
+        eventPublisher.publish(roomId, new RoomEventPayload.RoomClosed());
+    }
+
+    // ─── Promote ──────────────────────────────────────────────────────────────
+
+    /**
+     * Copies an ephemeral room into Postgres as a new persistent room and closes the
+     * ephemeral one. Members get ROOM_PROMOTED with the new room id and rejoin it, which
+     * finds their copied participant; the host's new membership is returned.
+     *
+     * The ephemeral room is closed first with a status check-and-set, so of concurrent
+     * promotes only one copies the room, and nothing is written to it while it is copied.
+     * ROOM_PROMOTED goes out once the copy has committed; if it rolls back, the ephemeral
+     * room is reopened.
+     */
+    @Transactional
+    public JoinRoomResponse promoteRoom(UUID roomId, ActorContext hostActor) {
+        if (!EphemeralIds.isEphemeral(roomId)) {
+            throw new BadRequestException("Room is already persistent");
+        }
+        Participant host = requireHost(roomId, hostActor);
+        RedisRoomStore ephemeral = roomStores.ephemeral();
+        Room ephemeralRoom = ephemeral.findRoom(roomId)
+                .orElseThrow(() -> new NotFoundException("Room not found: " + roomId));
+        if (ephemeralRoom.getStatus() == RoomStatus.CLOSED) {
+            throw new BadRequestException("Room is closed");
+        }
+        ephemeralRoom.setStatus(RoomStatus.CLOSED);
+        ephemeralRoom.setClosedAt(Instant.now());
+        if (!ephemeral.saveRoomIfStatus(ephemeralRoom, RoomStatus.ACTIVE)) {
+            throw new ConflictException("Room is being promoted or was closed");
+        }
+        PromotedRoom promoted = new PromotedRoom(ephemeral, ephemeralRoom);
+        TransactionSynchronizationManager.registerSynchronization(promoted);
+
+        RedisRoomStore.Contents source = ephemeral.load(roomId)
+                .orElseThrow(() -> new NotFoundException("Room not found: " + roomId));
+
+        JpaRoomStore target = roomStores.persistent();
+        RoomSettings settings = source.room().getSettings();
+        Room room = target.saveRoom(Room.builder()
+                .name(source.room().getName())
+                .code(roomCodePool.claim())
+                .creatorUserId(source.room().getCreatorUserId())
+                .creatorGuestId(source.room().getCreatorGuestId())
+                .settings(RoomSettings.builder()
+                        .deckType(settings.getDeckType())
+                        .allowObservers(settings.isAllowObservers())
+                        .observerUpdateIntervalMs(settings.getObserverUpdateIntervalMs())
+                        .build())
+                .build());
+        lookupFilters.roomCodes().add(room.getCode());
+
+        // ephemeral id -> persistent id
+        Map<UUID, UUID> ids = new HashMap<>();
+        Participant promotedHost = null;
+        for (Participant p : source.participants()) {
+            Participant copy = target.saveParticipant(Participant.builder()
+                    .roomId(room.getId())
+                    .userId(p.getUserId())
+                    .guestId(p.getGuestId())
+                    .role(p.getRole())
+                    .displayName(p.getDisplayName())
+                    .online(p.getId().equals(host.getId()))
+                    .build());
+            ids.put(p.getId(), copy.getId());
+            if (p.getId().equals(host.getId())) {
+                promotedHost = copy;
+            }
+        }
+        for (Story s : source.stories()) {
+            Story copy = target.saveStory(Story.builder()
+                    .roomId(room.getId())
+                    .title(s.getTitle())
+                    .description(s.getDescription())
+                    .externalRef(s.getExternalRef())
+                    .orderIndex(s.getOrderIndex())
+                    .status(s.getStatus())
+                    .finalEstimate(s.getFinalEstimate())
+                    .build());
+            ids.put(s.getId(), copy.getId());
+        }
+        // Rounds of deleted stories and votes of kicked participants have nothing to refer to
+        Map<UUID, Round> rounds = new HashMap<>();
+        // Copied in order, so the copy of the latest round is the latest again
+        List<Round> sourceRounds = source.rounds().stream()
+                .sorted(Comparator.comparing(Round::getStartedAt))
+                .toList();
+        for (Round r : sourceRounds) {
+            if (ids.containsKey(r.getStoryId())) {
+                Round copy = target.saveRound(Round.builder()
+                        .roomId(room.getId())
+                        .storyId(ids.get(r.getStoryId()))
+                        .status(r.getStatus())
+                        .revealedAt(r.getRevealedAt())
+                        .finalizedAt(r.getFinalizedAt())
+                        .build());
+                rounds.put(r.getId(), copy);
+                room.setLatestRoundStartedAt(copy.getStartedAt());
+            }
+        }
+        for (Vote v : source.votes()) {
+            Round round = rounds.get(v.getRoundId());
+            if (round != null && ids.containsKey(v.getParticipantId())) {
+                target.saveVote(Vote.builder()
+                        .roundId(round.getId())
+                        .roundStartedAt(round.getStartedAt())
+                        .participantId(ids.get(v.getParticipantId()))
+                        .value(v.getValue())
+                        .build());
+            }
+        }
+        room.setCurrentStoryId(ids.get(source.room().getCurrentStoryId()));
+        room = target.saveRoom(room);
+        promoted.target = room;
+
+        String guestToken = null;
+        if (promotedHost.isGuest()) {
+            guestToken = guestTokenProvider.generateToken(
+                    promotedHost.getGuestId(), promotedHost.getId(), room.getId(), ParticipantRole.HOST);
+        }
+        return new JoinRoomResponse(RoomResponse.from(room), ParticipantResponse.from(promotedHost), guestToken);
+    }
+
+    /**
+     * Finishes a promotion with its transaction: announces the new room after commit, or
+     * reopens the ephemeral room if the copy did not commit.
+     */
+    private final class PromotedRoom implements TransactionSynchronization {
+        private final RedisRoomStore ephemeral;
+        private final Room source;
+        private Room target;
+
+        PromotedRoom(RedisRoomStore ephemeral, Room source) {
+            this.ephemeral = ephemeral;
+            this.source = source;
+        }
+
+        @Override
+        public void afterCommit() {
+            eventPublisher.publish(source.getId(), new RoomEventPayload.RoomPromoted(target.getId(), target.getCode()));
+            log.info("Ephemeral room {} promoted to room {}", source.getId(), target.getId());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                return;
+            }
+            source.setStatus(RoomStatus.ACTIVE);
+            source.setClosedAt(null);
+            try {
+                ephemeral.saveRoomIfStatus(source, RoomStatus.CLOSED);
+            } catch (RuntimeException e) {
+                log.error("Could not reopen ephemeral room {} after a failed promotion", source.getId(), e);
+            }
+        }
     }
 
     // ─── Queries ─────────────────────────────────────────────────────────────
 
     @Transactional(readOnly = true)
     public Room getActiveRoom(UUID roomId) {
-        Room room = roomRepository.findById(roomId)
+        Room room = roomStores.of(roomId).findRoom(roomId)
                 .orElseThrow(() -> new NotFoundException("Room not found: " + roomId));
         if (room.getStatus() == RoomStatus.CLOSED) {
             throw new BadRequestException("Room is closed");
@@ -207,13 +399,13 @@ public class RoomService {
 
     @Transactional(readOnly = true)
     public Room getRoom(UUID roomId) {
-        return roomRepository.findById(roomId)
+        return roomStores.of(roomId).findRoom(roomId)
                 .orElseThrow(() -> new NotFoundException("Room not found: " + roomId));
     }
 
     @Transactional(readOnly = true)
     public List<Participant> getParticipants(UUID roomId) {
-        return participantRepository.findByRoomId(roomId);
+        return roomStores.of(roomId).findParticipants(roomId);
     }
 
     @Transactional(readOnly = true)
@@ -228,10 +420,11 @@ public class RoomService {
     // ─── Helpers ──────────────────────────────────────────────────────────────
 
     private Participant findExistingParticipant(UUID roomId, ActorContext actor) {
+        RoomStore store = roomStores.of(roomId);
         if (actor.isUser()) {
-            return participantRepository.findByRoomIdAndUserId(roomId, actor.getUserId()).orElse(null);
+            return store.findParticipantByUser(roomId, actor.getUserId()).orElse(null);
         } else {
-            return participantRepository.findByRoomIdAndGuestId(roomId, actor.getGuestId()).orElse(null);
+            return store.findParticipantByGuest(roomId, actor.getGuestId()).orElse(null);
         }
     }
 
@@ -239,7 +432,7 @@ public class RoomService {
         Participant host;
         if (hostActor.hasGuestToken()) {
             // Token already validated and contains role=HOST
-            host = participantRepository.findById(hostActor.getGuestParticipantId())
+            host = roomStores.of(roomId).findParticipant(hostActor.getGuestParticipantId())
                     .orElseThrow(() -> new ForbiddenException("Participant not found"));
             if (host.getRole() != ParticipantRole.HOST) {
                 throw new ForbiddenException("Only host can perform this action");
@@ -259,25 +452,4 @@ public class RoomService {
         }
         return requested != null ? requested : ParticipantRole.PARTICIPANT;
     }
-
-    private String generateUniqueCode() {
-        String code;
-        int attempts = 0;
-        do {
-            code = generateCode();
-            attempts++;
-            if (attempts > 20) {
-                throw new RuntimeException("Failed to generate unique room code");
-            }
-        } while (roomRepository.existsByCode(code));
-        return code;
-    }
-
-    private String generateCode() {
-        StringBuilder sb = new StringBuilder(CODE_LENGTH);
-        for (int i = 0; i < CODE_LENGTH; i++) {
-            sb.append(CODE_CHARS.charAt(random.nextInt(CODE_CHARS.length())));
-        }
-        return sb.toString();
-    }
 }
@@ -1,15 +1,15 @@
 package com.paula.pokerplanning_server.service;
 
+import com.paula.pokerplanning_server.diagnostics.RoomOperation;
 import com.paula.pokerplanning_server.domain.model.*;
-import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
-import com.paula.pokerplanning_server.domain.repository.RoundRepository;
-import com.paula.pokerplanning_server.domain.repository.StoryRepository;
-import com.paula.pokerplanning_server.domain.repository.VoteRepository;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
 import com.paula.pokerplanning_server.exception.BadRequestException;
 import com.paula.pokerplanning_server.exception.ConflictException;
 import com.paula.pokerplanning_server.exception.ForbiddenException;
 import com.paula.pokerplanning_server.exception.NotFoundException;
 import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
 import com.paula.pokerplanning_server.web.dto.RoundResponse;
 import com.paula.pokerplanning_server.web.dto.VoteResponse;
 import lombok.RequiredArgsConstructor;
@@ -19,18 +19,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
 @Service
+@RoomOperation
 @RequiredArgsConstructor
 public class RoundService {
 
-    private final RoundRepository roundRepository;
-    private final VoteRepository voteRepository;
-    private final StoryRepository storyRepository;
-    private final ParticipantRepository participantRepository;
+    private final RoomStores roomStores;
     private final RoomService roomService;
     private final EventPublisher eventPublisher;
 
@@ -47,8 +44,8 @@ public class RoundService {
         }
 
         // Check for active round
-        boolean hasActive = roundRepository.findByRoomIdAndStatusIn(roomId,
-                List.of(RoundStatus.VOTING, RoundStatus.REVEALED)).isPresent();
+        RoomStore store = roomStores.of(roomId);
+        boolean hasActive = store.findActiveRound(roomId).isPresent();
         if (hasActive) {
             throw new ConflictException("A round is already in progress");
         }
@@ -58,13 +55,12 @@ public class RoundService {
                 .storyId(storyId)
                 .status(RoundStatus.VOTING)
                 .build();
-        round = roundRepository.save(round);
+        round = store.saveRound(round);
+        room.setLatestRoundStartedAt(round.getStartedAt());
+        store.saveRoom(room);
 
-        eventPublisher.publish(EventType.ROUND_STARTED, roomId, Map.of(
-                "roundId", round.getId().toString(),
-                "storyId", storyId.toString(),
-                "status", RoundStatus.VOTING.name()
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.RoundStarted(
+                round.getId(), storyId, RoundStatus.VOTING));
 
         return round;
     }
@@ -84,18 +80,17 @@ public class RoundService {
         }
 
         // Upsert vote
-        Vote vote = voteRepository.findByRoundIdAndParticipantId(round.getId(), participant.getId())
+        RoomStore store = roomStores.of(roomId);
+        Vote vote = store.findVote(round, participant.getId())
                 .orElseGet(() -> Vote.builder()
                         .roundId(round.getId())
+                        .roundStartedAt(round.getStartedAt())
                         .participantId(participant.getId())
                         .build());
         vote.setValue(value);
-        voteRepository.save(vote);
+        store.saveVote(vote);
 
-        eventPublisher.publish(EventType.VOTE_CAST, roomId, Map.of(
-                "participantId", participant.getId().toString(),
-                "hasVoted", true
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.VoteCast(participant.getId(), true));
     }
 
     // ─── Reveal ───────────────────────────────────────────────────────────────
@@ -111,20 +106,15 @@ public class RoundService {
 
         round.setStatus(RoundStatus.REVEALED);
         round.setRevealedAt(Instant.now());
-        round = roundRepository.save(round);
+        RoomStore store = roomStores.of(roomId);
+        round = store.saveRound(round);
 
-        List<Vote> votes = voteRepository.findByRoundId(round.getId());
-        List<Map<String, Object>> votePayloads = votes.stream()
-                .map(v -> Map.<String, Object>of(
-                        "participantId", v.getParticipantId().toString(),
-                        "value", v.getValue()
-                ))
+        List<Vote> votes = store.findVotes(round);
+        List<RoomEventPayload.RevealedVote> revealed = votes.stream()
+                .map(v -> new RoomEventPayload.RevealedVote(v.getParticipantId(), v.getValue()))
                 .toList();
 
-        eventPublisher.publish(EventType.ROUND_REVEALED, roomId, Map.of(
-                "roundId", round.getId().toString(),
-                "votes", votePayloads
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.RoundRevealed(round.getId(), revealed));
 
         return round;
     }
@@ -136,13 +126,13 @@ public class RoundService {
         roomService.requireHost(roomId, hostActor);
         Round round = getActiveRound(roomId);
 
-        voteRepository.deleteByRoundId(round.getId());
+        RoomStore store = roomStores.of(roomId);
+        store.deleteVotes(round);
         round.setStatus(RoundStatus.VOTING);
         round.setRevealedAt(null);
-        round = roundRepository.save(round);
+        round = store.saveRound(round);
 
-        eventPublisher.publish(EventType.ROUND_RESET, roomId,
-                Map.of("roundId", round.getId().toString()));
+        eventPublisher.publish(roomId, new RoomEventPayload.RoundReset(round.getId()));
 
         return round;
     }
@@ -160,20 +150,18 @@ public class RoundService {
 
         round.setStatus(RoundStatus.FINALIZED);
         round.setFinalizedAt(Instant.now());
-        round = roundRepository.save(round);
+        RoomStore store = roomStores.of(roomId);
+        round = store.saveRound(round);
 
         // Mark story as estimated
-        storyRepository.findById(round.getStoryId()).ifPresent(story -> {
+        store.findStory(round.getStoryId()).ifPresent(story -> {
             story.setStatus(StoryStatus.ESTIMATED);
             story.setFinalEstimate(finalEstimate);
-            storyRepository.save(story);
+            store.saveStory(story);
         });
 
-        eventPublisher.publish(EventType.ROUND_FINALIZED, roomId, Map.of(
-                "roundId", round.getId().toString(),
-                "storyId", round.getStoryId().toString(),
-                "finalEstimate", finalEstimate
-        ));
+        eventPublisher.publish(roomId, new RoomEventPayload.RoundFinalized(
+                round.getId(), round.getStoryId(), finalEstimate));
 
         return round;
     }
@@ -182,8 +170,7 @@ public class RoundService {
 
     @Transactional(readOnly = true)
     public Round getActiveRound(UUID roomId) {
-        return roundRepository.findByRoomIdAndStatusIn(roomId,
-                        List.of(RoundStatus.VOTING, RoundStatus.REVEALED))
+        return roomStores.of(roomId).findActiveRound(roomId)
                 .orElseThrow(() -> new NotFoundException("No active round found in room " + roomId));
     }
 
@@ -198,7 +185,8 @@ public class RoundService {
     }
 
     public RoundResponse toResponse(Round round) {
-        List<Vote> votes = voteRepository.findByRoundId(round.getId());
+        RoomStore store = roomStores.of(round.getRoomId());
+        List<Vote> votes = store.findVotes(round);
         boolean concealed = round.getStatus() == RoundStatus.VOTING;
 
         List<VoteResponse> voteResponses = votes.stream()
@@ -210,7 +198,7 @@ public class RoundService {
                 .toList();
 
         // Add "not voted" entries for participants who haven't voted
-        List<Participant> participants = participantRepository.findByRoomId(round.getRoomId());
+        List<Participant> participants = store.findParticipants(round.getRoomId());
         List<UUID> votedIds = votes.stream().map(Vote::getParticipantId).toList();
 
         List<VoteResponse> notVoted = participants.stream()
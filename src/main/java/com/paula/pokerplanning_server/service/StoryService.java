@@ -1,13 +1,14 @@
 package com.paula.pokerplanning_server.service;
 
-import com.paula.pokerplanning_server.domain.model.EventType;
+import com.paula.pokerplanning_server.diagnostics.RoomOperation;
 import com.paula.pokerplanning_server.domain.model.Story;
 import com.paula.pokerplanning_server.domain.model.StoryStatus;
-import com.paula.pokerplanning_server.domain.repository.RoomRepository;
-import com.paula.pokerplanning_server.domain.repository.StoryRepository;
+import com.paula.pokerplanning_server.event.RoomEventPayload;
 import com.paula.pokerplanning_server.exception.BadRequestException;
 import com.paula.pokerplanning_server.exception.NotFoundException;
 import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
 import com.paula.pokerplanning_server.web.dto.StoryResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,14 +18,16 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RoomOperation
 @RequiredArgsConstructor
 public class StoryService {
 
-    private final StoryRepository storyRepository;
-    private final RoomRepository roomRepository;
+    private final RoomStores roomStores;
     private final RoomService roomService;
     private final EventPublisher eventPublisher;
 
@@ -34,7 +37,8 @@ public class StoryService {
         roomService.requireHost(roomId, hostActor);
         ensureRoomExists(roomId);
 
-        int maxOrder = storyRepository.countByRoomId(roomId);
+        RoomStore store = roomStores.of(roomId);
+        int maxOrder = store.countStories(roomId);
         Story story = Story.builder()
                 .roomId(roomId)
                 .title(title)
@@ -42,10 +46,9 @@ public class StoryService {
                 .externalRef(externalRef)
                 .orderIndex(maxOrder)
                 .build();
-        story = storyRepository.save(story);
+        story = store.saveStory(story);
 
-        eventPublisher.publish(EventType.STORY_CREATED, roomId,
-                Map.of("story", StoryResponse.from(story)));
+        eventPublisher.publish(roomId, new RoomEventPayload.StoryCreated(StoryResponse.from(story)));
 
         return story;
     }
@@ -59,10 +62,9 @@ public class StoryService {
         if (title != null) story.setTitle(title);
         if (description != null) story.setDescription(description);
         if (externalRef != null) story.setExternalRef(externalRef);
-        story = storyRepository.save(story);
+        story = roomStores.of(storyId).saveStory(story);
 
-        eventPublisher.publish(EventType.STORY_UPDATED, story.getRoomId(),
-                Map.of("story", StoryResponse.from(story)));
+        eventPublisher.publish(story.getRoomId(), new RoomEventPayload.StoryUpdated(StoryResponse.from(story)));
 
         return story;
     }
@@ -71,29 +73,29 @@ public class StoryService {
     public void deleteStory(UUID storyId, ActorContext hostActor) {
         Story story = getStory(storyId);
         roomService.requireHost(story.getRoomId(), hostActor);
-        storyRepository.delete(story);
+        roomStores.of(storyId).deleteStory(story);
 
-        eventPublisher.publish(EventType.STORY_DELETED, story.getRoomId(),
-                Map.of("storyId", storyId.toString()));
+        eventPublisher.publish(story.getRoomId(), new RoomEventPayload.StoryDeleted(storyId));
     }
 
     @Transactional
     public List<Story> reorderStories(UUID roomId, List<UUID> orderedIds, ActorContext hostActor) {
         roomService.requireHost(roomId, hostActor);
-        List<Story> stories = storyRepository.findByRoomIdOrderByOrderIndexAsc(roomId);
+        RoomStore store = roomStores.of(roomId);
+        List<Story> stories = store.findStories(roomId);
+        Map<UUID, Story> byId = stories.stream()
+                .collect(Collectors.toMap(Story::getId, Function.identity()));
 
         for (int i = 0; i < orderedIds.size(); i++) {
-            final int index = i;
-            final UUID id = orderedIds.get(i);
-            stories.stream()
-                    .filter(s -> s.getId().equals(id))
-                    .findFirst()
-                    .ifPresent(s -> s.setOrderIndex(index));
+            Story story = byId.get(orderedIds.get(i));
+            if (story != null) {
+                story.setOrderIndex(i);
+            }
         }
-        stories = storyRepository.saveAll(stories);
+        // One JDBC batch of the changed rows, or one Redis call for an ephemeral room
+        stories = store.saveStories(stories);
 
-        eventPublisher.publish(EventType.STORY_REORDERED, roomId,
-                Map.of("storyIds", orderedIds.stream().map(UUID::toString).toList()));
+        eventPublisher.publish(roomId, new RoomEventPayload.StoryReordered(List.copyOf(orderedIds)));
 
         return stories;
     }
@@ -107,39 +109,34 @@ public class StoryService {
         }
 
         var room = roomService.getActiveRoom(roomId);
+        RoomStore store = roomStores.of(roomId);
         // Clear previous selection
-        storyRepository.findByRoomIdOrderByOrderIndexAsc(roomId).stream()
-                .filter(s -> s.getStatus() == StoryStatus.SELECTED)
-                .forEach(s -> {
-                    s.setStatus(StoryStatus.PENDING);
-                    storyRepository.save(s);
-                });
+        store.deselectStories(roomId, storyId);
 
         story.setStatus(StoryStatus.SELECTED);
-        story = storyRepository.save(story);
+        story = store.saveStory(story);
 
         room.setCurrentStoryId(storyId);
-        roomRepository.save(room);
+        store.saveRoom(room);
 
-        eventPublisher.publish(EventType.STORY_SELECTED, roomId,
-                Map.of("storyId", storyId.toString()));
+        eventPublisher.publish(roomId, new RoomEventPayload.StorySelected(storyId));
 
         return story;
     }
 
     @Transactional(readOnly = true)
     public List<Story> getStoriesByRoom(UUID roomId) {
-        return storyRepository.findByRoomIdOrderByOrderIndexAsc(roomId);
+        return roomStores.of(roomId).findStories(roomId);
     }
 
     @Transactional(readOnly = true)
     public Story getStory(UUID storyId) {
-        return storyRepository.findById(storyId)
+        return roomStores.of(storyId).findStory(storyId)
                 .orElseThrow(() -> new NotFoundException("Story not found: " + storyId));
     }
 
     private void ensureRoomExists(UUID roomId) {
-        if (!roomRepository.existsById(roomId)) {
+        if (!roomStores.of(roomId).roomExists(roomId)) {
             throw new NotFoundException("Room not found: " + roomId);
         }
     }
@@ -1,10 +1,8 @@
 package com.paula.pokerplanning_server.service;
 
-import com.paula.pokerplanning_server.domain.model.Participant;
 import com.paula.pokerplanning_server.domain.model.Room;
 import com.paula.pokerplanning_server.domain.model.RoomStatus;
 import com.paula.pokerplanning_server.domain.model.User;
-import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
 import com.paula.pokerplanning_server.domain.repository.RoomRepository;
 import com.paula.pokerplanning_server.domain.repository.UserRepository;
 import com.paula.pokerplanning_server.exception.BadRequestException;
@@ -12,14 +10,19 @@ import com.paula.pokerplanning_server.exception.ConflictException;
 import com.paula.pokerplanning_server.exception.ForbiddenException;
 import com.paula.pokerplanning_server.exception.NotFoundException;
 import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.paula.pokerplanning_server.store.RedisRoomStore;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -28,11 +31,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
-    private final ParticipantRepository participantRepository;
+    private final RoomStores roomStores;
     private final GuestTokenProvider guestTokenProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    @Transactional
+    /**
+     * Not transactional on purpose: hashing can wait for a worker, and no DB
+     * connection should be held meanwhile. Unique constraints guard the race.
+     */
     public User register(String username, String email, String password) {
         if (userRepository.existsByUsername(username)) {
             throw new ConflictException("Username already taken: " + username);
@@ -43,20 +49,29 @@ public class UserService {
         User user = User.builder()
                 .username(username)
                 .email(email)
-                .passwordHash(passwordEncoder.encode(password))
+                .passwordHash(passwordHashingService.encode(password))
                 .build();
         return userRepository.save(user);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Checks the password and, when the configured work factor has changed since the
+     * hash was made, re-hashes it transparently. Not transactional for the same
+     * reason as {@link #register}.
+     */
     public User authenticate(String usernameOrEmail, String password) {
         User user = userRepository.findByUsername(usernameOrEmail)
                 .or(() -> userRepository.findByEmail(usernameOrEmail))
                 .orElseThrow(() -> new BadRequestException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new BadRequestException("Invalid credentials");
         }
+        if (passwordHashingService.needsUpgrade(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(password));
+            user = userRepository.save(user);
+            log.info("Upgraded password hash for user {}", user.getId());
+        }
         return user;
     }
 
@@ -77,33 +92,44 @@ public class UserService {
             throw new ForbiddenException("Guest ID does not match token");
         }
 
-        // Re-associate rooms created by this guestId
-        List<Room> guestRooms = roomRepository.findByCreatorGuestId(guestId);
-        for (Room room : guestRooms) {
+        // Re-associate rooms created by this guestId, persistent and ephemeral
+        roomRepository.reassignCreatorGuest(guestId, userId);
+        RedisRoomStore ephemeral = roomStores.ephemeral();
+        for (Room room : ephemeralRooms(() -> ephemeral.findRoomsCreatedByGuest(guestId))) {
             room.setCreatorUserId(userId);
             room.setCreatorGuestId(null);
-            roomRepository.save(room);
+            ephemeral.saveRoom(room);
         }
 
-        // Re-associate participant records
-        List<Participant> guestParticipants = participantRepository.findByRoomId(claims.roomId())
-                .stream()
-                .filter(p -> guestId.equals(p.getGuestId()))
-                .toList();
-
-        for (Participant p : guestParticipants) {
-            if (!participantRepository.existsByRoomIdAndUserId(p.getRoomId(), userId)) {
-                p.setUserId(userId);
-                p.setGuestId(null);
-                participantRepository.save(p);
-            }
-        }
+        // Re-associate the participant record (at most one per room and guest)
+        RoomStore store = roomStores.of(claims.roomId());
+        store.findParticipantByGuest(claims.roomId(), guestId)
+                .filter(p -> store.findParticipantByUser(p.getRoomId(), userId).isEmpty())
+                .ifPresent(p -> {
+                    p.setUserId(userId);
+                    p.setGuestId(null);
+                    store.saveParticipant(p);
+                });
 
         log.info("Claimed sessions for guest {} -> user {}", guestId, userId);
     }
 
     @Transactional(readOnly = true)
     public List<Room> getSessionsByUser(UUID userId) {
-        return roomRepository.findByCreatorUserIdAndStatus(userId, RoomStatus.ACTIVE);
+        List<Room> rooms = new ArrayList<>(roomRepository.findByCreatorUserIdAndStatus(userId, RoomStatus.ACTIVE));
+        ephemeralRooms(() -> roomStores.ephemeral().findRoomsCreatedByUser(userId)).stream()
+                .filter(room -> room.getStatus() == RoomStatus.ACTIVE)
+                .forEach(rooms::add);
+        return rooms;
+    }
+
+    // Deployments without Redis have no ephemeral rooms; that must not fail the persistent part
+    private List<Room> ephemeralRooms(Supplier<List<Room>> lookup) {
+        try {
+            return lookup.get();
+        } catch (DataAccessException e) {
+            log.warn("Ephemeral rooms unavailable: {}", e.getMessage());
+            return List.of();
+        }
     }
 }
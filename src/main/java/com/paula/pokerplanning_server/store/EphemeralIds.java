@@ -0,0 +1,91 @@
+package com.paula.pokerplanning_server.store;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Ids and codes of ephemeral rooms, which tell by themselves where the room lives.
+ *
+ * Ephemeral ids are version 8 UUIDs (persistent rows get versions 4 and 7). The most
+ * significant half carries the room code, and is shared by the room and everything in
+ * it, so any participant, story, round or vote id leads to its room's Redis hash and a
+ * code leads to its room id without a lookup. Codes are one character longer than
+ * pooled codes, which keeps the two apart on join-by-code.
+ */
+public final class EphemeralIds {
+
+    // Same alphabet as RoomCodePool: 32 characters, 5 bits each
+    private static final String CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    public static final int CODE_LENGTH = 7;
+
+    private static final long VERSION_8 = 0x8000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private EphemeralIds() {
+    }
+
+    public static boolean isEphemeral(UUID id) {
+        return id != null && id.version() == 8;
+    }
+
+    public static boolean isCode(String code) {
+        return code != null && code.length() == CODE_LENGTH;
+    }
+
+    public static String newCode() {
+        StringBuilder sb = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            sb.append(CODE_CHARS.charAt(RANDOM.nextInt(CODE_CHARS.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Id of the room with this code, or null if the code is not an ephemeral code.
+     */
+    public static UUID roomId(String code) {
+        if (!isCode(code)) {
+            return null;
+        }
+        long value = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int digit = CODE_CHARS.indexOf(code.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            value = value << 5 | digit;
+        }
+        return new UUID(value << 16 | VERSION_8, VARIANT);
+    }
+
+    public static String code(UUID roomId) {
+        long value = roomId.getMostSignificantBits() >>> 16;
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CODE_CHARS.charAt((int) (value & 31));
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Room an ephemeral id belongs to; a room id maps to itself.
+     */
+    public static UUID roomOf(UUID id) {
+        return new UUID(id.getMostSignificantBits(), VARIANT);
+    }
+
+    /**
+     * New id for a participant, story, round or vote of the room.
+     */
+    public static UUID newId(UUID roomId) {
+        long lsb;
+        do {
+            lsb = RANDOM.nextLong() & VARIANT_MASK | VARIANT;
+        } while (lsb == VARIANT);
+        return new UUID(roomId.getMostSignificantBits(), lsb);
+    }
+}
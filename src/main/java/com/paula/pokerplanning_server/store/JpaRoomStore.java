@@ -0,0 +1,154 @@
+package com.paula.pokerplanning_server.store;
+
+import com.paula.pokerplanning_server.domain.model.*;
+import com.paula.pokerplanning_server.domain.repository.ParticipantRepository;
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import com.paula.pokerplanning_server.domain.repository.RoundRepository;
+import com.paula.pokerplanning_server.domain.repository.StoryRepository;
+import com.paula.pokerplanning_server.domain.repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistent rooms, in Postgres. Runs in the calling service's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaRoomStore implements RoomStore {
+
+    private final RoomRepository roomRepository;
+    private final ParticipantRepository participantRepository;
+    private final StoryRepository storyRepository;
+    private final RoundRepository roundRepository;
+    private final VoteRepository voteRepository;
+
+    // ─── Rooms ───
+
+    @Override
+    public Room saveRoom(Room room) {
+        return roomRepository.save(room);
+    }
+
+    @Override
+    public Optional<Room> findRoom(UUID roomId) {
+        return roomRepository.findById(roomId);
+    }
+
+    @Override
+    public Optional<Room> findRoomByCode(String code) {
+        return roomRepository.findByCode(code);
+    }
+
+    @Override
+    public boolean roomExists(UUID roomId) {
+        return roomRepository.existsById(roomId);
+    }
+
+    // ─── Participants ───
+
+    @Override
+    public Participant saveParticipant(Participant participant) {
+        return participantRepository.save(participant);
+    }
+
+    @Override
+    public Optional<Participant> findParticipant(UUID participantId) {
+        return participantRepository.findById(participantId);
+    }
+
+    @Override
+    public Optional<Participant> findParticipantByUser(UUID roomId, UUID userId) {
+        return participantRepository.findByRoomIdAndUserId(roomId, userId);
+    }
+
+    @Override
+    public Optional<Participant> findParticipantByGuest(UUID roomId, String guestId) {
+        return participantRepository.findByRoomIdAndGuestId(roomId, guestId);
+    }
+
+    @Override
+    public List<Participant> findParticipants(UUID roomId) {
+        return participantRepository.findByRoomId(roomId);
+    }
+
+    @Override
+    public void deleteParticipant(Participant participant) {
+        participantRepository.delete(participant);
+    }
+
+    // ─── Stories ───
+
+    @Override
+    public Story saveStory(Story story) {
+        return storyRepository.save(story);
+    }
+
+    @Override
+    public List<Story> saveStories(List<Story> stories) {
+        return storyRepository.saveAll(stories);
+    }
+
+    @Override
+    public Optional<Story> findStory(UUID storyId) {
+        return storyRepository.findById(storyId);
+    }
+
+    @Override
+    public List<Story> findStories(UUID roomId) {
+        return storyRepository.findByRoomIdOrderByOrderIndexAsc(roomId);
+    }
+
+    @Override
+    public int countStories(UUID roomId) {
+        return storyRepository.countByRoomId(roomId);
+    }
+
+    @Override
+    public void deleteStory(Story story) {
+        storyRepository.delete(story);
+    }
+
+    @Override
+    public void deselectStories(UUID roomId, UUID exceptStoryId) {
+        storyRepository.updateStatusInRoom(roomId, StoryStatus.SELECTED, StoryStatus.PENDING, exceptStoryId);
+    }
+
+    // ─── Rounds ───
+
+    @Override
+    public Round saveRound(Round round) {
+        return roundRepository.save(round);
+    }
+
+    @Override
+    public Optional<Round> findActiveRound(UUID roomId) {
+        return roundRepository.findActiveByRoomId(roomId);
+    }
+
+    // ─── Votes ───
+
+    @Override
+    public Vote saveVote(Vote vote) {
+        return voteRepository.save(vote);
+    }
+
+    @Override
+    public Optional<Vote> findVote(Round round, UUID participantId) {
+        return voteRepository.findByRoundIdAndRoundStartedAtAndParticipantId(
+                round.getId(), round.getStartedAt(), participantId);
+    }
+
+    @Override
+    public List<Vote> findVotes(Round round) {
+        return voteRepository.findByRoundIdAndRoundStartedAt(round.getId(), round.getStartedAt());
+    }
+
+    @Override
+    public void deleteVotes(Round round) {
+        voteRepository.deleteByRound(round.getId(), round.getStartedAt());
+    }
+}
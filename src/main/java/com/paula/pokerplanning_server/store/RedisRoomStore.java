@@ -0,0 +1,553 @@
+package com.paula.pokerplanning_server.store;
+
+import com.paula.pokerplanning_server.domain.model.*;
+import com.paula.pokerplanning_server.exception.ConflictException;
+import com.paula.pokerplanning_server.exception.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Ephemeral rooms, in Redis only. A room and everything in it is one hash,
+ * eroom:{roomId}, with one JSON field per room, participant, story, round and vote.
+ * Every write extends the hash's TTL, so a room disappears once it has been idle for
+ * the TTL; there is nothing to clean up in Postgres.
+ *
+ * Index fields in the same hash point at the participant of each user and guest and at
+ * the active round, so point lookups read two fields instead of the whole hash. Writes
+ * that check and update them run as one Lua script: a second participant for the same
+ * user or guest is never added (the existing one is returned instead), and starting a
+ * round while another is active fails with ConflictException, as the unique indexes
+ * and checks do for persistent rooms. Rooms are also listed per creator in
+ * ecreator:{u|g}:{id} sets, kept for the TTL and cleaned up as they are read.
+ *
+ * Writes to a room that has expired fail with NotFoundException rather than
+ * recreating part of it.
+ */
+@Component
+public class RedisRoomStore implements RoomStore {
+
+    private static final String KEY_PREFIX = "eroom:";
+    private static final String ROOM = "room";
+    private static final String PARTICIPANT = "p:";
+    private static final String STORY = "s:";
+    private static final String ROUND = "r:";
+    private static final String VOTE = "v:";
+    private static final String USER_INDEX = "ix:u:";
+    private static final String GUEST_INDEX = "ix:g:";
+    private static final String ACTIVE_ROUND = "ix:active";
+    private static final String CREATOR_PREFIX = "ecreator:";
+    private static final String CREATE = "create";
+    private static final String UPDATE = "update";
+    private static final int MAX_CREATE_ATTEMPTS = 20;
+
+    // KEYS[1] room hash; ARGV ttl ms, create|update, then field/value pairs.
+    // Returns 0 without writing when creating an existing room or updating a missing one.
+    private static final RedisScript<Long> WRITE = new DefaultRedisScript<>("""
+            local exists = redis.call('HEXISTS', KEYS[1], 'room') == 1
+            if exists == (ARGV[2] == 'create') then
+              return 0
+            end
+            for i = 3, #ARGV, 2 do
+              redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1] room hash; ARGV ttl, participant id, participant JSON.
+    // Returns the stored participant: ARGV[3], or the participant already indexed under the same
+    // user or guest when that is another one; nil if the room is missing.
+    private static final RedisScript<String> SAVE_PARTICIPANT = new DefaultRedisScript<>("""
+            local function index_of(json)
+              local p = cjson.decode(json)
+              if p.userId and p.userId ~= cjson.null then return 'ix:u:' .. p.userId end
+              if p.guestId and p.guestId ~= cjson.null then return 'ix:g:' .. p.guestId end
+              return nil
+            end
+            if redis.call('HEXISTS', KEYS[1], 'room') == 0 then
+              return false
+            end
+            local field = 'p:' .. ARGV[2]
+            local index = index_of(ARGV[3])
+            local owner = index and redis.call('HGET', KEYS[1], index)
+            if owner and owner ~= ARGV[2] then
+              local existing = redis.call('HGET', KEYS[1], 'p:' .. owner)
+              if existing then
+                return existing
+              end
+            end
+            local previous = redis.call('HGET', KEYS[1], field)
+            if previous then
+              local old = index_of(previous)
+              if old and old ~= index and redis.call('HGET', KEYS[1], old) == ARGV[2] then
+                redis.call('HDEL', KEYS[1], old)
+              end
+            end
+            redis.call('HSET', KEYS[1], field, ARGV[3])
+            if index then
+              redis.call('HSET', KEYS[1], index, ARGV[2])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return ARGV[3]
+            """, String.class);
+
+    // KEYS[1] room hash; ARGV ttl, round id, round JSON, 1 if the round is active.
+    // Returns 0 without writing when another round is active, -1 if the room is missing.
+    private static final RedisScript<Long> SAVE_ROUND = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'room') == 0 then
+              return -1
+            end
+            local active = redis.call('HGET', KEYS[1], 'ix:active')
+            if ARGV[4] == '1' then
+              if active and active ~= ARGV[2] then
+                return 0
+              end
+              redis.call('HSET', KEYS[1], 'r:' .. ARGV[2], ARGV[3], 'ix:active', ARGV[2])
+            else
+              redis.call('HSET', KEYS[1], 'r:' .. ARGV[2], ARGV[3])
+              if active == ARGV[2] then
+                redis.call('HDEL', KEYS[1], 'ix:active')
+              end
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1] room hash; ARGV ttl, expected status, room JSON.
+    // Returns 0 without writing when the stored room has another status, -1 if it is missing.
+    private static final RedisScript<Long> SAVE_ROOM_IF_STATUS = new DefaultRedisScript<>("""
+            local room = redis.call('HGET', KEYS[1], 'room')
+            if not room then
+              return -1
+            end
+            if cjson.decode(room).status ~= ARGV[2] then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], 'room', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1] room hash; ARGV index field, prefix of the indexed entity's field
+    private static final RedisScript<String> GET_INDEXED = new DefaultRedisScript<>("""
+            local id = redis.call('HGET', KEYS[1], ARGV[1])
+            if not id then
+              return false
+            end
+            return redis.call('HGET', KEYS[1], ARGV[2] .. id)
+            """, String.class);
+
+    // KEYS[1] room hash; ARGV field prefix. Values of the matching fields, filtered in Redis.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST = new DefaultRedisScript<>("""
+            local values = {}
+            local fields = redis.call('HGETALL', KEYS[1])
+            for i = 1, #fields, 2 do
+              if string.sub(fields[i], 1, #ARGV[1]) == ARGV[1] then
+                values[#values + 1] = fields[i + 1]
+              end
+            end
+            return values
+            """, List.class);
+
+    // KEYS[1] room hash; ARGV field prefix. Deletes the matching fields.
+    private static final RedisScript<Long> DELETE_PREFIX = new DefaultRedisScript<>("""
+            local deleted = 0
+            for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do
+              if string.sub(field, 1, #ARGV[1]) == ARGV[1] then
+                deleted = deleted + redis.call('HDEL', KEYS[1], field)
+              end
+            end
+            return deleted
+            """, Long.class);
+
+    /**
+     * Everything stored for one room.
+     */
+    public record Contents(Room room, List<Participant> participants, List<Story> stories,
+                           List<Round> rounds, List<Vote> votes) {}
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final HashOperations<String, String, String> hash;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new HashMap<>();
+    private final Duration ttl;
+
+    public RedisRoomStore(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.ephemeral-rooms.ttl-minutes:60}") long ttlMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.hash = redisTemplate.opsForHash();
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        // Entities are stored as plain beans; derived getters such as isUser() are written but not read back
+        for (Class<?> type : List.of(Room.class, Participant.class, Story.class, Round.class, Vote.class)) {
+            readers.put(type, objectMapper.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        }
+    }
+
+    // ─── Rooms ───
+
+    /**
+     * A new room gets a random code, and its id from the code; a taken code is retried.
+     */
+    @Override
+    public Room saveRoom(Room room) {
+        if (room.getId() != null) {
+            update(room.getId(), Map.of(ROOM, json(room)));
+            indexCreator(room);
+            return room;
+        }
+        if (room.getCreatedAt() == null) {
+            room.setCreatedAt(Instant.now());
+        }
+        for (int attempt = 0; attempt < MAX_CREATE_ATTEMPTS; attempt++) {
+            String code = EphemeralIds.newCode();
+            room.setId(EphemeralIds.roomId(code));
+            room.setCode(code);
+            if (write(room.getId(), CREATE, Map.of(ROOM, json(room)))) {
+                indexCreator(room);
+                return room;
+            }
+        }
+        room.setId(null);
+        room.setCode(null);
+        throw new RuntimeException("Failed to generate unique ephemeral room code");
+    }
+
+    /**
+     * Saves the room only if the stored one still has the expected status, so exactly one
+     * of several concurrent status transitions wins.
+     *
+     * @return false if the status had changed or the room is gone
+     */
+    public boolean saveRoomIfStatus(Room room, RoomStatus expected) {
+        Long written = redisTemplate.execute(SAVE_ROOM_IF_STATUS, List.of(key(room.getId())),
+                Long.toString(ttl.toMillis()), expected.name(), json(room));
+        return written != null && written == 1;
+    }
+
+    @Override
+    public Optional<Room> findRoom(UUID roomId) {
+        return get(roomId, ROOM, Room.class);
+    }
+
+    @Override
+    public Optional<Room> findRoomByCode(String code) {
+        UUID roomId = EphemeralIds.roomId(code);
+        return roomId != null ? findRoom(roomId) : Optional.empty();
+    }
+
+    @Override
+    public boolean roomExists(UUID roomId) {
+        return Boolean.TRUE.equals(hash.hasKey(key(roomId), ROOM));
+    }
+
+    public List<Room> findRoomsCreatedByUser(UUID userId) {
+        return findRoomsCreatedBy(CREATOR_PREFIX + "u:" + userId, room -> userId.equals(room.getCreatorUserId()));
+    }
+
+    public List<Room> findRoomsCreatedByGuest(String guestId) {
+        return findRoomsCreatedBy(CREATOR_PREFIX + "g:" + guestId, room -> guestId.equals(room.getCreatorGuestId()));
+    }
+
+    /**
+     * Loads the whole room with a single HGETALL.
+     */
+    public Optional<Contents> load(UUID roomId) {
+        Map<String, String> fields = hash.entries(key(roomId));
+        String room = fields.get(ROOM);
+        if (room == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Contents(
+                read(room, Room.class),
+                sortedParticipants(values(fields, PARTICIPANT, Participant.class)),
+                sortedStories(values(fields, STORY, Story.class)),
+                values(fields, ROUND, Round.class).stream()
+                        .sorted(Comparator.comparing(Round::getStartedAt))
+                        .toList(),
+                values(fields, VOTE, Vote.class)));
+    }
+
+    // ─── Participants ───
+
+    @Override
+    public Participant saveParticipant(Participant participant) {
+        if (participant.getId() == null) {
+            participant.setId(EphemeralIds.newId(participant.getRoomId()));
+        }
+        if (participant.getJoinedAt() == null) {
+            participant.setJoinedAt(Instant.now());
+        }
+        String json = json(participant);
+        String stored = redisTemplate.execute(SAVE_PARTICIPANT, List.of(key(participant.getRoomId())),
+                Long.toString(ttl.toMillis()), participant.getId().toString(), json);
+        if (stored == null) {
+            throw new NotFoundException("Room not found: " + participant.getRoomId());
+        }
+        // A concurrent join of the same user or guest got there first
+        return stored.equals(json) ? participant : read(stored, Participant.class);
+    }
+
+    @Override
+    public Optional<Participant> findParticipant(UUID participantId) {
+        return get(EphemeralIds.roomOf(participantId), PARTICIPANT + participantId, Participant.class);
+    }
+
+    @Override
+    public Optional<Participant> findParticipantByUser(UUID roomId, UUID userId) {
+        return getIndexed(roomId, USER_INDEX + userId, PARTICIPANT, Participant.class)
+                .filter(p -> userId.equals(p.getUserId()));
+    }
+
+    @Override
+    public Optional<Participant> findParticipantByGuest(UUID roomId, String guestId) {
+        return getIndexed(roomId, GUEST_INDEX + guestId, PARTICIPANT, Participant.class)
+                .filter(p -> guestId.equals(p.getGuestId()));
+    }
+
+    @Override
+    public List<Participant> findParticipants(UUID roomId) {
+        return sortedParticipants(list(roomId, PARTICIPANT, Participant.class));
+    }
+
+    @Override
+    public void deleteParticipant(Participant participant) {
+        String index = participant.getUserId() != null
+                ? USER_INDEX + participant.getUserId()
+                : GUEST_INDEX + participant.getGuestId();
+        hash.delete(key(participant.getRoomId()), PARTICIPANT + participant.getId(), index);
+    }
+
+    // ─── Stories ───
+
+    @Override
+    public Story saveStory(Story story) {
+        saveStories(List.of(story));
+        return story;
+    }
+
+    @Override
+    public List<Story> saveStories(List<Story> stories) {
+        if (stories.isEmpty()) {
+            return stories;
+        }
+        UUID roomId = stories.getFirst().getRoomId();
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (Story story : stories) {
+            if (story.getId() == null) {
+                story.setId(EphemeralIds.newId(roomId));
+            }
+            if (story.getCreatedAt() == null) {
+                story.setCreatedAt(Instant.now());
+            }
+            fields.put(STORY + story.getId(), json(story));
+        }
+        update(roomId, fields);
+        return stories;
+    }
+
+    @Override
+    public Optional<Story> findStory(UUID storyId) {
+        return get(EphemeralIds.roomOf(storyId), STORY + storyId, Story.class);
+    }
+
+    @Override
+    public List<Story> findStories(UUID roomId) {
+        return sortedStories(list(roomId, STORY, Story.class));
+    }
+
+    @Override
+    public int countStories(UUID roomId) {
+        return (int) hash.keys(key(roomId)).stream().filter(f -> f.startsWith(STORY)).count();
+    }
+
+    @Override
+    public void deleteStory(Story story) {
+        hash.delete(key(story.getRoomId()), STORY + story.getId());
+    }
+
+    @Override
+    public void deselectStories(UUID roomId, UUID exceptStoryId) {
+        List<Story> selected = findStories(roomId).stream()
+                .filter(s -> s.getStatus() == StoryStatus.SELECTED && !s.getId().equals(exceptStoryId))
+                .toList();
+        selected.forEach(s -> s.setStatus(StoryStatus.PENDING));
+        saveStories(selected);
+    }
+
+    // ─── Rounds ───
+
+    @Override
+    public Round saveRound(Round round) {
+        if (round.getId() == null) {
+            round.setId(EphemeralIds.newId(round.getRoomId()));
+        }
+        if (round.getStartedAt() == null) {
+            round.setStartedAt(Instant.now());
+        }
+        Long written = redisTemplate.execute(SAVE_ROUND, List.of(key(round.getRoomId())),
+                Long.toString(ttl.toMillis()), round.getId().toString(), json(round), isActive(round) ? "1" : "0");
+        if (written == null || written < 0) {
+            throw new NotFoundException("Room not found: " + round.getRoomId());
+        }
+        if (written == 0) {
+            throw new ConflictException("A round is already in progress");
+        }
+        return round;
+    }
+
+    @Override
+    public Optional<Round> findActiveRound(UUID roomId) {
+        return getIndexed(roomId, ACTIVE_ROUND, ROUND, Round.class).filter(RedisRoomStore::isActive);
+    }
+
+    // ─── Votes ───
+
+    @Override
+    public Vote saveVote(Vote vote) {
+        UUID roomId = EphemeralIds.roomOf(vote.getRoundId());
+        if (vote.getId() == null) {
+            vote.setId(EphemeralIds.newId(roomId));
+        }
+        if (vote.getCreatedAt() == null) {
+            vote.setCreatedAt(Instant.now());
+        }
+        // One field per round and participant, so a second vote replaces the first
+        update(roomId, Map.of(voteField(vote.getRoundId(), vote.getParticipantId()), json(vote)));
+        return vote;
+    }
+
+    @Override
+    public Optional<Vote> findVote(Round round, UUID participantId) {
+        return get(round.getRoomId(), voteField(round.getId(), participantId), Vote.class);
+    }
+
+    @Override
+    public List<Vote> findVotes(Round round) {
+        return list(round.getRoomId(), VOTE + round.getId() + ":", Vote.class);
+    }
+
+    @Override
+    public void deleteVotes(Round round) {
+        redisTemplate.execute(DELETE_PREFIX, List.of(key(round.getRoomId())), VOTE + round.getId() + ":");
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static String key(UUID roomId) {
+        return KEY_PREFIX + roomId;
+    }
+
+    private static String voteField(UUID roundId, UUID participantId) {
+        return VOTE + roundId + ":" + participantId;
+    }
+
+    private void update(UUID roomId, Map<String, String> fields) {
+        if (!write(roomId, UPDATE, fields)) {
+            throw new NotFoundException("Room not found: " + roomId);
+        }
+    }
+
+    private boolean write(UUID roomId, String mode, Map<String, String> fields) {
+        List<String> args = new ArrayList<>(2 + fields.size() * 2);
+        args.add(Long.toString(ttl.toMillis()));
+        args.add(mode);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        Long written = redisTemplate.execute(WRITE, List.of(key(roomId)), args.toArray());
+        return written != null && written == 1;
+    }
+
+    private <T> Optional<T> get(UUID roomId, String field, Class<T> type) {
+        String value = hash.get(key(roomId), field);
+        return value != null ? Optional.of(read(value, type)) : Optional.empty();
+    }
+
+    private <T> Optional<T> getIndexed(UUID roomId, String index, String prefix, Class<T> type) {
+        String value = redisTemplate.execute(GET_INDEXED, List.of(key(roomId)), index, prefix);
+        return value != null ? Optional.of(read(value, type)) : Optional.empty();
+    }
+
+    private <T> List<T> list(UUID roomId, String prefix, Class<T> type) {
+        List<?> values = redisTemplate.execute(LIST, List.of(key(roomId)), prefix);
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().map(value -> read((String) value, type)).toList();
+    }
+
+    private static boolean isActive(Round round) {
+        return round.getStatus() == RoundStatus.VOTING || round.getStatus() == RoundStatus.REVEALED;
+    }
+
+    private void indexCreator(Room room) {
+        String creatorKey = room.getCreatorUserId() != null ? CREATOR_PREFIX + "u:" + room.getCreatorUserId()
+                : room.getCreatorGuestId() != null ? CREATOR_PREFIX + "g:" + room.getCreatorGuestId()
+                : null;
+        if (creatorKey != null) {
+            redisTemplate.opsForSet().add(creatorKey, room.getId().toString());
+            redisTemplate.expire(creatorKey, ttl);
+        }
+    }
+
+    // Members whose room expired or changed creator are dropped from the set
+    private List<Room> findRoomsCreatedBy(String creatorKey, Predicate<Room> createdBy) {
+        Set<String> members = redisTemplate.opsForSet().members(creatorKey);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<Room> rooms = new ArrayList<>();
+        for (String member : members) {
+            Optional<Room> room = findRoom(UUID.fromString(member)).filter(createdBy);
+            if (room.isPresent()) {
+                rooms.add(room.get());
+            } else {
+                redisTemplate.opsForSet().remove(creatorKey, member);
+            }
+        }
+        return rooms;
+    }
+
+    private <T> List<T> values(Map<String, String> fields, String prefix, Class<T> type) {
+        List<T> values = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            if (field.startsWith(prefix)) {
+                values.add(read(value, type));
+            }
+        });
+        return values;
+    }
+
+    private String json(Object entity) {
+        return objectMapper.writeValueAsString(entity);
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        return readers.get(type).readValue(json);
+    }
+
+    private static List<Participant> sortedParticipants(List<Participant> participants) {
+        return participants.stream().sorted(Comparator.comparing(Participant::getJoinedAt)).toList();
+    }
+
+    private static List<Story> sortedStories(List<Story> stories) {
+        return stories.stream().sorted(Comparator.comparingInt(Story::getOrderIndex)).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.paula.pokerplanning_server.store;
+
+import com.paula.pokerplanning_server.domain.model.Participant;
+import com.paula.pokerplanning_server.domain.model.Room;
+import com.paula.pokerplanning_server.domain.model.Round;
+import com.paula.pokerplanning_server.domain.model.Story;
+import com.paula.pokerplanning_server.domain.model.Vote;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * State of a room and everything in it, as used by RoomService, StoryService and
+ * RoundService. Persistent rooms are backed by the JPA repositories, ephemeral rooms
+ * by a Redis hash; {@link RoomStores} picks the store from an id.
+ *
+ * save methods return the stored instance, with id and timestamps assigned.
+ */
+public interface RoomStore {
+
+    // ─── Rooms ───
+
+    Room saveRoom(Room room);
+
+    Optional<Room> findRoom(UUID roomId);
+
+    Optional<Room> findRoomByCode(String code);
+
+    boolean roomExists(UUID roomId);
+
+    // ─── Participants ───
+
+    Participant saveParticipant(Participant participant);
+
+    /**
+     * Looks a participant up by id alone; callers check the room it belongs to.
+     */
+    Optional<Participant> findParticipant(UUID participantId);
+
+    Optional<Participant> findParticipantByUser(UUID roomId, UUID userId);
+
+    Optional<Participant> findParticipantByGuest(UUID roomId, String guestId);
+
+    List<Participant> findParticipants(UUID roomId);
+
+    void deleteParticipant(Participant participant);
+
+    // ─── Stories ───
+
+    Story saveStory(Story story);
+
+    List<Story> saveStories(List<Story> stories);
+
+    Optional<Story> findStory(UUID storyId);
+
+    /**
+     * Stories of the room in backlog order.
+     */
+    List<Story> findStories(UUID roomId);
+
+    int countStories(UUID roomId);
+
+    void deleteStory(Story story);
+
+    /**
+     * Puts every SELECTED story of the room except {@code exceptStoryId} back to PENDING.
+     */
+    void deselectStories(UUID roomId, UUID exceptStoryId);
+
+    // ─── Rounds ───
+
+    Round saveRound(Round round);
+
+    /**
+     * The room's round in VOTING or REVEALED status, if any. Only the room's latest round
+     * can be active; see Room.latestRoundStartedAt.
+     */
+    Optional<Round> findActiveRound(UUID roomId);
+
+    // ─── Votes ───
+
+    /**
+     * Votes are saved with their round's start time set (Vote.roundStartedAt).
+     */
+    Vote saveVote(Vote vote);
+
+    Optional<Vote> findVote(Round round, UUID participantId);
+
+    List<Vote> findVotes(Round round);
+
+    void deleteVotes(Round round);
+}
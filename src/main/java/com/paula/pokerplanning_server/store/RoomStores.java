@@ -0,0 +1,37 @@
+package com.paula.pokerplanning_server.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Picks the store a room lives in. Ephemeral ids and codes are recognizable by
+ * themselves (see {@link EphemeralIds}), so routing needs no lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomStores {
+
+    private final JpaRoomStore persistent;
+    private final RedisRoomStore ephemeral;
+
+    /**
+     * Store holding the room, participant, story, round or vote with this id.
+     */
+    public RoomStore of(UUID id) {
+        return EphemeralIds.isEphemeral(id) ? ephemeral : persistent;
+    }
+
+    public RoomStore forCode(String code) {
+        return EphemeralIds.isCode(code) ? ephemeral : persistent;
+    }
+
+    public JpaRoomStore persistent() {
+        return persistent;
+    }
+
+    public RedisRoomStore ephemeral() {
+        return ephemeral;
+    }
+}
@@ -1,6 +1,8 @@
 package com.paula.pokerplanning_server.web.dto;
 
 import com.paula.pokerplanning_server.domain.model.DeckType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -8,5 +10,7 @@ public record RoomCreateRequest(
         @NotBlank @Size(max = 100) String name,
         @NotBlank @Size(max = 100) String displayName,
         DeckType deckType,
-        Boolean allowObservers
+        Boolean allowObservers,
+        @Min(0) @Max(60000) Integer observerUpdateIntervalMs,
+        Boolean ephemeral
 ) {}
@@ -3,6 +3,7 @@ package com.paula.pokerplanning_server.web.dto;
 import com.paula.pokerplanning_server.domain.model.DeckType;
 import com.paula.pokerplanning_server.domain.model.Room;
 import com.paula.pokerplanning_server.domain.model.RoomStatus;
+import com.paula.pokerplanning_server.store.EphemeralIds;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -13,6 +14,8 @@ public record RoomResponse(
         String code,
         DeckType deckType,
         boolean allowObservers,
+        Integer observerUpdateIntervalMs,
+        boolean ephemeral,
         RoomStatus status,
         UUID currentStoryId,
         Instant createdAt
@@ -24,6 +27,8 @@ public record RoomResponse(
                 room.getCode(),
                 room.getSettings().getDeckType(),
                 room.getSettings().isAllowObservers(),
+                room.getSettings().getObserverUpdateIntervalMs(),
+                EphemeralIds.isEphemeral(room.getId()),
                 room.getStatus(),
                 room.getCurrentStoryId(),
                 room.getCreatedAt()
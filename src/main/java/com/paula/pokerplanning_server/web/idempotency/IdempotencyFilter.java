@@ -0,0 +1,294 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import com.paula.pokerplanning_server.security.UserPrincipal;
+import com.paula.pokerplanning_server.web.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Makes mutating requests that carry an Idempotency-Key header safe to retry.
+ *
+ * The first request with a given key (scoped to the caller, method and path) runs
+ * normally and its response is stored for app.idempotency.ttl-seconds. Duplicates
+ * get the stored response replayed, with its status, body and the headers in
+ * REPLAYED_HEADERS, or wait for it while the first request is still running. A
+ * duplicate whose body differs from the first request's is rejected with 422. The
+ * body is buffered to be fingerprinted, so keyed requests whose body is larger than
+ * app.idempotency.max-body-bytes are rejected with 413 before more than that is read.
+ *
+ * Only 2xx and the 4xx in CACHED_CLIENT_ERRORS, which the same request always gets
+ * again, are stored. Auth failures, conflicts, rate limits, 5xx and exceptions depend
+ * on state that can change, so those can be retried with the same key.
+ *
+ * Runs inside the security chain after JwtAuthenticationFilter, which it needs to
+ * identify the caller.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<Integer> CACHED_CLIENT_ERRORS = Set.of(400, 405, 410, 413, 415, 422);
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER, HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final IdempotencyStore store;
+    private final GuestTokenProvider guestTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            GuestTokenProvider guestTokenProvider,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.enabled:true}") boolean enabled,
+            @Value("${app.idempotency.wait-ms:10000}") long maxWaitMs,
+            @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        this.store = store;
+        this.guestTokenProvider = guestTokenProvider;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        return !enabled
+                || request.getHeader(HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        String actor = resolveActor(request);
+        if (actor == null || !StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            // Without a caller identity keys could collide across clients; run un-deduplicated
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = actor + ":" + request.getMethod() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        CachedBodyRequest cachedRequest = CachedBodyRequest.read(request, maxBodyBytes);
+        if (cachedRequest == null) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an Idempotency-Key are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        String fingerprint = fingerprint(cachedRequest.body);
+
+        String token = UUID.randomUUID().toString();
+        Optional<StoredResponse> previous;
+        try {
+            previous = store.claim(key, token, maxWait);
+        } catch (IdempotencyStore.InFlightException e) {
+            writeError(request, response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        }
+        if (previous.isPresent()) {
+            String storedFingerprint = previous.get().requestFingerprint();
+            if (storedFingerprint != null && !storedFingerprint.equals(fingerprint)) {
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            replay(previous.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, wrapper);
+            byte[] body = wrapper.getContentAsByteArray();
+            if (isCacheable(wrapper.getStatus()) && body.length <= maxBodyBytes) {
+                store.complete(key, token, new StoredResponse(
+                        wrapper.getStatus(), wrapper.getContentType(), replayedHeaders(wrapper), body, fingerprint));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key, token);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isCacheable(int status) {
+        return (status >= 200 && status < 300) || CACHED_CLIENT_ERRORS.contains(status);
+    }
+
+    private static Map<String, List<String>> replayedHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        return headers;
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.headers() != null) {
+            stored.headers().forEach((name, values) -> response.setHeader(name, String.join(", ", values)));
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private String resolveActor(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal user) {
+            return "user:" + user.getUserId();
+        }
+        String guestId = request.getHeader("X-Guest-Id");
+        if (StringUtils.hasText(guestId)) {
+            return "guest:" + guestId;
+        }
+        String guestToken = request.getHeader("X-Guest-Token");
+        if (StringUtils.hasText(guestToken)) {
+            try {
+                return "guest:" + guestTokenProvider.validate(guestToken).guestId();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ErrorResponse body = new ErrorResponse(
+                status.value(), status.getReasonPhrase(), message, request.getRequestURI(), Instant.now());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * Reads the body up front, so it can be fingerprinted before the request runs and
+     * still be read by the handler.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * @return null if the body is longer than maxBytes; at most maxBytes + 1 bytes are read
+         */
+        static CachedBodyRequest read(HttpServletRequest request, int maxBytes) throws IOException {
+            if (request.getContentLengthLong() > maxBytes) {
+                return null;
+            }
+            // Content-Length may be absent (chunked), so read one byte past the limit to detect overflow
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            return body.length > maxBytes ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
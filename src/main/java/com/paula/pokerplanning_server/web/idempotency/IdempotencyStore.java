@@ -0,0 +1,35 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for the calling request, or returns the response of the request
+     * that claimed it first. If that request is still running, waits up to maxWait
+     * for it to finish.
+     *
+     * @param token unique to the calling request; only it can release the claim
+     * @return empty if the caller now owns the key and must run the request
+     * @throws InFlightException if the first request did not finish within maxWait
+     */
+    Optional<StoredResponse> claim(String key, String token, Duration maxWait);
+
+    /**
+     * Records the outcome for the key and hands it to any waiting duplicates.
+     */
+    void complete(String key, String token, StoredResponse response);
+
+    /**
+     * Gives up the key without a stored outcome, so a retry runs the request again.
+     * Does nothing if the key is no longer held by the claim with this token.
+     */
+    void release(String key, String token);
+
+    class InFlightException extends RuntimeException {
+        public InFlightException() {
+            super("A request with this Idempotency-Key is still in progress");
+        }
+    }
+}
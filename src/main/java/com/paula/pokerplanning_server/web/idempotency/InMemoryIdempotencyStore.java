@@ -0,0 +1,109 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps outcomes in a bounded map on this node. Duplicates of an in-flight request
+ * wait on the first request's future instead of running again. Once the map is full
+ * the oldest finished outcomes are evicted; in-flight keys are never evicted, since
+ * their duplicates are waiting on them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "local", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(String token, CompletableFuture<StoredResponse> outcome, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    // Insertion order: the oldest keys go first once the store is full
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(
+            @Value("${app.idempotency.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${app.idempotency.local.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Optional<StoredResponse> claim(String key, String token, Duration maxWait) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            Entry entry;
+            synchronized (entries) {
+                entry = entries.get(key);
+                long now = System.currentTimeMillis();
+                if (entry == null || entry.expiresAt() < now) {
+                    // Re-inserted at the end, so a reclaimed key is the newest again
+                    entries.remove(key);
+                    entries.put(key, new Entry(token, new CompletableFuture<>(), now + ttlMillis));
+                    evictOverflow();
+                    return Optional.empty();
+                }
+            }
+            try {
+                long remaining = deadline - System.nanoTime();
+                StoredResponse response = entry.outcome().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    return Optional.of(response);
+                }
+                // Released without an outcome: try to claim it ourselves
+            } catch (TimeoutException e) {
+                throw new InFlightException();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InFlightException();
+            } catch (ExecutionException e) {
+                // Not completed exceptionally by this store; treat like a release
+            }
+        }
+    }
+
+    // Caller holds the lock on entries
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().outcome().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, String token, StoredResponse response) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            entry.outcome().complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key, String token) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            // An expired claim may have been taken over by another request
+            if (entry == null || !entry.token().equals(token)) {
+                return;
+            }
+            entries.remove(key);
+        }
+        entry.outcome().complete(null);
+    }
+}
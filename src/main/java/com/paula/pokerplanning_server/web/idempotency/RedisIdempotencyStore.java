@@ -0,0 +1,97 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shares idempotency keys across nodes. The key is claimed with SET NX holding a
+ * pending marker with the claim's token; duplicates poll until the marker is replaced
+ * by the stored response or removed. A release deletes the marker only if it still
+ * holds the same token, so a request whose claim expired cannot drop a newer claim.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String PENDING = "pending:";
+
+    // KEYS[1] idempotency key; ARGV[1] pending marker of the releasing claim
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    // Bounds how long a crashed node's claim blocks the key
+    private final Duration pendingTtl;
+
+    public RedisIdempotencyStore(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${app.idempotency.redis.pending-ttl-seconds:60}") long pendingTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+    }
+
+    @Override
+    public Optional<StoredResponse> claim(String key, String token, Duration maxWait) {
+        String redisKey = KEY_PREFIX + key;
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, PENDING + token, pendingTtl))) {
+                return Optional.empty();
+            }
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value != null && !value.startsWith(PENDING)) {
+                return Optional.of(objectMapper.readValue(value, StoredResponse.class));
+            }
+            if (value == null) {
+                continue;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new InFlightException();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InFlightException();
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, String token, StoredResponse response) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(response), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to store idempotent response for {}: {}", key, e.getMessage());
+            release(key, token);
+        }
+    }
+
+    @Override
+    public void release(String key, String token) {
+        redisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), PENDING + token);
+    }
+}
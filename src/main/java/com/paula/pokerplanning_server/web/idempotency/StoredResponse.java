@@ -0,0 +1,11 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response recorded for an idempotency key and replayed for its duplicates, with the
+ * fingerprint of the request body that produced it.
+ */
+public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body,
+                             String requestFingerprint) {}
@@ -1,6 +1,8 @@
 package com.paula.pokerplanning_server.web.rest;
 
 import com.paula.pokerplanning_server.domain.model.Invite;
+import com.paula.pokerplanning_server.ratelimit.RateLimitService;
+import com.paula.pokerplanning_server.ratelimit.RateLimitedAction;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.service.ActorService;
 import com.paula.pokerplanning_server.service.InviteService;
@@ -35,6 +37,7 @@ public class InviteController {
 
     private final InviteService inviteService;
     private final ActorService actorService;
+    private final RateLimitService rateLimitService;
 
     @Operation(
             summary = "[HOST] Criar convite",
@@ -125,6 +128,8 @@ public class InviteController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Entrou na sala com sucesso"),
             @ApiResponse(responseCode = "400", description = "Convite expirado, revogado ou com uso máximo atingido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas de entrada; veja `Retry-After`",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/invites/{token}/join")
@@ -135,6 +140,8 @@ public class InviteController {
             @RequestHeader(value = "X-Guest-Id", required = false) String guestId,
             Authentication auth) {
         ActorContext actor = actorService.resolve(auth, guestId);
+        Invite invite = inviteService.getInviteByToken(token);
+        rateLimitService.check(RateLimitedAction.JOIN, actor, invite.getRoomId());
         return inviteService.joinByInvite(token, actor, request.displayName());
     }
 }
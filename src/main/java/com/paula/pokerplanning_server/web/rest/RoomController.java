@@ -3,6 +3,8 @@ package com.paula.pokerplanning_server.web.rest;
 import com.paula.pokerplanning_server.domain.model.Participant;
 import com.paula.pokerplanning_server.domain.model.Room;
 import com.paula.pokerplanning_server.domain.model.Story;
+import com.paula.pokerplanning_server.ratelimit.RateLimitService;
+import com.paula.pokerplanning_server.ratelimit.RateLimitedAction;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.service.ActorService;
 import com.paula.pokerplanning_server.service.RoomService;
@@ -35,6 +37,7 @@ public class RoomController {
     private final StoryService storyService;
     private final RoundService roundService;
     private final ActorService actorService;
+    private final RateLimitService rateLimitService;
 
     // ─── Criar sala ───────────────────────────────────────────────────────────
 
@@ -47,6 +50,9 @@ public class RoomController {
                     A resposta incluirá `guestToken` — guarde-o para operações de host.
 
                     **Usuário logado:** use `Authorization: Bearer <jwt>` (sem `X-Guest-Id`).
+
+                    **Sala efêmera:** `ephemeral: true` mantém todo o estado só no Redis, expirando após
+                    `app.ephemeral-rooms.ttl-minutes` sem atividade. Pode virar persistente via `/promote`.
                     """
     )
     @ApiResponses({
@@ -64,7 +70,9 @@ public class RoomController {
         ActorContext actor = actorService.resolve(auth, guestId);
         return roomService.createRoom(
                 actor, request.displayName(), request.deckType(),
-                request.allowObservers() != null && request.allowObservers(), request.name()
+                request.allowObservers() != null && request.allowObservers(),
+                request.observerUpdateIntervalMs(), request.name(),
+                request.ephemeral() != null && request.ephemeral()
         );
     }
 
@@ -129,6 +137,7 @@ public class RoomController {
             @RequestHeader(value = "X-Guest-Id", required = false) String guestId,
             Authentication auth) {
         ActorContext actor = actorService.resolve(auth, guestId);
+        rateLimitService.check(RateLimitedAction.JOIN, actor, roomId);
         return roomService.joinRoom(roomId, actor, request.displayName(), request.role());
     }
 
@@ -138,6 +147,8 @@ public class RoomController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Entrou na sala com sucesso"),
             @ApiResponse(responseCode = "404", description = "Código inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas de entrada; veja `Retry-After`",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/join-by-code/{code}")
@@ -148,7 +159,9 @@ public class RoomController {
             @RequestHeader(value = "X-Guest-Id", required = false) String guestId,
             Authentication auth) {
         ActorContext actor = actorService.resolve(auth, guestId);
-        return roomService.joinByCode(code, actor, request.displayName(), request.role());
+        UUID roomId = roomService.getRoomIdByCode(code);
+        rateLimitService.check(RateLimitedAction.JOIN, actor, roomId);
+        return roomService.joinRoom(roomId, actor, request.displayName(), request.role());
     }
 
     // ─── Sair ─────────────────────────────────────────────────────────────────
@@ -216,4 +229,31 @@ public class RoomController {
         ActorContext actor = actorService.resolveHost(auth, guestToken, roomId);
         roomService.closeRoom(roomId, actor);
     }
+
+    // ─── [HOST] Tornar sala persistente ───────────────────────────────────────
+
+    @Operation(
+            summary = "[HOST] Tornar sala persistente",
+            description = """
+                    Copia uma sala efêmera (apenas Redis) para o banco como uma nova sala, com novo ID e código.
+                    A sala efêmera é fechada e emite `ROOM_PROMOTED` com o novo `roomId`; os membros devem
+                    entrar na nova sala. Retorna a participação do host na nova sala (com novo `guestToken`).
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sala copiada"),
+            @ApiResponse(responseCode = "400", description = "Sala já é persistente ou está fechada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Somente o host pode executar",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{roomId}/promote")
+    public JoinRoomResponse promoteRoom(
+            @PathVariable UUID roomId,
+            @Parameter(description = "Token assinado do host guest. Omitir ao usar JWT.")
+            @RequestHeader(value = "X-Guest-Token", required = false) String guestToken,
+            Authentication auth) {
+        ActorContext actor = actorService.resolveHost(auth, guestToken, roomId);
+        return roomService.promoteRoom(roomId, actor);
+    }
 }
@@ -1,6 +1,8 @@
 package com.paula.pokerplanning_server.web.rest;
 
 import com.paula.pokerplanning_server.domain.model.Round;
+import com.paula.pokerplanning_server.ratelimit.RateLimitService;
+import com.paula.pokerplanning_server.ratelimit.RateLimitedAction;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.service.ActorService;
 import com.paula.pokerplanning_server.service.RoundService;
@@ -39,6 +41,7 @@ public class RoundController {
 
     private final RoundService roundService;
     private final ActorService actorService;
+    private final RateLimitService rateLimitService;
 
     @Operation(
             summary = "[HOST] Iniciar rodada",
@@ -76,6 +79,8 @@ public class RoundController {
             @ApiResponse(responseCode = "400", description = "Rodada não está em votação",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Observers não podem votar",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Limite de votos excedido; veja `Retry-After`",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/vote")
@@ -87,6 +92,7 @@ public class RoundController {
             @RequestHeader(value = "X-Guest-Id", required = false) String guestId,
             Authentication auth) {
         ActorContext actor = actorService.resolve(auth, guestId);
+        rateLimitService.check(RateLimitedAction.VOTE, actor, roomId);
         roundService.castVote(roomId, actor, request.value());
     }
 
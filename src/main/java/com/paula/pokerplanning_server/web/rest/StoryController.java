@@ -1,6 +1,8 @@
 package com.paula.pokerplanning_server.web.rest;
 
 import com.paula.pokerplanning_server.domain.model.Story;
+import com.paula.pokerplanning_server.ratelimit.RateLimitService;
+import com.paula.pokerplanning_server.ratelimit.RateLimitedAction;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.service.ActorService;
 import com.paula.pokerplanning_server.service.StoryService;
@@ -28,6 +30,7 @@ public class StoryController {
 
     private final StoryService storyService;
     private final ActorService actorService;
+    private final RateLimitService rateLimitService;
 
     @Operation(summary = "Listar histórias da sala", description = "Retorna todas as histórias ordenadas por `orderIndex`.")
     @GetMapping("/rooms/{roomId}/stories")
@@ -42,6 +45,8 @@ public class StoryController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "História criada"),
             @ApiResponse(responseCode = "403", description = "Somente o host pode criar histórias",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Limite de escritas excedido; veja `Retry-After`",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/rooms/{roomId}/stories")
@@ -53,6 +58,7 @@ public class StoryController {
             @RequestHeader(value = "X-Guest-Token", required = false) String guestToken,
             Authentication auth) {
         ActorContext actor = actorService.resolveHost(auth, guestToken, roomId);
+        rateLimitService.check(RateLimitedAction.STORY_WRITE, actor, roomId);
         Story story = storyService.createStory(roomId, actor,
                 request.title(), request.description(), request.externalRef());
         return StoryResponse.from(story);
@@ -76,6 +82,7 @@ public class StoryController {
             Authentication auth) {
         Story existing = storyService.getStory(storyId);
         ActorContext actor = actorService.resolveHost(auth, guestToken, existing.getRoomId());
+        rateLimitService.check(RateLimitedAction.STORY_WRITE, actor, existing.getRoomId());
         Story story = storyService.updateStory(storyId, actor,
                 request.title(), request.description(), request.externalRef());
         return StoryResponse.from(story);
@@ -92,6 +99,7 @@ public class StoryController {
             Authentication auth) {
         Story existing = storyService.getStory(storyId);
         ActorContext actor = actorService.resolveHost(auth, guestToken, existing.getRoomId());
+        rateLimitService.check(RateLimitedAction.STORY_WRITE, actor, existing.getRoomId());
         storyService.deleteStory(storyId, actor);
     }
 
@@ -107,6 +115,7 @@ public class StoryController {
             @RequestHeader(value = "X-Guest-Token", required = false) String guestToken,
             Authentication auth) {
         ActorContext actor = actorService.resolveHost(auth, guestToken, roomId);
+        rateLimitService.check(RateLimitedAction.STORY_WRITE, actor, roomId);
         return storyService.reorderStories(roomId, request.storyIds(), actor)
                 .stream().map(StoryResponse::from).toList();
     }
@@ -1,31 +1,43 @@
 package com.paula.pokerplanning_server.web.ws;
 
+import com.paula.pokerplanning_server.diagnostics.RoomLoadContext;
+import com.paula.pokerplanning_server.exception.TooManyRequestsException;
+import com.paula.pokerplanning_server.ratelimit.RateLimitService;
+import com.paula.pokerplanning_server.ratelimit.RateLimitedAction;
 import com.paula.pokerplanning_server.security.ActorContext;
 import com.paula.pokerplanning_server.security.GuestPrincipal;
 import com.paula.pokerplanning_server.security.UserPrincipal;
 import com.paula.pokerplanning_server.service.RoundService;
+import com.paula.pokerplanning_server.web.dto.ErrorResponse;
 import com.paula.pokerplanning_server.web.dto.VoteRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Handles STOMP messages sent from clients to the server.
- * Clients publish to /app/rooms/{roomId}/vote.
+ * Clients publish to /app/rooms/{roomId}/vote and receive errors on /user/queue/errors.
  */
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class RoomWebSocketController {
 
+    public static final String ERRORS_DESTINATION = "/queue/errors";
+
     private final RoundService roundService;
+    private final RateLimitService rateLimitService;
 
     /**
      * Cast a vote via WebSocket.
@@ -43,7 +55,30 @@ public class RoomWebSocketController {
             return;
         }
 
-        roundService.castVote(roomId, actor, voteRequest.value());
+        // Same budget as REST
+        rateLimitService.check(RateLimitedAction.VOTE, actor, roomId);
+
+        RoomLoadContext.set(roomId);
+        try {
+            roundService.castVote(roomId, actor, voteRequest.value());
+        } finally {
+            RoomLoadContext.clear();
+        }
+    }
+
+    /**
+     * Tells the sending session, and only that one, that its vote was over budget.
+     */
+    @MessageExceptionHandler
+    @SendToUser(destinations = ERRORS_DESTINATION, broadcast = false)
+    public ErrorResponse handleRateLimited(TooManyRequestsException e, SimpMessageHeaderAccessor accessor) {
+        log.debug("Rate limited WebSocket message to {}", accessor.getDestination());
+        return new ErrorResponse(
+                e.getStatus().value(),
+                e.getStatus().getReasonPhrase(),
+                e.getMessage(),
+                accessor.getDestination(),
+                Instant.now());
     }
 
     private ActorContext resolveActor(Principal principal) {
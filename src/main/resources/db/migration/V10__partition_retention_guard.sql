@@ -0,0 +1,60 @@
+-- Retention of the monthly rounds/votes partitions only removes months that are empty.
+--
+-- A month's rounds and votes belong to rooms still in the rooms table, since archiving
+-- a room deletes its rows; a month with any row left holds data of an open room or of a
+-- closed room the archiver has not yet snapshotted, and is kept. Both tables' partitions
+-- of a month are handled together, votes first, so a vote never outlives its round's
+-- partition. A detached votes partition kept as a plain table loses its FK to rounds,
+-- which would otherwise block detaching the rounds partition.
+DROP FUNCTION detach_monthly_partitions(TEXT, DATE, BOOLEAN);
+
+-- Detaches, and optionally drops, the empty rounds/votes partitions of months before the
+-- month containing before; returns how many months were detached
+CREATE OR REPLACE FUNCTION detach_expired_round_partitions(before DATE, drop_detached BOOLEAN)
+    RETURNS INTEGER AS $$
+DECLARE
+    child      RECORD;
+    fk         RECORD;
+    votes_name TEXT;
+    has_rows   BOOLEAN;
+    detached   INTEGER := 0;
+BEGIN
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'rounds'::REGCLASS
+          AND c.relname ~ '^rounds_p[0-9]{6}$'
+          AND to_date(right(c.relname, 6), 'YYYYMM') < date_trunc('month', before)
+        ORDER BY c.relname
+    LOOP
+        votes_name := 'votes_p' || right(child.relname, 6);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', child.relname) INTO has_rows;
+        IF has_rows THEN
+            RAISE NOTICE 'Keeping % until its rooms are archived', child.relname;
+            CONTINUE;
+        END IF;
+        IF to_regclass(votes_name) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE votes DETACH PARTITION %I', votes_name);
+            IF drop_detached THEN
+                EXECUTE format('DROP TABLE %I', votes_name);
+            ELSE
+                FOR fk IN
+                    SELECT conname FROM pg_constraint
+                    WHERE conrelid = votes_name::REGCLASS
+                      AND contype = 'f'
+                      AND confrelid = 'rounds'::REGCLASS
+                LOOP
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', votes_name, fk.conname);
+                END LOOP;
+            END IF;
+        END IF;
+        EXECUTE format('ALTER TABLE rounds DETACH PARTITION %I', child.relname);
+        IF drop_detached THEN
+            EXECUTE format('DROP TABLE %I', child.relname);
+        END IF;
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,8 @@
+-- Start of each room's latest round. A room has at most one active round and it is always
+-- the latest, so the active-round lookup can match started_at exactly and be pruned to a
+-- single partition of rounds instead of every month since the room was created.
+ALTER TABLE rooms ADD COLUMN latest_round_started_at TIMESTAMPTZ;
+
+UPDATE rooms r SET latest_round_started_at = l.started_at
+FROM (SELECT room_id, MAX(started_at) AS started_at FROM rounds GROUP BY room_id) l
+WHERE l.room_id = r.id;
@@ -0,0 +1,26 @@
+-- Time-ordered UUIDv7 ids for the insert-heavy tables (votes, rounds, participants).
+-- The application generates v7 ids itself (Hibernate @UuidGenerator VERSION_7); this
+-- function only keeps rows inserted directly through SQL on the same ordering.
+--
+-- Existing rows keep their random v4 ids: both versions share the uuid type and
+-- every FK stays valid, so no data is rewritten. New rows land on the right edge of
+-- the primary key index; the v4 part stops growing and is compacted by a later
+-- REINDEX INDEX CONCURRENTLY <table>_pkey run outside of Flyway.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+DECLARE
+    unix_ts_ms BYTEA;
+    uuid_bytes BYTEA;
+BEGIN
+    unix_ts_ms := substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3);
+    uuid_bytes := unix_ts_ms || gen_random_bytes(10);
+    -- version 7
+    uuid_bytes := set_byte(uuid_bytes, 6, (b'0111' || get_byte(uuid_bytes, 6)::BIT(4))::BIT(8)::INT);
+    -- RFC 4122 variant
+    uuid_bytes := set_byte(uuid_bytes, 8, (b'10' || get_byte(uuid_bytes, 8)::BIT(6))::BIT(8)::INT);
+    RETURN encode(uuid_bytes, 'hex')::UUID;
+END
+$$ LANGUAGE plpgsql VOLATILE;
+
+ALTER TABLE votes        ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE rounds       ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE participants ALTER COLUMN id SET DEFAULT uuid_generate_v7();
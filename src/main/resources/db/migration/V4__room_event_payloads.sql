@@ -0,0 +1,9 @@
+-- Room events too large for a Postgres NOTIFY payload (8000 bytes) are stored here and
+-- notified by reference when app.events.transport=postgres. Rows are purged after a few minutes.
+CREATE TABLE room_event_payloads (
+    id         UUID        PRIMARY KEY,
+    payload    TEXT        NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_room_event_payloads_created_at ON room_event_payloads(created_at);
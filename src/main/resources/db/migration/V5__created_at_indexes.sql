@@ -0,0 +1,3 @@
+-- Incremental refresh of the lookup filters reads recently created rows
+CREATE INDEX idx_invites_created_at ON invites(created_at);
+CREATE INDEX idx_rooms_created_at   ON rooms(created_at);
@@ -0,0 +1,19 @@
+-- Registry of handed-out room codes; rows with in_use = FALSE are the pool
+CREATE TABLE room_codes (
+    code         VARCHAR(10) PRIMARY KEY,
+    in_use       BOOLEAN     NOT NULL,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_room_codes_available ON room_codes(available_at) WHERE NOT in_use;
+
+INSERT INTO room_codes (code, in_use, available_at)
+SELECT code, TRUE, NOW() FROM rooms
+ON CONFLICT DO NOTHING;
+
+-- Closed rooms give their code back after a quarantine, so code becomes nullable
+ALTER TABLE rooms ADD COLUMN closed_at TIMESTAMPTZ;
+ALTER TABLE rooms ALTER COLUMN code DROP NOT NULL;
+UPDATE rooms SET closed_at = NOW() WHERE status = 'CLOSED';
+
+CREATE INDEX idx_rooms_closed_with_code ON rooms(closed_at) WHERE status = 'CLOSED' AND code IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Per-room rate of the coalesced observer stream; NULL uses app.observers.default-update-interval-ms,
+-- 0 sends observers the full event stream
+ALTER TABLE rooms ADD COLUMN observer_update_interval_ms INTEGER
+    CHECK (observer_update_interval_ms IS NULL OR observer_update_interval_ms >= 0);
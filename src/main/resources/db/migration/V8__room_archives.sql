@@ -0,0 +1,14 @@
+-- Closed rooms are moved out of the hot tables by the archiver: one JSON document per room
+-- holding its participants, stories, rounds and votes
+CREATE TABLE room_archives (
+    room_id     UUID         PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    created_at  TIMESTAMPTZ  NOT NULL,
+    closed_at   TIMESTAMPTZ,
+    archived_at TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    data        JSONB        NOT NULL
+);
+
+-- Archiver batches: closed rooms by close time, active rooms by age for idle detection
+CREATE INDEX idx_rooms_closed_at     ON rooms(closed_at)  WHERE status = 'CLOSED';
+CREATE INDEX idx_rooms_active_created ON rooms(created_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,123 @@
+-- Monthly range partitioning of rounds (by started_at) and votes (by their round's started_at).
+--
+-- Votes carry round_started_at so that a round and its votes always share a month: the
+-- FK from votes to rounds can include the partition key, UNIQUE (round_id, participant_id)
+-- stays effectively per round, and retention detaches both tables' partitions for the
+-- same month together. Lookups that pass the partition key (votes of a round, the active
+-- round of a room created this month) are pruned to the current partitions.
+--
+-- The tables are rebuilt and their rows copied, which holds an exclusive lock on rounds
+-- and votes for the length of the copy; run it in a maintenance window on large tables.
+-- Partitions ahead of time and retention are handled by PartitionMaintenanceService
+-- through the two functions below.
+
+-- Creates {parent}_pYYYYMM for the UTC month containing month; false if it already exists
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    first_day      DATE := date_trunc('month', month)::DATE;
+    partition_name TEXT := parent || '_p' || to_char(first_day, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent,
+                   first_day::TIMESTAMP AT TIME ZONE 'UTC',
+                   (first_day + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC');
+    RETURN TRUE;
+END
+$$ LANGUAGE plpgsql;
+
+-- Detaches, and optionally drops, the monthly partitions of parent for months before the
+-- month containing before; returns how many were detached
+CREATE OR REPLACE FUNCTION detach_monthly_partitions(parent TEXT, before DATE, drop_detached BOOLEAN)
+    RETURNS INTEGER AS $$
+DECLARE
+    child    RECORD;
+    detached INTEGER := 0;
+BEGIN
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = parent::REGCLASS
+          AND c.relname ~ ('^' || parent || '_p[0-9]{6}$')
+          AND to_date(right(c.relname, 6), 'YYYYMM') < date_trunc('month', before)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, child.relname);
+        IF drop_detached THEN
+            EXECUTE format('DROP TABLE %I', child.relname);
+        END IF;
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE votes  RENAME TO votes_unpartitioned;
+ALTER TABLE rounds RENAME TO rounds_unpartitioned;
+
+CREATE TABLE rounds (
+    id           UUID        NOT NULL DEFAULT uuid_generate_v7(),
+    room_id      UUID        NOT NULL,
+    story_id     UUID        NOT NULL,
+    status       VARCHAR(20) NOT NULL DEFAULT 'VOTING',
+    started_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    revealed_at  TIMESTAMPTZ,
+    finalized_at TIMESTAMPTZ
+) PARTITION BY RANGE (started_at);
+
+CREATE TABLE votes (
+    id               UUID        NOT NULL DEFAULT uuid_generate_v7(),
+    round_id         UUID        NOT NULL,
+    round_started_at TIMESTAMPTZ NOT NULL,
+    participant_id   UUID        NOT NULL,
+    value            VARCHAR(20) NOT NULL,
+    created_at       TIMESTAMPTZ NOT NULL DEFAULT NOW()
+) PARTITION BY RANGE (round_started_at);
+
+-- Partitions from the oldest round up to three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE(
+        (SELECT MIN(started_at) FROM rounds_unpartitioned), NOW()) AT TIME ZONE 'UTC')::DATE;
+BEGIN
+    WHILE month <= (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE LOOP
+        PERFORM create_monthly_partition('rounds', month);
+        PERFORM create_monthly_partition('votes', month);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END
+$$;
+
+INSERT INTO rounds (id, room_id, story_id, status, started_at, revealed_at, finalized_at)
+SELECT id, room_id, story_id, status, started_at, revealed_at, finalized_at
+FROM rounds_unpartitioned;
+
+INSERT INTO votes (id, round_id, round_started_at, participant_id, value, created_at)
+SELECT v.id, v.round_id, r.started_at, v.participant_id, v.value, v.created_at
+FROM votes_unpartitioned v
+JOIN rounds_unpartitioned r ON r.id = v.round_id;
+
+-- Dropped before the constraints and indexes are recreated, so they keep their names
+DROP TABLE votes_unpartitioned;
+DROP TABLE rounds_unpartitioned;
+
+ALTER TABLE rounds ADD CONSTRAINT rounds_pkey PRIMARY KEY (id, started_at);
+ALTER TABLE rounds ADD CONSTRAINT rounds_room_id_fkey
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE;
+ALTER TABLE rounds ADD CONSTRAINT rounds_story_id_fkey
+    FOREIGN KEY (story_id) REFERENCES stories(id) ON DELETE CASCADE;
+
+ALTER TABLE votes ADD CONSTRAINT votes_pkey PRIMARY KEY (id, round_started_at);
+ALTER TABLE votes ADD CONSTRAINT votes_round_id_fkey
+    FOREIGN KEY (round_id, round_started_at) REFERENCES rounds(id, started_at) ON DELETE CASCADE;
+ALTER TABLE votes ADD CONSTRAINT votes_participant_id_fkey
+    FOREIGN KEY (participant_id) REFERENCES participants(id) ON DELETE CASCADE;
+ALTER TABLE votes ADD CONSTRAINT uq_vote_round_participant
+    UNIQUE (round_id, participant_id, round_started_at);
+
+CREATE INDEX idx_rounds_room_id  ON rounds(room_id, started_at);
+CREATE INDEX idx_rounds_story_id ON rounds(story_id);
+CREATE INDEX idx_votes_round_id  ON votes(round_id);
@@ -0,0 +1,89 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.security.GuestPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaLagGuardTests {
+
+	private final ReplicaLagGuard lagGuard = new ReplicaLagGuard(60_000);
+	private final ReplicaLagGuardChannelInterceptor interceptor = new ReplicaLagGuardChannelInterceptor(lagGuard);
+
+	@AfterEach
+	void tearDown() {
+		lagGuard.clear();
+	}
+
+	@Test
+	void aWriteIsRecentForThePinWindowOnly() throws InterruptedException {
+		ReplicaLagGuard shortWindow = new ReplicaLagGuard(100);
+		shortWindow.recordWrite("guest:a");
+
+		assertThat(shortWindow.wroteRecently("guest:a")).isTrue();
+		assertThat(shortWindow.wroteRecently("guest:b")).isFalse();
+
+		Thread.sleep(150);
+
+		assertThat(shortWindow.wroteRecently("guest:a")).isFalse();
+	}
+
+	@Test
+	void aStompVoteIsRecordedAsAWriteOfItsActor() {
+		Message<?> vote = message(StompCommand.SEND, "a");
+
+		interceptor.beforeHandle(vote, mock(MessageChannel.class), mock(MessageHandler.class));
+		assertThat(lagGuard.isPinnedToPrimary()).isFalse();
+		interceptor.afterMessageHandled(vote, mock(MessageChannel.class), mock(MessageHandler.class), null);
+
+		// Same key as the HTTP interceptor uses for the guest's next request
+		assertThat(lagGuard.wroteRecently("guest:a")).isTrue();
+	}
+
+	@Test
+	void aStompSendAfterAWriteIsPinnedWhileItIsHandled() {
+		lagGuard.recordWrite("guest:a");
+		Message<?> vote = message(StompCommand.SEND, "a");
+
+		interceptor.beforeHandle(vote, mock(MessageChannel.class), mock(MessageHandler.class));
+		assertThat(lagGuard.isPinnedToPrimary()).isTrue();
+
+		interceptor.afterMessageHandled(vote, mock(MessageChannel.class), mock(MessageHandler.class), null);
+		assertThat(lagGuard.isPinnedToPrimary()).isFalse();
+	}
+
+	@Test
+	void failedAndNonSendFramesAreNotWrites() {
+
+		interceptor.afterMessageHandled(message(StompCommand.SEND, "a"), mock(MessageChannel.class),
+				mock(MessageHandler.class), new IllegalStateException());
+		interceptor.afterMessageHandled(message(StompCommand.SUBSCRIBE, "b"), mock(MessageChannel.class),
+				mock(MessageHandler.class), null);
+
+		assertThat(lagGuard.wroteRecently("guest:a")).isFalse();
+		assertThat(lagGuard.wroteRecently("guest:b")).isFalse();
+	}
+
+	private static Message<?> message(StompCommand command, String guestId) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+		accessor.setDestination("/app/rooms/" + UUID.randomUUID() + "/vote");
+		accessor.setUser(new UsernamePasswordAuthenticationToken(
+				new GuestPrincipal(guestId, UUID.randomUUID(), UUID.randomUUID(), ParticipantRole.PARTICIPANT),
+				null, List.of()));
+		accessor.setLeaveMutable(true);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+}
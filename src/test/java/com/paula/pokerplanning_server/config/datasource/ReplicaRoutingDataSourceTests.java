@@ -0,0 +1,73 @@
+package com.paula.pokerplanning_server.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final ReplicaLagGuard lagGuard = new ReplicaLagGuard(60_000);
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private ReplicaRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		routing = new ReplicaRoutingDataSource(lagGuard, primary, replica);
+		routing.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		lagGuard.clear();
+	}
+
+	@Test
+	void readsGoToTheReplica() throws SQLException {
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+	}
+
+	@Test
+	void pinnedReadsGoToThePrimary() throws SQLException {
+		lagGuard.pin();
+
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void theReplicaIsUsedAgainOnceThePinIsCleared() throws SQLException {
+		lagGuard.pin();
+		lagGuard.clear();
+
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+	}
+
+	@Test
+	void aPinOnlyAppliesToItsOwnThread() throws Exception {
+		lagGuard.pin();
+		Connection[] other = new Connection[1];
+
+		Thread thread = Thread.ofPlatform().start(() -> {
+			try {
+				other[0] = routing.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		thread.join();
+
+		assertThat(other[0]).isSameAs(replicaConnection);
+	}
+}
@@ -0,0 +1,64 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class DbTimeSessionListenerTests {
+
+	@Autowired
+	private RoomRepository roomRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void addsEachStatementAndBatchToTheThread() {
+		DbTimeSessionListener listener = new DbTimeSessionListener();
+		long nanos = DbTime.nanos();
+		long statements = DbTime.statements();
+
+		listener.jdbcExecuteStatementStart();
+		listener.jdbcExecuteStatementEnd();
+		listener.jdbcExecuteBatchStart();
+		listener.jdbcExecuteBatchEnd();
+
+		assertThat(DbTime.statements() - statements).isEqualTo(2);
+		assertThat(DbTime.nanos()).isGreaterThanOrEqualTo(nanos);
+	}
+
+	@Test
+	void isRegisteredForHibernateSessions() {
+		long statements = DbTime.statements();
+
+		assertThat(roomRepository.findById(UUID.randomUUID())).isEmpty();
+
+		assertThat(DbTime.statements() - statements).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotCountJdbcOutsideHibernate() {
+		long statements = DbTime.statements();
+
+		jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+		assertThat(DbTime.statements()).isEqualTo(statements);
+	}
+
+	@Test
+	void keepsTotalsPerThread() throws InterruptedException {
+		long statements = DbTime.statements();
+
+		Thread other = Thread.ofPlatform().start(() -> roomRepository.findById(UUID.randomUUID()));
+		other.join();
+
+		assertThat(DbTime.statements()).isEqualTo(statements);
+	}
+}
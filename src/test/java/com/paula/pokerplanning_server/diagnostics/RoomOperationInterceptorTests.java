@@ -0,0 +1,98 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomOperationInterceptorTests {
+
+	private static final UUID ROOM_ID = UUID.randomUUID();
+
+	@TempDir
+	private Path dir;
+
+	private final Rooms rooms = proxy();
+
+	@Test
+	void takesTheRoomFromTheParameterNamedRoomId() throws IOException {
+		List<RecordedEvent> events = record(() -> rooms.vote(UUID.randomUUID(), ROOM_ID));
+
+		assertThat(events).singleElement().satisfies(event -> {
+			assertThat(event.getString("operation")).isEqualTo("Rooms.vote");
+			assertThat(event.getString("roomId")).isEqualTo(ROOM_ID.toString());
+			assertThat(event.getBoolean("failed")).isFalse();
+		});
+	}
+
+	@Test
+	void leavesTheRoomEmptyWithoutARoomIdParameter() throws IOException {
+		List<RecordedEvent> events = record(() -> rooms.lookup(ROOM_ID));
+
+		assertThat(events).singleElement()
+				.satisfies(event -> assertThat(event.getString("roomId")).isNull());
+	}
+
+	@Test
+	void flagsCallsThatThrow() throws IOException {
+		List<RecordedEvent> events = record(() -> assertThatThrownBy(() -> rooms.fail(ROOM_ID))
+				.isInstanceOf(IllegalStateException.class));
+
+		assertThat(events).singleElement().satisfies(event -> {
+			assertThat(event.getString("roomId")).isEqualTo(ROOM_ID.toString());
+			assertThat(event.getBoolean("failed")).isTrue();
+		});
+	}
+
+	@Test
+	void passesThroughWhenTheEventIsDisabled() {
+		assertThat(rooms.vote(UUID.randomUUID(), ROOM_ID)).isEqualTo(ROOM_ID);
+	}
+
+	private List<RecordedEvent> record(Runnable calls) throws IOException {
+		Path file = dir.resolve("operations.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(RoomOperationEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			calls.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(RoomOperationEvent.NAME))
+				.toList();
+	}
+
+	private static Rooms proxy() {
+		ProxyFactory factory = new ProxyFactory(new Rooms());
+		factory.setProxyTargetClass(true);
+		factory.addAdvice(new RoomOperationInterceptor());
+		return (Rooms) factory.getProxy();
+	}
+
+	static class Rooms {
+
+		public UUID vote(UUID participantId, UUID roomId) {
+			return roomId;
+		}
+
+		public UUID lookup(UUID id) {
+			return id;
+		}
+
+		public void fail(UUID roomId) {
+			throw new IllegalStateException("failed");
+		}
+	}
+}
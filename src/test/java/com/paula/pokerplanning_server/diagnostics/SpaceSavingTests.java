@@ -0,0 +1,40 @@
+package com.paula.pokerplanning_server.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTests {
+
+	@Test
+	void tracksHeavyHittersWithinTheCapacity() {
+		SpaceSaving<UUID> sketch = new SpaceSaving<>(64);
+		UUID hot = UUID.randomUUID();
+
+		for (int i = 0; i < 10_000; i++) {
+			sketch.add(UUID.randomUUID(), 1);
+			if (i % 4 == 0) {
+				sketch.add(hot, 1);
+			}
+		}
+
+		assertThat(sketch.top(Integer.MAX_VALUE)).hasSizeLessThanOrEqualTo(64);
+		SpaceSaving.Entry<UUID> top = sketch.top(1).getFirst();
+		assertThat(top.key()).isEqualTo(hot);
+		// The count may be overestimated by at most its error, never underestimated
+		assertThat(top.count()).isGreaterThanOrEqualTo(2_500);
+		assertThat(top.count() - top.error()).isLessThanOrEqualTo(2_500);
+	}
+
+	@Test
+	void aClosedSketchRefusesAdds() {
+		SpaceSaving<String> sketch = new SpaceSaving<>(8);
+		sketch.add("a", 3);
+
+		assertThat(sketch.close(10)).extracting(SpaceSaving.Entry::count).containsExactly(3L);
+		assertThat(sketch.add("a", 1)).isFalse();
+		assertThat(sketch.add("b", 1)).isFalse();
+	}
+}
@@ -0,0 +1,232 @@
+package com.paula.pokerplanning_server.domain.repository;
+
+import com.paula.pokerplanning_server.domain.model.DeckType;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.domain.model.StoryStatus;
+import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.service.RoomService;
+import com.paula.pokerplanning_server.service.RoundService;
+import com.paula.pokerplanning_server.service.StoryService;
+import com.paula.pokerplanning_server.service.UserService;
+import com.paula.pokerplanning_server.web.dto.JoinRoomResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The bulk updates replace per-entity load-and-save loops; each must stay one statement
+ * however many rows it touches. The service operations built on them and on JDBC
+ * batching must prepare as many statements for ROWS rows as for one.
+ */
+@SpringBootTest(properties = {
+		"app.events.transport=local",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BulkUpdateRoundTripTests {
+
+	private static final int ROWS = 20;
+
+	@Autowired
+	private StoryRepository storyRepository;
+
+	@Autowired
+	private RoomRepository roomRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RoomService roomService;
+
+	@Autowired
+	private StoryService storyService;
+
+	@Autowired
+	private RoundService roundService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<UUID> roomIds = new ArrayList<>();
+	private UUID userId;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		userId = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash) VALUES (?, ?, ?, 'x')",
+				userId, "u-" + userId, userId + "@example.com");
+	}
+
+	@AfterEach
+	void tearDown() {
+		roomIds.forEach(id -> jdbcTemplate.update("DELETE FROM rooms WHERE id = ?", id));
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+	}
+
+	@Test
+	void deselectingStoriesIsOneStatement() {
+		UUID roomId = insertRoom(null);
+		UUID keptId = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO stories (id, room_id, title, status) VALUES (?, ?, 'kept', 'SELECTED')",
+				keptId, roomId);
+		for (int i = 0; i < ROWS; i++) {
+			jdbcTemplate.update("INSERT INTO stories (id, room_id, title, status, order_index) VALUES (?, ?, 'story', 'SELECTED', ?)",
+					UUID.randomUUID(), roomId, i + 1);
+		}
+
+		int updated = inOneTransaction(() -> storyRepository.updateStatusInRoom(
+				roomId, StoryStatus.SELECTED, StoryStatus.PENDING, keptId));
+
+		assertThat(updated).isEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM stories WHERE room_id = ? AND status = 'SELECTED'",
+				UUID.class, roomId)).containsExactly(keptId);
+	}
+
+	@Test
+	void reassigningAGuestsRoomsIsOneStatement() {
+		String guestId = UUID.randomUUID().toString();
+		for (int i = 0; i < ROWS; i++) {
+			insertRoom(guestId);
+		}
+
+		int updated = inOneTransaction(() -> roomRepository.reassignCreatorGuest(guestId, userId));
+
+		assertThat(updated).isEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms WHERE creator_user_id = ? AND creator_guest_id IS NULL",
+				Integer.class, userId)).isEqualTo(ROWS);
+	}
+
+	@Test
+	void reorderingStoriesIsOneBatch() {
+		long oneStory = reorderStatements(1);
+		long manyStories = reorderStatements(ROWS);
+
+		assertThat(manyStories).isEqualTo(oneStory);
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(ROWS);
+	}
+
+	@Test
+	void resettingARoundDeletesItsVotesInOneStatement() {
+		long oneVote = resetStatements(1);
+		long manyVotes = resetStatements(ROWS);
+
+		assertThat(manyVotes).isEqualTo(oneVote);
+	}
+
+	@Test
+	void claimingSessionsDoesNotGrowWithTheGuestsRooms() {
+		long oneRoom = claimStatements(1);
+		long manyRooms = claimStatements(ROWS);
+
+		assertThat(manyRooms).isEqualTo(oneRoom);
+	}
+
+	private long reorderStatements(int stories) {
+		String hostGuestId = UUID.randomUUID().toString();
+		UUID roomId = createRoom(hostGuestId);
+		List<UUID> reversed = new ArrayList<>();
+		for (int i = 0; i < stories; i++) {
+			UUID storyId = UUID.randomUUID();
+			jdbcTemplate.update("INSERT INTO stories (id, room_id, title, order_index) VALUES (?, ?, 'story', ?)",
+					storyId, roomId, i + 1);
+			reversed.addFirst(storyId);
+		}
+
+		statistics.clear();
+		storyService.reorderStories(roomId, reversed, ActorContext.forGuest(hostGuestId));
+		long prepared = statistics.getPrepareStatementCount();
+
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM stories WHERE room_id = ? ORDER BY order_index",
+				UUID.class, roomId)).containsExactlyElementsOf(reversed);
+		return prepared;
+	}
+
+	private long resetStatements(int voters) {
+		String hostGuestId = UUID.randomUUID().toString();
+		ActorContext host = ActorContext.forGuest(hostGuestId);
+		UUID roomId = createRoom(hostGuestId);
+		UUID storyId = storyService.createStory(roomId, host, "story", null, null).getId();
+		storyService.selectCurrentStory(roomId, storyId, host);
+		UUID roundId = roundService.startRound(roomId, host).getId();
+		for (int i = 0; i < voters; i++) {
+			ActorContext voter = ActorContext.forGuest(UUID.randomUUID().toString());
+			roomService.joinRoom(roomId, voter, "voter", ParticipantRole.PARTICIPANT);
+			roundService.castVote(roomId, voter, "3");
+		}
+
+		statistics.clear();
+		roundService.resetRound(roomId, host);
+		long prepared = statistics.getPrepareStatementCount();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM votes WHERE round_id = ?",
+				Integer.class, roundId)).isZero();
+		return prepared;
+	}
+
+	private long claimStatements(int rooms) {
+		String guestId = UUID.randomUUID().toString();
+		JoinRoomResponse first = null;
+		for (int i = 0; i < rooms; i++) {
+			JoinRoomResponse created = roomService.createRoom(ActorContext.forGuest(guestId), "Host",
+					DeckType.FIBONACCI, true, null, "bulk", false);
+			roomIds.add(created.room().id());
+			if (first == null) {
+				first = created;
+			}
+		}
+
+		statistics.clear();
+		userService.claimSessions(userId, guestId, first.guestToken());
+		long prepared = statistics.getPrepareStatementCount();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT user_id FROM participants WHERE id = ?",
+				UUID.class, first.me().id())).isEqualTo(userId);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms WHERE creator_guest_id = ?",
+				Integer.class, guestId)).isZero();
+		return prepared;
+	}
+
+	private UUID createRoom(String hostGuestId) {
+		UUID id = roomService.createRoom(ActorContext.forGuest(hostGuestId), "Host", DeckType.FIBONACCI,
+				true, null, "bulk", false).room().id();
+		roomIds.add(id);
+		return id;
+	}
+
+	private int inOneTransaction(IntSupplier update) {
+		statistics.clear();
+		return new TransactionTemplate(transactionManager).execute(status -> update.getAsInt());
+	}
+
+	private UUID insertRoom(String creatorGuestId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO rooms (id, name, creator_guest_id) VALUES (?, 'bulk', ?)", id, creatorGuestId);
+		roomIds.add(id);
+		return id;
+	}
+}
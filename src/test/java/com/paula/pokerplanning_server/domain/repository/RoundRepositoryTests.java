@@ -0,0 +1,148 @@
+package com.paula.pokerplanning_server.domain.repository;
+
+import com.paula.pokerplanning_server.domain.model.Round;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class RoundRepositoryTests {
+
+	// A scanned partition in EXPLAIN ANALYZE output; run-time pruned ones are "(never executed)"
+	private static final Pattern SCANNED = Pattern.compile("\\bon ((?:rounds|votes)_p\\d{6})\\b");
+
+	@Autowired
+	private RoundRepository roundRepository;
+
+	@Autowired
+	private VoteRepository voteRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private StatementCapture statementCapture;
+
+	private UUID roomId;
+	private UUID roundId;
+	private Timestamp startedAt;
+
+	@BeforeEach
+	void setUp() {
+		roomId = UUID.randomUUID();
+		roundId = UUID.randomUUID();
+		UUID storyId = UUID.randomUUID();
+		startedAt = Timestamp.from(Instant.now().truncatedTo(ChronoUnit.MICROS));
+		jdbcTemplate.update("INSERT INTO rooms (id, name, latest_round_started_at) VALUES (?, 'pruning', ?)",
+				roomId, startedAt);
+		jdbcTemplate.update("INSERT INTO stories (id, room_id, title) VALUES (?, ?, 'story')", storyId, roomId);
+		jdbcTemplate.update("INSERT INTO rounds (id, room_id, story_id, status, started_at) VALUES (?, ?, ?, 'VOTING', ?)",
+				roundId, roomId, storyId, startedAt);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM rooms WHERE id = ?", roomId);
+	}
+
+	@Test
+	void findsTheActiveRoundThroughTheRoomsLatestStart() {
+		assertThat(roundRepository.findActiveByRoomId(roomId)).map(Round::getId).contains(roundId);
+
+		jdbcTemplate.update("UPDATE rounds SET status = 'FINALIZED' WHERE id = ?", roundId);
+
+		assertThat(roundRepository.findActiveByRoomId(roomId)).isEmpty();
+	}
+
+	@Test
+	void activeRoundLookupScansOnlyThatRoundsPartition() {
+		assertThat(partitionCount("rounds")).isGreaterThan(1);
+
+		Set<String> scanned = scannedPartitions(
+				RoundRepository.ACTIVE_ROUND_SQL.replace(":roomId", "?"), roomId, roomId);
+
+		assertThat(scanned).containsExactly("rounds_p" + month(startedAt));
+	}
+
+	@Test
+	void votesOfARoundScanOnlyThatRoundsPartition() {
+		assertThat(partitionCount("votes")).isGreaterThan(1);
+
+		statementCapture.statements.clear();
+		assertThat(voteRepository.findByRoundIdAndRoundStartedAt(roundId, startedAt.toInstant())).isEmpty();
+		List<String> issued = statementCapture.statements.stream()
+				.filter(sql -> sql.startsWith("select") && sql.contains(" from votes "))
+				.toList();
+		assertThat(issued).hasSize(1);
+
+		// Bound in the order of the derived query's parameters
+		Set<String> scanned = scannedPartitions(issued.getFirst(), roundId, startedAt);
+
+		assertThat(scanned).containsExactly("votes_p" + month(startedAt));
+	}
+
+	private Set<String> scannedPartitions(String sql, Object... args) {
+		return jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) " + sql,
+						String.class, args).stream()
+				.filter(line -> !line.contains("never executed"))
+				.map(SCANNED::matcher)
+				.filter(Matcher::find)
+				.map(m -> m.group(1))
+				.collect(Collectors.toSet());
+	}
+
+	private int partitionCount(String parent) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pg_inherits WHERE inhparent = ?::REGCLASS", Integer.class, parent);
+	}
+
+	private static String month(Timestamp timestamp) {
+		return DateTimeFormatter.ofPattern("yyyyMM").withZone(ZoneOffset.UTC).format(timestamp.toInstant());
+	}
+
+	/**
+	 * Records the SQL Hibernate prepares, still passing it to the diagnostics inspector.
+	 */
+	@TestConfiguration
+	static class StatementCapture {
+
+		final List<String> statements = new CopyOnWriteArrayList<>();
+
+		// Runs after DiagnosticsConfig, so the inspector it installed can be wrapped
+		@Bean
+		@Order
+		HibernatePropertiesCustomizer capturingStatementInspector() {
+			return properties -> {
+				StatementInspector inner = (StatementInspector) properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					statements.add(sql);
+					return inner == null ? sql : inner.inspect(sql);
+				});
+			};
+		}
+	}
+}
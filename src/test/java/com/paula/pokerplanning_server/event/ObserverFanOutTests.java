@@ -0,0 +1,161 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.domain.model.RoundStatus;
+import com.paula.pokerplanning_server.security.RoomMembershipIndex;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ObserverFanOutTests {
+
+	private static final UUID ROOM_ID = UUID.fromString("0190f1d2-3a4b-7c5d-8e6f-112233445566");
+	private static final int INTERVAL_MS = 200;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private RoomMembershipIndex membershipIndex;
+	private SimpMessagingTemplate messagingTemplate;
+	private ObserverFanOut fanOut;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		membershipIndex = mock(RoomMembershipIndex.class);
+		messagingTemplate = mock(SimpMessagingTemplate.class);
+		ObjectProvider<SimpMessagingTemplate> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(messagingTemplate);
+		RoomStore store = mock(RoomStore.class);
+		when(store.findRoom(ROOM_ID)).thenReturn(Optional.empty());
+		when(store.findActiveRound(ROOM_ID)).thenReturn(Optional.empty());
+		RoomStores roomStores = mock(RoomStores.class);
+		when(roomStores.of(ROOM_ID)).thenReturn(store);
+		// The room is not found, so it gets the default interval
+		fanOut = new ObserverFanOut(provider, objectMapper, membershipIndex, roomStores, INTERVAL_MS);
+	}
+
+	@Test
+	void keepsTheStreamOfASubscribeNotYetRegistered() {
+		fanOut.track(ROOM_ID);
+		// The tick runs before the interceptor registered the subscription
+		fanOut.flushDue();
+
+		observe(EventFormat.JSON);
+		vote(UUID.randomUUID(), true);
+		fanOut.flushDue();
+
+		verify(messagingTemplate).send(eq(ObserverFanOut.topic(ROOM_ID)), any(Message.class));
+	}
+
+	@Test
+	void coalescesVotesIntoOneSummary() {
+		fanOut.track(ROOM_ID);
+		observe(EventFormat.JSON);
+		UUID first = UUID.randomUUID();
+
+		vote(first, true);
+		vote(UUID.randomUUID(), true);
+		vote(UUID.randomUUID(), true);
+		vote(first, true);
+		verify(messagingTemplate, never()).send(any(String.class), any(Message.class));
+
+		fanOut.flushDue();
+
+		assertThat(votedCounts()).containsExactly(3);
+	}
+
+	@Test
+	void sendsAtMostOneSummaryPerInterval() throws InterruptedException {
+		fanOut.track(ROOM_ID);
+		observe(EventFormat.JSON);
+
+		vote(UUID.randomUUID(), true);
+		fanOut.flushDue();
+		vote(UUID.randomUUID(), true);
+		fanOut.flushDue();
+		assertThat(votedCounts()).containsExactly(1);
+
+		Thread.sleep(INTERVAL_MS + 50);
+		fanOut.flushDue();
+
+		assertThat(votedCounts()).containsExactly(1, 2);
+	}
+
+	@Test
+	void aNewRoundStartsTheVoteCountAgain() throws InterruptedException {
+		fanOut.track(ROOM_ID);
+		observe(EventFormat.JSON);
+
+		vote(UUID.randomUUID(), true);
+		vote(UUID.randomUUID(), true);
+		// Flushes the pending summary, then forwards the round start itself
+		fanOut.onEvent(RoomEvent.of(ROOM_ID, new RoomEventPayload.RoundStarted(
+				UUID.randomUUID(), UUID.randomUUID(), RoundStatus.VOTING)), new byte[0]);
+		vote(UUID.randomUUID(), true);
+		Thread.sleep(INTERVAL_MS + 50);
+		fanOut.flushDue();
+
+		verify(messagingTemplate, times(3)).send(eq(ObserverFanOut.topic(ROOM_ID)), any(Message.class));
+		assertThat(votedCounts()).containsExactly(2, 1);
+	}
+
+	@Test
+	void cborObserversGetCborFrames() {
+		fanOut.track(ROOM_ID);
+		observe(EventFormat.CBOR);
+
+		vote(UUID.randomUUID(), true);
+		fanOut.flushDue();
+
+		ArgumentCaptor<Message<?>> sent = messageCaptor();
+		verify(messagingTemplate).send(eq(ObserverFanOut.topic(ROOM_ID, EventFormat.CBOR)), sent.capture());
+		assertThat(sent.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE))
+				.isEqualTo(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+		verify(messagingTemplate, never()).send(eq(ObserverFanOut.topic(ROOM_ID)), any(Message.class));
+	}
+
+	private void observe(EventFormat format) {
+		when(membershipIndex.localSubscriptionCount(ROOM_ID)).thenReturn(1);
+		when(membershipIndex.localSubscriptionCount(ObserverFanOut.topic(ROOM_ID, format))).thenReturn(1);
+	}
+
+	private void vote(UUID participantId, boolean hasVoted) {
+		fanOut.onEvent(RoomEvent.of(ROOM_ID, new RoomEventPayload.VoteCast(participantId, hasVoted)), new byte[0]);
+	}
+
+	// Vote counts of the summaries sent to JSON observers, in order; forwarded events are skipped
+	private List<Integer> votedCounts() {
+		ArgumentCaptor<Message<?>> sent = messageCaptor();
+		verify(messagingTemplate, atLeast(0)).send(eq(ObserverFanOut.topic(ROOM_ID)), sent.capture());
+		return sent.getAllValues().stream()
+				.map(message -> (byte[]) message.getPayload())
+				.filter(body -> body.length > 0)
+				.map(body -> objectMapper.readTree(body).get("payload").get("votedCount").asInt())
+				.toList();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentCaptor<Message<?>> messageCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(Message.class);
+	}
+}
@@ -0,0 +1,91 @@
+package com.paula.pokerplanning_server.event;
+
+import com.paula.pokerplanning_server.domain.model.EventType;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomEventMetricsTests {
+
+	private SimpleMeterRegistry registry;
+	private RoomEventMetrics metrics;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		metrics = new RoomEventMetrics(registry, "local");
+	}
+
+	@Test
+	void registersEveryMeterForEveryTypeUpFront() {
+		for (EventType type : EventType.values()) {
+			String t = type.name();
+			assertThat(registry.find("room.events.publish.serialize").tag("type", t).timer()).isNotNull();
+			assertThat(registry.find("room.events.publish.send").tags("type", t, "transport", "local").timer()).isNotNull();
+			assertThat(registry.find("room.events.published").tags("type", t, "outcome", "success").counter()).isNotNull();
+			assertThat(registry.find("room.events.published").tags("type", t, "outcome", "failure").counter()).isNotNull();
+			assertThat(registry.find("room.events.dispatch.decode").tag("type", t).timer()).isNotNull();
+			assertThat(registry.find("room.events.dispatch.broker.send").tag("type", t).timer()).isNotNull();
+			assertThat(registry.find("room.events.dispatched").tags("type", t, "outcome", "success").counter()).isNotNull();
+			assertThat(registry.find("room.events.lag").tags("type", t, "transport", "local").timer()).isNotNull();
+		}
+		for (EventFormat format : EventFormat.values()) {
+			assertThat(registry.find("room.events.encoded.bytes").tag("format", format.name().toLowerCase())
+					.summary()).isNotNull();
+		}
+	}
+
+	@Test
+	void recordsAgainstTheEventsTypeOnly() {
+		metrics.published(EventType.VOTE_CAST, 2_000, 3_000);
+		metrics.publishFailed(EventType.VOTE_CAST);
+
+		assertThat(registry.get("room.events.published").tags("type", "VOTE_CAST", "outcome", "success")
+				.counter().count()).isEqualTo(1);
+		assertThat(registry.get("room.events.published").tags("type", "VOTE_CAST", "outcome", "failure")
+				.counter().count()).isEqualTo(1);
+		assertThat(registry.get("room.events.publish.send").tag("type", "VOTE_CAST")
+				.timer().totalTime(TimeUnit.NANOSECONDS)).isEqualTo(3_000);
+		assertThat(registry.get("room.events.published").counters())
+				.filteredOn(counter -> !"VOTE_CAST".equals(counter.getId().getTag("type")))
+				.allSatisfy(counter -> assertThat(counter.count()).isZero());
+	}
+
+	@Test
+	void clampsTheLagOfEventsStampedInTheFuture() {
+		RoomEvent event = new RoomEvent(UUID.randomUUID().toString(), UUID.randomUUID(),
+				Instant.now().plusSeconds(60), new RoomEventPayload.VoteCast(UUID.randomUUID(), true));
+
+		metrics.dispatched(event, 1_000, 1_000);
+
+		assertThat(registry.get("room.events.dispatched").tags("type", "VOTE_CAST", "outcome", "success")
+				.counter().count()).isEqualTo(1);
+		assertThat(registry.get("room.events.lag").tag("type", "VOTE_CAST").timer().count()).isEqualTo(1);
+		assertThat(registry.get("room.events.lag").tag("type", "VOTE_CAST").timer().max(TimeUnit.MILLISECONDS)).isZero();
+	}
+
+	@Test
+	void failedDispatchesHaveAnUnknownType() {
+		metrics.dispatchFailed();
+
+		assertThat(registry.get("room.events.dispatched").tags("type", "unknown", "outcome", "failure")
+				.counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void neverTagsByRoom() {
+		metrics.dispatched(RoomEvent.of(UUID.randomUUID(), new RoomEventPayload.VoteCast(UUID.randomUUID(), true)), 1, 1);
+
+		assertThat(registry.getMeters().stream()
+				.flatMap(meter -> meter.getId().getTags().stream())
+				.map(Tag::getKey))
+				.containsOnly("type", "transport", "outcome", "format");
+	}
+}
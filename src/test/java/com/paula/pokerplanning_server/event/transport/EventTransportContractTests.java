@@ -0,0 +1,134 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * What every EventTransport must do, whatever carries the messages. Subclasses create
+ * the transport around the given dispatcher; messages are sent as EventPublisher does,
+ * which logs and swallows send failures.
+ */
+abstract class EventTransportContractTests {
+
+	private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+	private final String run = UUID.randomUUID().toString();
+	private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicBoolean probed = new AtomicBoolean();
+	private final UUID roomId = UUID.randomUUID();
+	private EventTransport transport;
+
+	protected abstract EventTransport createTransport(RoomEventDispatcher dispatcher);
+
+	protected void stopTransport(EventTransport transport) {
+	}
+
+	@BeforeEach
+	void setUp() throws InterruptedException {
+		RoomEventDispatcher dispatcher = mock(RoomEventDispatcher.class);
+		doAnswer(invocation -> {
+			String message = invocation.getArgument(0);
+			if (!message.contains(run)) {
+				return null;
+			}
+			if (message.contains("\"probe\"")) {
+				probed.set(true);
+			} else if (message.contains("\"fail\"")) {
+				throw new IllegalStateException("dispatch failed");
+			} else {
+				delivered.add(message);
+			}
+			return null;
+		}).when(dispatcher).dispatch(anyString());
+		transport = createTransport(dispatcher);
+		awaitReady();
+	}
+
+	@AfterEach
+	void tearDown() {
+		stopTransport(transport);
+	}
+
+	@Test
+	void deliversEachMessageOnce() throws InterruptedException {
+		send(message("a"));
+
+		awaitDelivered(1);
+		Thread.sleep(200);
+		assertThat(delivered).containsExactly(message("a"));
+	}
+
+	@Test
+	void deliversMessagesOfARoomInOrder() throws InterruptedException {
+		List<String> sent = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			sent.add(message("m" + i));
+			send(sent.getLast());
+		}
+
+		awaitDelivered(sent.size());
+		assertThat(delivered).containsExactlyElementsOf(sent);
+	}
+
+	@Test
+	void keepsDeliveringAfterADispatchFails() throws InterruptedException {
+		send(message("fail"));
+		send(message("after"));
+
+		awaitDelivered(1);
+		assertThat(delivered).containsExactly(message("after"));
+	}
+
+	@Test
+	void deliversLargeMessagesIntact() throws InterruptedException {
+		String large = message("x".repeat(20_000));
+		send(large);
+
+		awaitDelivered(1);
+		assertThat(delivered).containsExactly(large);
+	}
+
+	private String message(String body) {
+		return "{\"run\":\"" + run + "\",\"body\":\"" + body + "\"}";
+	}
+
+	private void send(String message) {
+		try {
+			transport.send(roomId, message);
+		} catch (RuntimeException e) {
+			// Logged and dropped by EventPublisher
+		}
+	}
+
+	// Subscriptions can take a moment to be established after the transport starts
+	private void awaitReady() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (!probed.get() && System.currentTimeMillis() < deadline) {
+			send(message("probe"));
+			Thread.sleep(100);
+		}
+		assertThat(probed).as("transport ready").isTrue();
+	}
+
+	private void awaitDelivered(int count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(delivered).hasSizeGreaterThanOrEqualTo(count);
+	}
+}
@@ -0,0 +1,11 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+
+class InProcessEventTransportTests extends EventTransportContractTests {
+
+	@Override
+	protected EventTransport createTransport(RoomEventDispatcher dispatcher) {
+		return new InProcessEventTransport(dispatcher);
+	}
+}
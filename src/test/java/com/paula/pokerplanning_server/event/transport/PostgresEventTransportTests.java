@@ -0,0 +1,36 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class PostgresEventTransportTests extends EventTransportContractTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.datasource.url}")
+	private String url;
+
+	@Value("${spring.datasource.username}")
+	private String username;
+
+	@Value("${spring.datasource.password}")
+	private String password;
+
+	@Override
+	protected EventTransport createTransport(RoomEventDispatcher dispatcher) {
+		PostgresEventTransport transport = new PostgresEventTransport(
+				dispatcher, jdbcTemplate, url, username, password, 100, 10_000);
+		transport.start();
+		return transport;
+	}
+
+	@Override
+	protected void stopTransport(EventTransport transport) {
+		((PostgresEventTransport) transport).stop();
+	}
+}
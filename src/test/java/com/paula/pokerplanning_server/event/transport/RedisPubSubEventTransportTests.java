@@ -0,0 +1,42 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.config.RedisConfig;
+import com.paula.pokerplanning_server.event.RedisEventListener;
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+
+/**
+ * Receives through the same adapter and rooms:* subscription that RedisConfig sets up.
+ */
+@SpringBootTest(properties = "app.events.transport=local")
+class RedisPubSubEventTransportTests extends EventTransportContractTests {
+
+	@Autowired
+	private RedisTemplate<String, String> redisTemplate;
+
+	@Autowired
+	private RedisConnectionFactory connectionFactory;
+
+	private RedisMessageListenerContainer container;
+
+	@Override
+	protected EventTransport createTransport(RoomEventDispatcher dispatcher) {
+		RedisConfig config = new RedisConfig();
+		MessageListenerAdapter adapter = config.messageListenerAdapter(new RedisEventListener(dispatcher));
+		adapter.afterPropertiesSet();
+		container = config.redisMessageListenerContainer(connectionFactory, adapter);
+		container.afterPropertiesSet();
+		container.start();
+		return new RedisPubSubEventTransport(redisTemplate);
+	}
+
+	@Override
+	protected void stopTransport(EventTransport transport) {
+		container.stop();
+	}
+}
@@ -0,0 +1,74 @@
+package com.paula.pokerplanning_server.event.transport;
+
+import com.paula.pokerplanning_server.event.RoomEventDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class RedisStreamEventTransportTests extends EventTransportContractTests {
+
+	@Autowired
+	private RedisTemplate<String, String> redisTemplate;
+
+	@Autowired
+	private RedisConnectionFactory connectionFactory;
+
+	@Override
+	protected EventTransport createTransport(RoomEventDispatcher dispatcher) {
+		RedisStreamEventTransport transport = new RedisStreamEventTransport(redisTemplate, connectionFactory,
+				dispatcher, new SimpleMeterRegistry(), 4, 10_000, 100, 5, 200, 10_000);
+		transport.start();
+		return transport;
+	}
+
+	@Override
+	protected void stopTransport(EventTransport transport) {
+		((RedisStreamEventTransport) transport).stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void dropsABatchThatKeepsFailing() throws InterruptedException {
+		RedisTemplate<String, String> down = mock(RedisTemplate.class);
+		when(down.executePipelined(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+		RedisConnectionFactory unreachable = mock(RedisConnectionFactory.class);
+		when(unreachable.getConnection()).thenThrow(new RedisConnectionFailureException("down"));
+		RoomEventDispatcher dispatcher = mock(RoomEventDispatcher.class);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RedisStreamEventTransport transport = new RedisStreamEventTransport(down, unreachable,
+				dispatcher, registry, 4, 10_000, 100, 2, 200, 10_000);
+		transport.start();
+		try {
+			UUID roomId = UUID.randomUUID();
+			for (int i = 0; i < 3; i++) {
+				transport.send(roomId, "{}");
+			}
+
+			// Two attempts with 500 ms between them
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (registry.counter("room.events.stream.dropped").count() < 3 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+			}
+			assertThat(registry.counter("room.events.stream.dropped").count()).isEqualTo(3);
+			assertThat(registry.get("room.events.stream.outbox.size").gauge().value()).isZero();
+			verify(dispatcher, never()).dispatch(any());
+		} finally {
+			transport.stop();
+		}
+	}
+}
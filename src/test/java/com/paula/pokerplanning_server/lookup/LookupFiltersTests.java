@@ -0,0 +1,66 @@
+package com.paula.pokerplanning_server.lookup;
+
+import com.paula.pokerplanning_server.domain.repository.InviteRepository;
+import com.paula.pokerplanning_server.domain.repository.RoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LookupFiltersTests {
+
+	private InviteRepository inviteRepository;
+	private RoomRepository roomRepository;
+	private LookupFilters filters;
+
+	@BeforeEach
+	void setUp() {
+		inviteRepository = mock(InviteRepository.class);
+		roomRepository = mock(RoomRepository.class);
+		when(inviteRepository.findAllTokenHashes()).thenReturn(List.of("revoked-hash"));
+		when(roomRepository.findCodesByStatusNot(any())).thenReturn(List.of("AAAAAA"));
+		filters = new LookupFilters(inviteRepository, roomRepository, new SimpleMeterRegistry(), true, 0.01, 30_000);
+		filters.rebuild();
+	}
+
+	@Test
+	void keysCreatedOnAnotherNodeAreFoundAfterTheNextRefresh() {
+		when(roomRepository.findCodesCreatedSince(any())).thenReturn(List.of("BBBBBB"));
+		when(inviteRepository.findTokenHashesCreatedSince(any())).thenReturn(List.of("new-hash"));
+
+		filters.refresh();
+
+		assertThat(filters.roomCodes().mightContain("BBBBBB")).isTrue();
+		assertThat(filters.invites().mightContain("new-hash")).isTrue();
+	}
+
+	@Test
+	void missesAreAnsweredWithoutQueryingTheDb() {
+		clearInvocations(inviteRepository, roomRepository);
+
+		assertThat(filters.roomCodes().mightContain("ZZZZZZ")).isFalse();
+		assertThat(filters.invites().mightContain("unknown-hash")).isFalse();
+
+		verifyNoInteractions(inviteRepository, roomRepository);
+	}
+
+	@Test
+	void unknownKeysAreStillRejected() {
+		assertThat(filters.roomCodes().mightContain("AAAAAA")).isTrue();
+		assertThat(filters.roomCodes().mightContain("ZZZZZZ")).isFalse();
+		assertThat(filters.invites().mightContain("unknown-hash")).isFalse();
+	}
+
+	@Test
+	void rebuildKeepsInvitesThatAreNoLongerValid() {
+		assertThat(filters.invites().mightContain("revoked-hash")).isTrue();
+	}
+}
@@ -0,0 +1,63 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTests {
+
+	@Test
+	void allowsABurstUpToCapacityThenAsksToWait() {
+		LocalRateLimiter limiter = new LocalRateLimiter(1000);
+		Budget budget = new Budget(3, 1);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire("vote:guest:a", budget)).isZero();
+		}
+		assertThat(limiter.tryAcquire("vote:guest:a", budget)).isBetween(1L, 1000L);
+		// Other actors have their own bucket
+		assertThat(limiter.tryAcquire("vote:guest:b", budget)).isZero();
+	}
+
+	@Test
+	void refillsOverTime() throws InterruptedException {
+		LocalRateLimiter limiter = new LocalRateLimiter(1000);
+		Budget budget = new Budget(1, 20);
+
+		assertThat(limiter.tryAcquire("key", budget)).isZero();
+		assertThat(limiter.tryAcquire("key", budget)).isPositive();
+
+		Thread.sleep(100);
+
+		assertThat(limiter.tryAcquire("key", budget)).isZero();
+	}
+
+	@Test
+	void staysWithinMaxEntriesWhenBucketsArePartlyDrained() {
+		LocalRateLimiter limiter = new LocalRateLimiter(160);
+		Budget budget = new Budget(10, 0.001);
+
+		for (int i = 0; i < 10_000; i++) {
+			limiter.tryAcquire("actor-" + i, budget);
+		}
+
+		assertThat(limiter.size()).isLessThanOrEqualTo(160);
+	}
+
+	@Test
+	void dropsBucketsThatHaveRefilled() throws InterruptedException {
+		LocalRateLimiter limiter = new LocalRateLimiter(100_000);
+		Budget budget = new Budget(1, 1000);
+
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire("idle-" + i, budget);
+		}
+		Thread.sleep(20);
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire("active-" + i, budget);
+		}
+
+		// Each insert drops its stripe's eldest bucket once it is full again
+		assertThat(limiter.size()).isLessThan(200);
+	}
+}
@@ -0,0 +1,58 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+import com.paula.pokerplanning_server.exception.TooManyRequestsException;
+import com.paula.pokerplanning_server.security.ActorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitServiceTests {
+
+	private RateLimitService service;
+
+	@BeforeEach
+	void setUp() {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("app.rate-limit.vote.capacity", "2")
+				.withProperty("app.rate-limit.vote.refill-per-second", "0.5")
+				.withProperty("app.rate-limit.join.capacity", "1")
+				.withProperty("app.rate-limit.join.refill-per-second", "0.5")
+				.withProperty("app.rate-limit.story-write.capacity", "5")
+				.withProperty("app.rate-limit.story-write.refill-per-second", "1");
+		service = new RateLimitService(new LocalRateLimiter(1000), environment, true);
+	}
+
+	@Test
+	void appliesEachActionsConfiguredBudget() {
+		ActorContext actor = ActorContext.forGuest("guest-1");
+		UUID roomId = UUID.randomUUID();
+
+		service.check(RateLimitedAction.VOTE, actor, roomId);
+		service.check(RateLimitedAction.VOTE, actor, roomId);
+		assertThatThrownBy(() -> service.check(RateLimitedAction.VOTE, actor, roomId))
+				.isInstanceOfSatisfying(TooManyRequestsException.class,
+						e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 2L));
+
+		// Joins have their own, smaller budget
+		service.check(RateLimitedAction.JOIN, actor, roomId);
+		assertThatThrownBy(() -> service.check(RateLimitedAction.JOIN, actor, roomId))
+				.isInstanceOf(TooManyRequestsException.class);
+	}
+
+	@Test
+	void keepsSeparateBudgetsPerActorAndRoom() {
+		ActorContext actor = ActorContext.forGuest("guest-1");
+		UUID roomId = UUID.randomUUID();
+		service.check(RateLimitedAction.JOIN, actor, roomId);
+
+		assertThatNoException().isThrownBy(() -> service.check(RateLimitedAction.JOIN, actor, UUID.randomUUID()));
+		assertThatNoException().isThrownBy(() -> service.check(RateLimitedAction.JOIN, ActorContext.forGuest("guest-2"), roomId));
+		assertThatNoException().isThrownBy(() -> service.check(RateLimitedAction.JOIN, ActorContext.forUser(UUID.randomUUID()), roomId));
+	}
+}
@@ -0,0 +1,58 @@
+package com.paula.pokerplanning_server.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class RedisRateLimiterTests {
+
+	@Autowired
+	private RedisTemplate<String, String> redisTemplate;
+
+	private RedisRateLimiter limiter;
+	private String key;
+
+	@BeforeEach
+	void setUp() {
+		limiter = new RedisRateLimiter(redisTemplate);
+		key = "test:" + UUID.randomUUID();
+	}
+
+	@Test
+	void allowsABurstUpToCapacityThenAsksToWait() {
+		Budget budget = new Budget(3, 1);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(key, budget)).isZero();
+		}
+		assertThat(limiter.tryAcquire(key, budget)).isBetween(1L, 1000L);
+	}
+
+	@Test
+	void refillsOverTime() throws InterruptedException {
+		Budget budget = new Budget(1, 20);
+
+		assertThat(limiter.tryAcquire(key, budget)).isZero();
+		assertThat(limiter.tryAcquire(key, budget)).isPositive();
+
+		Thread.sleep(100);
+
+		assertThat(limiter.tryAcquire(key, budget)).isZero();
+	}
+
+	@Test
+	void bucketsExpireOnceTheyWouldBeFull() {
+		Budget budget = new Budget(2, 1);
+
+		limiter.tryAcquire(key, budget);
+
+		assertThat(redisTemplate.getExpire("ratelimit:" + key)).isBetween(1L, 2L);
+	}
+}
@@ -0,0 +1,52 @@
+package com.paula.pokerplanning_server.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTests {
+
+	private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+	private final UUID adminId = UUID.randomUUID();
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void grantsAdminByUserId() throws Exception {
+		assertThat(authenticate(new UserPrincipal(adminId, "anyone", "a@example.com")).getAuthorities())
+				.extracting(GrantedAuthority::getAuthority)
+				.containsExactly("ROLE_" + JwtAuthenticationFilter.ADMIN_ROLE);
+	}
+
+	@Test
+	void aMatchingUsernameIsNotEnough() throws Exception {
+		// Another account that took the admin's username
+		assertThat(authenticate(new UserPrincipal(UUID.randomUUID(), adminId.toString(), "b@example.com"))
+				.getAuthorities()).isEmpty();
+	}
+
+	private Authentication authenticate(UserPrincipal principal) throws Exception {
+		when(jwtTokenProvider.resolvePrincipal("token")).thenReturn(principal);
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenProvider, " " + adminId + " ,");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/hotrooms");
+		request.addHeader("Authorization", "Bearer token");
+
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+}
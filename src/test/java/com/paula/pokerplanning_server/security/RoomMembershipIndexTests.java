@@ -0,0 +1,103 @@
+package com.paula.pokerplanning_server.security;
+
+import com.paula.pokerplanning_server.domain.model.Participant;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.store.RoomStore;
+import com.paula.pokerplanning_server.store.RoomStores;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomMembershipIndexTests {
+
+	private RoomStore store;
+	private RoomStores roomStores;
+
+	@BeforeEach
+	void setUp() {
+		store = mock(RoomStore.class);
+		roomStores = mock(RoomStores.class);
+		when(roomStores.of(any())).thenReturn(store);
+	}
+
+	@Test
+	void cachesRoomsOfMembersOnly() {
+		RoomMembershipIndex index = index(10, 60_000);
+		UUID roomId = UUID.randomUUID();
+		when(store.findParticipants(roomId)).thenReturn(List.of(participant(roomId, "member")));
+
+		assertThat(index.findMember(roomId, "guest:stranger")).isNull();
+		assertThat(index.findMember(roomId, "guest:stranger")).isNull();
+		verify(store, times(2)).findParticipants(roomId);
+
+		assertThat(index.findMember(roomId, "guest:member")).isNotNull();
+		assertThat(index.findMember(roomId, "guest:member")).isNotNull();
+		verify(store, times(3)).findParticipants(roomId);
+	}
+
+	@Test
+	void unknownRoomsAreNotCached() {
+		RoomMembershipIndex index = index(10, 60_000);
+		UUID roomId = UUID.randomUUID();
+
+		index.findMember(roomId, "guest:member");
+		index.findMember(roomId, "guest:member");
+
+		verify(store, times(2)).findParticipants(roomId);
+	}
+
+	@Test
+	void expiredRoomsAreReloaded() {
+		RoomMembershipIndex index = index(10, 0);
+		UUID roomId = UUID.randomUUID();
+		when(store.findParticipants(roomId)).thenReturn(List.of(participant(roomId, "member")));
+
+		index.findMember(roomId, "guest:member");
+		index.findMember(roomId, "guest:member");
+
+		verify(store, times(2)).findParticipants(roomId);
+	}
+
+	@Test
+	void cachedRoomsStayWithinTheCap() {
+		RoomMembershipIndex index = index(4, 60_000);
+		List<UUID> rooms = Stream.generate(UUID::randomUUID).limit(20).toList();
+		rooms.forEach(roomId -> when(store.findParticipants(roomId)).thenReturn(List.of(participant(roomId, "member"))));
+		rooms.forEach(roomId -> index.findMember(roomId, "guest:member"));
+		clearInvocations(store);
+
+		rooms.forEach(roomId -> index.findMember(roomId, "guest:member"));
+
+		// No more than four rooms can have stayed cached
+		assertThat(mockingDetails(store).getInvocations()).hasSizeGreaterThanOrEqualTo(rooms.size() - 4);
+	}
+
+	private RoomMembershipIndex index(int maxRooms, long ttlMs) {
+		return new RoomMembershipIndex(roomStores,
+				new StaticListableBeanFactory().getBeanProvider(SimpleBrokerMessageHandler.class), maxRooms, ttlMs);
+	}
+
+	private static Participant participant(UUID roomId, String guestId) {
+		return Participant.builder()
+				.id(UUID.randomUUID())
+				.roomId(roomId)
+				.guestId(guestId)
+				.role(ParticipantRole.PARTICIPANT)
+				.displayName(guestId)
+				.build();
+	}
+}
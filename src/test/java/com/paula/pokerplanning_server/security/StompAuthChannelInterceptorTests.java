@@ -0,0 +1,154 @@
+package com.paula.pokerplanning_server.security;
+
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.event.EventFormat;
+import com.paula.pokerplanning_server.event.ObserverFanOut;
+import com.paula.pokerplanning_server.exception.ForbiddenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StompAuthChannelInterceptorTests {
+
+	private static final UUID ROOM_ID = UUID.fromString("0190f1d2-3a4b-7c5d-8e6f-112233445566");
+	private static final String GUEST_ID = "guest-1";
+
+	private RoomMembershipIndex membershipIndex;
+	private ObserverFanOut observerFanOut;
+	private StompAuthChannelInterceptor interceptor;
+
+	@BeforeEach
+	void setUp() {
+		membershipIndex = mock(RoomMembershipIndex.class);
+		observerFanOut = mock(ObserverFanOut.class);
+		interceptor = new StompAuthChannelInterceptor(
+				mock(JwtTokenProvider.class), mock(GuestTokenProvider.class), membershipIndex, observerFanOut);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"/topic/**",
+			"/topic/*",
+			"/topic/rooms/*",
+			"/topic/rooms/**",
+			"/topic/rooms/*/events",
+			"/topic/rooms/{id}/events",
+			"/topic/rooms/0190f1d2-3a4b-7c5d-8e6f-11223344556?/events",
+			"/topic/rooms",
+			"/topic/rooms/0190f1d2-3a4b-7c5d-8e6f-112233445566",
+			"/topic/rooms/0190f1d2-3a4b-7c5d-8e6f-112233445566/votes",
+			"/topic/rooms/0190F1D2-3A4B-7C5D-8E6F-112233445566/events",
+			"/topic/other"
+	})
+	void rejectsPatternsAndUnknownTopicsEvenForMembers(String destination) {
+		when(membershipIndex.findMember(any(), anyString()))
+				.thenReturn(new RoomMembershipIndex.Member(UUID.randomUUID(), ParticipantRole.PARTICIPANT));
+
+		assertThatThrownBy(() -> interceptor.preSend(subscribe(destination), null))
+				.isInstanceOf(ForbiddenException.class);
+		verify(membershipIndex, never()).registerSubscription(any(), any(), any(), any(), any());
+	}
+
+	@Test
+	void rejectsNonMembers() {
+		assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/rooms/" + ROOM_ID + "/events"), null))
+				.isInstanceOf(ForbiddenException.class);
+	}
+
+	@Test
+	void acceptsMembersOnConcreteRoomTopic() {
+		UUID participantId = UUID.randomUUID();
+		when(membershipIndex.findMember(ROOM_ID, "guest:" + GUEST_ID))
+				.thenReturn(new RoomMembershipIndex.Member(participantId, ParticipantRole.PARTICIPANT));
+
+		Message<?> message = interceptor.preSend(subscribe("/topic/rooms/" + ROOM_ID + "/events"), null);
+
+		assertThat(StompHeaderAccessor.wrap(message).getDestination()).isEqualTo("/topic/rooms/" + ROOM_ID + "/events");
+		verify(membershipIndex).registerSubscription(
+				"session-1", "sub-1", ROOM_ID, participantId, "/topic/rooms/" + ROOM_ID + "/events");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/events", "/events.cbor"})
+	void routesObserversToTheThrottledTopic(String suffix) {
+		when(membershipIndex.findMember(ROOM_ID, "guest:" + GUEST_ID))
+				.thenReturn(new RoomMembershipIndex.Member(UUID.randomUUID(), ParticipantRole.OBSERVER));
+		when(observerFanOut.routesObservers(ROOM_ID)).thenReturn(true);
+
+		Message<?> message = interceptor.preSend(subscribe("/topic/rooms/" + ROOM_ID + suffix), null);
+
+		assertThat(StompHeaderAccessor.wrap(message).getDestination()).isEqualTo(ObserverFanOut.topic(ROOM_ID));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/events", "/observers"})
+	void keepsCborObserversOnCbor(String suffix) {
+		when(membershipIndex.findMember(ROOM_ID, "guest:" + GUEST_ID))
+				.thenReturn(new RoomMembershipIndex.Member(UUID.randomUUID(), ParticipantRole.OBSERVER));
+		when(observerFanOut.routesObservers(ROOM_ID)).thenReturn(true);
+
+		Message<?> message = interceptor.preSend(subscribe("/topic/rooms/" + ROOM_ID + suffix, EventFormat.CBOR), null);
+
+		assertThat(StompHeaderAccessor.wrap(message).getDestination())
+				.isEqualTo(ObserverFanOut.topic(ROOM_ID, EventFormat.CBOR));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"/topic/rooms/0190f1d2-3a4b-7c5d-8e6f-112233445566/events",
+			"/queue/errors-usersession-2",
+			"/user/guest-2/queue/errors"
+	})
+	void rejectsClientSendsToTheBroker(String destination) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+		accessor.setDestination(destination);
+		accessor.setLeaveMutable(true);
+		Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+		assertThatThrownBy(() -> interceptor.preSend(message, null)).isInstanceOf(ForbiddenException.class);
+	}
+
+	@Test
+	void acceptsTheSessionsOwnErrorQueueOnly() {
+		assertThat(interceptor.preSend(subscribe("/user/queue/errors"), null)).isNotNull();
+
+		assertThatThrownBy(() -> interceptor.preSend(subscribe("/queue/errors-usersession-2"), null))
+				.isInstanceOf(ForbiddenException.class);
+	}
+
+	private Message<byte[]> subscribe(String destination) {
+		return subscribe(destination, EventFormat.JSON);
+	}
+
+	private Message<byte[]> subscribe(String destination, EventFormat format) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+		accessor.setDestination(destination);
+		accessor.setSessionId("session-1");
+		accessor.setSubscriptionId("sub-1");
+		accessor.setSessionAttributes(new HashMap<>(Map.of(EventFormat.SESSION_ATTRIBUTE, format)));
+		accessor.setUser(new UsernamePasswordAuthenticationToken(
+				new GuestPrincipal(GUEST_ID, UUID.randomUUID(), ROOM_ID, ParticipantRole.PARTICIPANT), null, List.of()));
+		accessor.setLeaveMutable(true);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+}
@@ -0,0 +1,78 @@
+package com.paula.pokerplanning_server.service;
+
+import com.paula.pokerplanning_server.domain.model.DeckType;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.exception.BadRequestException;
+import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.web.dto.JoinRoomResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class InviteRedemptionConcurrencyTests {
+
+	private static final int JOINERS = 300;
+	private static final int MAX_USES = 50;
+
+	@Autowired
+	private RoomService roomService;
+
+	@Autowired
+	private InviteService inviteService;
+
+	@Test
+	void simultaneousJoinsNeverExceedMaxUses() throws Exception {
+		ActorContext host = ActorContext.forGuest(UUID.randomUUID().toString());
+		JoinRoomResponse created = roomService.createRoom(host, "Host", DeckType.FIBONACCI, true, null, "invite race", false);
+		UUID roomId = created.room().id();
+		ActorContext hostWithToken = ActorContext.forGuestWithToken(
+				host.getGuestId(), created.me().id(), ParticipantRole.HOST);
+		String token = inviteService.createInvite(roomId, hostWithToken, ParticipantRole.PARTICIPANT, null, MAX_USES);
+
+		ExecutorService pool = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger joined = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < JOINERS; i++) {
+				String guestId = UUID.randomUUID().toString();
+				futures.add(pool.submit(() -> {
+					start.await();
+					try {
+						inviteService.joinByInvite(token, ActorContext.forGuest(guestId), "guest");
+						joined.incrementAndGet();
+					} catch (BadRequestException e) {
+						rejected.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> f : futures) {
+				f.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertThat(joined.get()).isEqualTo(MAX_USES);
+		assertThat(rejected.get()).isEqualTo(JOINERS - MAX_USES);
+		assertThat(inviteService.getInviteByToken(token).getUses()).isEqualTo(MAX_USES);
+		// Rejected joins roll back: only the host and the admitted guests are participants
+		assertThat(roomService.getParticipants(roomId)).hasSize(MAX_USES + 1);
+	}
+}
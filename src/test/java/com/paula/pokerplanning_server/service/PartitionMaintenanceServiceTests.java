@@ -0,0 +1,83 @@
+package com.paula.pokerplanning_server.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class PartitionMaintenanceServiceTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void keepsMonthsWithUnarchivedRoomsAndDetachesThemOnceEmpty(boolean dropExpired) {
+		// A month of its own per mode, far older than any partition created by the migrations
+		LocalDate month = LocalDate.of(dropExpired ? 2001 : 2000, 1, 1);
+		String suffix = month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+		String rounds = "rounds_p" + suffix;
+		String votes = "votes_p" + suffix;
+		PartitionMaintenanceService service = new PartitionMaintenanceService(jdbcTemplate, true, 0, 1, dropExpired);
+		try {
+			service.createAhead(month);
+			UUID roomId = insertRoomWithVote(month);
+
+			service.detachExpired(month.plusMonths(1));
+
+			assertThat(isAttached(rounds, "rounds")).isTrue();
+			assertThat(isAttached(votes, "votes")).isTrue();
+			assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + votes, Integer.class)).isEqualTo(1);
+
+			jdbcTemplate.update("DELETE FROM rooms WHERE id = ?", roomId);
+			service.detachExpired(month.plusMonths(1));
+
+			assertThat(isAttached(rounds, "rounds")).isFalse();
+			assertThat(isAttached(votes, "votes")).isFalse();
+			assertThat(exists(rounds)).isEqualTo(!dropExpired);
+			assertThat(exists(votes)).isEqualTo(!dropExpired);
+		} finally {
+			jdbcTemplate.execute("DROP TABLE IF EXISTS " + votes);
+			jdbcTemplate.execute("DROP TABLE IF EXISTS " + rounds);
+		}
+	}
+
+	private UUID insertRoomWithVote(LocalDate month) {
+		Timestamp startedAt = Timestamp.from(month.plusDays(14).atStartOfDay().toInstant(ZoneOffset.UTC));
+		UUID roomId = UUID.randomUUID();
+		UUID participantId = UUID.randomUUID();
+		UUID storyId = UUID.randomUUID();
+		UUID roundId = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO rooms (id, name, status, closed_at) VALUES (?, 'retention', 'CLOSED', NOW())",
+				roomId);
+		jdbcTemplate.update("INSERT INTO participants (id, room_id, guest_id, role, display_name) "
+				+ "VALUES (?, ?, ?, 'HOST', 'host')", participantId, roomId, UUID.randomUUID().toString());
+		jdbcTemplate.update("INSERT INTO stories (id, room_id, title) VALUES (?, ?, 'story')", storyId, roomId);
+		jdbcTemplate.update("INSERT INTO rounds (id, room_id, story_id, status, started_at) "
+				+ "VALUES (?, ?, ?, 'FINALIZED', ?)", roundId, roomId, storyId, startedAt);
+		jdbcTemplate.update("INSERT INTO votes (round_id, round_started_at, participant_id, value) "
+				+ "VALUES (?, ?, ?, '5')", roundId, startedAt, participantId);
+		return roomId;
+	}
+
+	private boolean isAttached(String partition, String parent) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = ?::REGCLASS)",
+				Boolean.class, partition, parent));
+	}
+
+	private boolean exists(String table) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				"SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+	}
+}
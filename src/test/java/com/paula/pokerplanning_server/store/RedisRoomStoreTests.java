@@ -0,0 +1,148 @@
+package com.paula.pokerplanning_server.store;
+
+import com.paula.pokerplanning_server.domain.model.DeckType;
+import com.paula.pokerplanning_server.domain.model.Participant;
+import com.paula.pokerplanning_server.domain.model.ParticipantRole;
+import com.paula.pokerplanning_server.domain.model.Room;
+import com.paula.pokerplanning_server.domain.model.RoomStatus;
+import com.paula.pokerplanning_server.domain.model.Round;
+import com.paula.pokerplanning_server.domain.model.RoundStatus;
+import com.paula.pokerplanning_server.exception.BadRequestException;
+import com.paula.pokerplanning_server.exception.ConflictException;
+import com.paula.pokerplanning_server.security.ActorContext;
+import com.paula.pokerplanning_server.service.RoomService;
+import com.paula.pokerplanning_server.service.UserService;
+import com.paula.pokerplanning_server.web.dto.JoinRoomResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class RedisRoomStoreTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private RedisRoomStore store;
+
+	@Autowired
+	private RoomService roomService;
+
+	@Autowired
+	private UserService userService;
+
+	private String hostGuestId;
+	private JoinRoomResponse created;
+	private UUID roomId;
+
+	@BeforeEach
+	void setUp() {
+		hostGuestId = UUID.randomUUID().toString();
+		created = roomService.createRoom(ActorContext.forGuest(hostGuestId), "Host", DeckType.FIBONACCI,
+				true, null, "ephemeral", true);
+		roomId = created.room().id();
+	}
+
+	@Test
+	void concurrentJoinsOfOneGuestAddOneParticipant() throws Exception {
+		String guestId = UUID.randomUUID().toString();
+
+		List<UUID> ids = race(() -> store.saveParticipant(Participant.builder()
+				.roomId(roomId)
+				.guestId(guestId)
+				.role(ParticipantRole.PARTICIPANT)
+				.displayName("guest")
+				.online(true)
+				.build()).getId());
+
+		assertThat(ids).containsOnly(ids.getFirst());
+		assertThat(store.findParticipants(roomId)).hasSize(2);
+		assertThat(store.findParticipantByGuest(roomId, guestId)).map(Participant::getId).contains(ids.getFirst());
+	}
+
+	@Test
+	void concurrentRoundStartsOpenOneRound() throws Exception {
+		List<Boolean> started = race(() -> {
+			try {
+				store.saveRound(Round.builder()
+						.roomId(roomId)
+						.storyId(UUID.randomUUID())
+						.status(RoundStatus.VOTING)
+						.build());
+				return true;
+			} catch (ConflictException e) {
+				return false;
+			}
+		});
+
+		assertThat(started).containsOnlyOnce(true);
+		Round active = store.findActiveRound(roomId).orElseThrow();
+
+		active.setStatus(RoundStatus.FINALIZED);
+		store.saveRound(active);
+
+		assertThat(store.findActiveRound(roomId)).isEmpty();
+	}
+
+	@Test
+	void concurrentPromotesCopyTheRoomOnce() throws Exception {
+		List<Boolean> promoted = race(() -> {
+			try {
+				roomService.promoteRoom(roomId, ActorContext.forGuest(hostGuestId));
+				return true;
+			} catch (ConflictException | BadRequestException e) {
+				// Losers either lose the check-and-set or already find the room closed
+				return false;
+			}
+		});
+
+		assertThat(promoted).containsOnlyOnce(true);
+		assertThat(store.findRoom(roomId)).map(Room::getStatus).contains(RoomStatus.CLOSED);
+	}
+
+	@Test
+	void claimedEphemeralRoomsAndParticipantsMoveToTheUser() {
+		UUID userId = UUID.randomUUID();
+
+		userService.claimSessions(userId, hostGuestId, created.guestToken());
+
+		assertThat(userService.getSessionsByUser(userId)).extracting(Room::getId).contains(roomId);
+		assertThat(store.findParticipantByUser(roomId, userId)).map(Participant::getId).contains(created.me().id());
+		assertThat(store.findParticipantByGuest(roomId, hostGuestId)).isEmpty();
+	}
+
+	private <T> List<T> race(Callable<T> action) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<T>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return action.call();
+				}));
+			}
+			start.countDown();
+			List<T> results = new ArrayList<>();
+			for (Future<T> f : futures) {
+				results.add(f.get(30, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import com.paula.pokerplanning_server.security.GuestTokenProvider;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyFilterTests {
+
+	private InMemoryIdempotencyStore store;
+	private IdempotencyFilter filter;
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryIdempotencyStore(3600, 100);
+		filter = new IdempotencyFilter(store, mock(GuestTokenProvider.class), new ObjectMapper(), true, 100, 65536);
+	}
+
+	@Test
+	void replaysStoredResponseWithItsHeaders() throws Exception {
+		FilterChain created = chain(201, "/api/rooms/1");
+
+		send("{\"name\":\"a\"}", created);
+		MockHttpServletResponse replay = send("{\"name\":\"a\"}", created);
+
+		assertThat(runs.get()).isEqualTo(1);
+		assertThat(replay.getStatus()).isEqualTo(201);
+		assertThat(replay.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/rooms/1");
+		assertThat(replay.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(replay.getContentAsString()).isEqualTo("{\"ok\":true}");
+	}
+
+	@Test
+	void rejectsReusedKeyWithDifferentBody() throws Exception {
+		send("{\"name\":\"a\"}", chain(201, null));
+		MockHttpServletResponse second = send("{\"name\":\"b\"}", chain(201, null));
+
+		assertThat(runs.get()).isEqualTo(1);
+		assertThat(second.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void doesNotStoreStateDependentClientErrors() throws Exception {
+		for (int status : new int[] {401, 403, 404, 409, 429}) {
+			runs.set(0);
+			String key = "key-" + status;
+			send(key, "{}", chain(status, null));
+			MockHttpServletResponse retry = send(key, "{}", chain(200, null));
+
+			assertThat(runs.get()).as("runs after %d", status).isEqualTo(2);
+			assertThat(retry.getStatus()).isEqualTo(200);
+		}
+	}
+
+	@Test
+	void rejectsBodiesOverTheLimitWithoutRunningThem() throws Exception {
+		filter = new IdempotencyFilter(store, mock(GuestTokenProvider.class), new ObjectMapper(), true, 100, 16);
+
+		MockHttpServletResponse response = send("{\"name\":\"much too long\"}", chain(201, null));
+
+		assertThat(response.getStatus()).isEqualTo(413);
+		assertThat(runs.get()).isZero();
+	}
+
+	@Test
+	void neverEvictsInFlightKeys() {
+		InMemoryIdempotencyStore small = new InMemoryIdempotencyStore(3600, 1);
+		assertThat(small.claim("in-flight", "t1", Duration.ZERO)).isEmpty();
+		assertThat(small.claim("other", "t2", Duration.ZERO)).isEmpty();
+
+		// Still claimed by the first request, not handed to the duplicate
+		assertThatThrownBy(() -> small.claim("in-flight", "t3", Duration.ofMillis(10)))
+				.isInstanceOf(IdempotencyStore.InFlightException.class);
+	}
+
+	@Test
+	void onlyTheClaimingRequestCanReleaseTheKey() {
+		assertThat(store.claim("key", "owner", Duration.ZERO)).isEmpty();
+
+		store.release("key", "stale");
+		assertThatThrownBy(() -> store.claim("key", "other", Duration.ofMillis(10)))
+				.isInstanceOf(IdempotencyStore.InFlightException.class);
+
+		store.release("key", "owner");
+		assertThat(store.claim("key", "other", Duration.ZERO)).isEmpty();
+	}
+
+	private MockHttpServletResponse send(String body, FilterChain chain) throws Exception {
+		return send("key-1", body, chain);
+	}
+
+	private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/rooms");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.addHeader("X-Guest-Id", "guest-1");
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private FilterChain chain(int status, String location) {
+		return (request, response) -> {
+			runs.incrementAndGet();
+			// The handler can still read the body the filter fingerprinted
+			assertThat(request.getInputStream().readAllBytes()).isNotEmpty();
+			HttpServletResponse http = (HttpServletResponse) response;
+			http.setStatus(status);
+			if (location != null) {
+				http.setHeader(HttpHeaders.LOCATION, location);
+			}
+			http.setContentType("application/json");
+			http.getOutputStream().write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+		};
+	}
+}
@@ -0,0 +1,62 @@
+package com.paula.pokerplanning_server.web.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.events.transport=local")
+class RedisIdempotencyStoreTests {
+
+	@Autowired
+	private RedisTemplate<String, String> redisTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private RedisIdempotencyStore store;
+	private String key;
+
+	@BeforeEach
+	void setUp() {
+		store = new RedisIdempotencyStore(redisTemplate, objectMapper, 60, 60);
+		key = "test:" + UUID.randomUUID();
+	}
+
+	@Test
+	void aStaleReleaseLeavesTheNewerClaimInPlace() {
+		assertThat(store.claim(key, "owner", Duration.ZERO)).isEmpty();
+
+		store.release(key, "stale");
+
+		assertThatThrownBy(() -> store.claim(key, "other", Duration.ofMillis(100)))
+				.isInstanceOf(IdempotencyStore.InFlightException.class);
+	}
+
+	@Test
+	void theOwnerReleasesItsClaim() {
+		assertThat(store.claim(key, "owner", Duration.ZERO)).isEmpty();
+
+		store.release(key, "owner");
+
+		assertThat(store.claim(key, "other", Duration.ZERO)).isEmpty();
+	}
+
+	@Test
+	void releaseDoesNotDropAStoredResponse() {
+		assertThat(store.claim(key, "owner", Duration.ZERO)).isEmpty();
+		store.complete(key, "owner", new StoredResponse(201, "application/json", null, new byte[] {1}, "fp"));
+
+		store.release(key, "owner");
+
+		assertThat(store.claim(key, "other", Duration.ZERO)).map(StoredResponse::status).contains(201);
+	}
+}